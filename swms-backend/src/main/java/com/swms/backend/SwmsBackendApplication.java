@@ -2,6 +2,7 @@ package com.swms.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * SwmsBackendApplication — entry point for the Smart Workforce Management System.
@@ -11,6 +12,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   @EnableAutoConfiguration → wires up Spring Boot auto-config (JPA, Security, Web)
  *   @ComponentScan       → scans com.swms.backend.** for beans
  *
+ * @EnableScheduling runs the @Scheduled jobs (nightly employee scorecards,
+ *   task_events cleanup, archival of closed tasks).
+ *
  * Startup order:
  *   1. Spring Boot loads application.properties
  *   2. DataSource / JPA / Hibernate initialise — DDL applied to MySQL
@@ -19,6 +23,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   5. All @RestController beans are mapped to their URL patterns
  */
 @SpringBootApplication
+@EnableScheduling
 public class SwmsBackendApplication {
 
     public static void main(String[] args) {
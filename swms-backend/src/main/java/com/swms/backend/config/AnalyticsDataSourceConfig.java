@@ -0,0 +1,64 @@
+package com.swms.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * AnalyticsDataSourceConfig — a second, read-only connection pool for dashboards.
+ *
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ dataSource           spring.datasource.*  (JPA, CRUD, max 3)     │
+ * │ analyticsDataSource  same database, app.analytics.datasource.*   │
+ * │                      AnalyticsQueries + AnalyticsSnapshot load   │
+ * └──────────────────────────────────────────────────────────────────┘
+ *
+ * Dashboard queries fan out in parallel (AnalyticsQueryExecutor); giving
+ * them their own pool means a burst of dashboard loads can never take
+ * the connections that task / attendance writes are waiting for.
+ * It is injected by name (@Qualifier) and is deliberately not wrapped in
+ * a JdbcTemplate bean, so nothing else picks it up by type.
+ *
+ * On MySQL the analytics pool also sets useCursorFetch: Connector/J
+ * otherwise reads a whole result set into memory and ignores the fetch
+ * size, so the startup scans (AnalyticsSnapshot, TaskSearchIndex,
+ * TaskDeadlineScheduler, TaskLoadBalancer) would hold every row at
+ * once. With it, a statement with a fetch size streams through a
+ * server-side cursor fetch-size rows at a time; statements without one
+ * are unchanged.
+ *
+ * Declaring a DataSource bean switches off Spring Boot's auto-configured
+ * one, so the primary pool is rebuilt here from the same properties.
+ */
+@Configuration
+public class AnalyticsDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource analyticsDataSource(
+            DataSourceProperties properties,
+            @Value("${app.analytics.datasource.maximum-pool-size:4}") int maximumPoolSize,
+            @Value("${app.analytics.datasource.connection-timeout-ms:5000}") long connectionTimeoutMs) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("analytics");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        dataSource.setReadOnly(true);
+        String url = properties.determineUrl();
+        if (url != null && url.startsWith("jdbc:mysql:")) {
+            dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        return dataSource;
+    }
+}
@@ -6,9 +6,11 @@ import com.swms.backend.entity.User;
 import com.swms.backend.enums.AttendanceStatus;
 import com.swms.backend.enums.Role;
 import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.repository.ArchivedTaskRepository;
 import com.swms.backend.repository.AttendanceRepository;
 import com.swms.backend.repository.TaskRepository;
 import com.swms.backend.repository.UserRepository;
+import com.swms.backend.service.RollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -56,8 +58,10 @@ public class DataSeeder implements CommandLineRunner {
 
     private final UserRepository userRepo;
     private final TaskRepository taskRepo;
+    private final ArchivedTaskRepository archivedTaskRepo;
     private final AttendanceRepository attendanceRepo;
     private final PasswordEncoder passwordEncoder;
+    private final RollupService rollupService;
 
     @Override
     public void run(String... args) {
@@ -66,8 +70,12 @@ public class DataSeeder implements CommandLineRunner {
         Map<String, User> usersByEmail = userRepo.findAll().stream()
                 .collect(Collectors.toMap(User::getEmail, Function.identity(), (left, right) -> left));
 
-        seedTasks(usersByEmail);
-        seedAttendance(usersByEmail);
+        int seeded = seedTasks(usersByEmail) + seedAttendance(usersByEmail);
+
+        // Seed rows bypass TaskService / AttendanceService, so recompute the rollups.
+        if (seeded > 0) {
+            rollupService.rebuild();
+        }
     }
 
     private void seedUsers() {
@@ -109,7 +117,7 @@ public class DataSeeder implements CommandLineRunner {
         }
     }
 
-    private void seedTasks(Map<String, User> usersByEmail) {
+    private int seedTasks(Map<String, User> usersByEmail) {
         List<User> managers = Stream.of(
                         "manager1@swms.com",
                         "manager2@swms.com",
@@ -138,7 +146,7 @@ public class DataSeeder implements CommandLineRunner {
                 .toList();
 
         if (managers.isEmpty() || employees.isEmpty()) {
-            return;
+            return 0;
         }
 
         LocalDateTime start = LocalDate.now().minusMonths(5).withDayOfMonth(2).atTime(9, 0);
@@ -153,7 +161,7 @@ public class DataSeeder implements CommandLineRunner {
             LocalDateTime createdAt = start.plusDays(i * 4L).withHour(9 + (i % 3));
             String title = String.format("%s %s %02d", assignee.getDepartment(), WORKSTREAMS.get(i % WORKSTREAMS.size()), i + 1);
 
-            if (taskRepo.existsByTitle(title)) {
+            if (taskRepo.existsByTitle(title) || archivedTaskRepo.existsByTitle(title)) {
                 continue;
             }
 
@@ -177,15 +185,16 @@ public class DataSeeder implements CommandLineRunner {
         if (created > 0) {
             log.info("DataSeeder: inserted {} demo task(s).", created);
         }
+        return created;
     }
 
-    private void seedAttendance(Map<String, User> usersByEmail) {
+    private int seedAttendance(Map<String, User> usersByEmail) {
         List<User> trackedUsers = usersByEmail.values().stream()
                 .filter(user -> user.getRole() != Role.ADMIN)
                 .toList();
 
         if (trackedUsers.isEmpty()) {
-            return;
+            return 0;
         }
 
         LocalDate start = LocalDate.now().minusDays(120);
@@ -221,6 +230,7 @@ public class DataSeeder implements CommandLineRunner {
         if (created > 0) {
             log.info("DataSeeder: inserted {} attendance record(s).", created);
         }
+        return created;
     }
 
     private static TaskStatus statusForIndex(int index) {
@@ -1,9 +1,11 @@
 package com.swms.backend.config;
 
 import com.swms.backend.security.JwtFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -11,6 +13,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -67,6 +70,10 @@ public class SecurityConfig {
             // ── AUTHORIZATION RULES ──────────────────────────────────────
             .authorizeHttpRequests(auth -> auth
 
+                // Async / error re-dispatches of an already authorised request
+                // (e.g. completion of the /api/analytics/stream SseEmitter)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                 // Public endpoints — login & registration
                 .requestMatchers("/auth/**").permitAll()
 
@@ -81,6 +88,8 @@ public class SecurityConfig {
                 // Task management — ADMIN & MANAGER can create/update/delete
                 .requestMatchers(HttpMethod.POST,   "/api/tasks/**").hasAnyRole("ADMIN", "MANAGER")
                 .requestMatchers(HttpMethod.PUT,    "/api/tasks/**").hasAnyRole("ADMIN", "MANAGER", "EMPLOYEE")
+                .requestMatchers(HttpMethod.PATCH,  "/api/tasks/*/status").hasAnyRole("ADMIN", "MANAGER", "EMPLOYEE")
+                .requestMatchers(HttpMethod.PATCH,  "/api/tasks/**").hasAnyRole("ADMIN", "MANAGER")
                 .requestMatchers(HttpMethod.DELETE, "/api/tasks/**").hasAnyRole("ADMIN", "MANAGER")
                 .requestMatchers(HttpMethod.GET,    "/api/tasks/**").authenticated()
 
@@ -99,6 +108,10 @@ public class SecurityConfig {
             .sessionManagement(sess ->
                     sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
+            // ── NO / INVALID / PRE-CLAIMS TOKEN: 401, so the client signs in again ──
+            .exceptionHandling(ex ->
+                    ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
             // ── JWT FILTER: runs before username/password auth filter ─────
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -0,0 +1,47 @@
+package com.swms.backend.config;
+
+import com.swms.backend.entity.Task;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * TaskIdBlockInitializer — keeps the task id generator ahead of existing rows.
+ *
+ * Task ids used to come from AUTO_INCREMENT and now come from the "tasks"
+ * row of id_blocks (see Task). With the pooled optimizer a stored value
+ * of N hands out the block N − ID_BLOCK + 1 … N next, so the row is moved
+ * to at least MAX(id) + ID_BLOCK over tasks and tasks_archive (archived
+ * ids are never handed out again) before anything is inserted; it
+ * never moves backwards, so restarts are harmless.
+ *
+ * Runs once the EntityManagerFactory (and with it ddl-auto) is up
+ * (@DependsOn), which is before DataSeeder and before the first request.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class TaskIdBlockInitializer {
+
+    private static final String TASKS = "tasks";
+
+    private final JdbcTemplate jdbc;
+
+    public TaskIdBlockInitializer(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    void moveBlockPastExistingIds() {
+        long floor = jdbc.queryForObject("SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), "
+                + "(SELECT COALESCE(MAX(id), 0) FROM tasks_archive))", Long.class) + Task.ID_BLOCK;
+        int updated = jdbc.update("UPDATE id_blocks SET next_val = GREATEST(next_val, ?) WHERE sequence_name = ?",
+                floor, TASKS);
+        if (updated == 0) {
+            jdbc.update("INSERT INTO id_blocks (sequence_name, next_val) VALUES (?, ?)", TASKS, floor);
+        }
+        log.info("TaskIdBlockInitializer: task ids continue above {}.", floor - Task.ID_BLOCK);
+    }
+}
@@ -4,10 +4,11 @@ import com.swms.backend.dto.request.ChatRequest;
 import com.swms.backend.dto.response.ChatResponse;
 import com.swms.backend.entity.ChatHistory;
 import com.swms.backend.repository.ChatHistoryRepository;
+import com.swms.backend.security.AuthenticatedUser;
 import com.swms.backend.service.AIService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -32,14 +33,11 @@ public class AIController {
 
     private final AIService             aiService;
     private final ChatHistoryRepository chatHistoryRepo;
-    private final com.swms.backend.repository.UserRepository userRepo;
 
     public AIController(AIService aiService,
-                        ChatHistoryRepository chatHistoryRepo,
-                        com.swms.backend.repository.UserRepository userRepo) {
+                        ChatHistoryRepository chatHistoryRepo) {
         this.aiService       = aiService;
         this.chatHistoryRepo = chatHistoryRepo;
-        this.userRepo        = userRepo;
     }
 
     // ─────────────────────────────────────────────────────────────────────
@@ -83,12 +81,9 @@ public class AIController {
      * Useful for building a "history" panel in the frontend.
      */
     @GetMapping("/history")
-    public ResponseEntity<List<ChatHistory>> history(Authentication auth) {
-        com.swms.backend.entity.User caller =
-                userRepo.findByEmail(auth.getName())
-                        .orElseThrow();
+    public ResponseEntity<List<ChatHistory>> history(@AuthenticationPrincipal AuthenticatedUser caller) {
         List<ChatHistory> history =
-                chatHistoryRepo.findByUserIdOrderByTimestampDesc(caller.getId());
+                chatHistoryRepo.findByUserIdOrderByTimestampDesc(caller.id());
         return ResponseEntity.ok(history);
     }
 }
@@ -1,44 +1,149 @@
 package com.swms.backend.controller;
 
 import com.swms.backend.dto.response.analytics.AdminAnalyticsResponse;
+import com.swms.backend.dto.response.analytics.AnalyticsSeriesResponse;
 import com.swms.backend.dto.response.analytics.EmployeeAnalyticsResponse;
 import com.swms.backend.dto.response.analytics.ManagerAnalyticsResponse;
+import com.swms.backend.dto.response.analytics.QueryTimingDto;
+import com.swms.backend.enums.AnalyticsMetric;
+import com.swms.backend.enums.Granularity;
+import com.swms.backend.enums.Role;
+import com.swms.backend.security.AuthenticatedUser;
+import com.swms.backend.service.AnalyticsQueryExecutor;
 import com.swms.backend.service.AnalyticsService;
+import com.swms.backend.service.AnalyticsSnapshot;
+import com.swms.backend.service.AnalyticsStreamService;
+import com.swms.backend.service.DataVersionService;
+import com.swms.backend.service.RollupService;
+import com.swms.backend.service.ScorecardService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * AnalyticsController - dashboard data endpoints by role.
+ *
+ *   GET  /api/analytics/series          → TASKS / ATTENDANCE over any [from, to] by DAY / WEEK / MONTH /
+ *                                         QUARTER, optional department / userId (EMPLOYEE: own only)
+ *   GET  /api/analytics/stream          → live "snapshot" + "delta" events for the caller's dashboard (SSE)
+ *   GET  /api/analytics/query-timings   → per-query latencies of the analytics batches (ADMIN)
+ *   POST /api/analytics/rollups/rebuild → recompute daily rollups, reload the in-memory
+ *                                         snapshot and the employee scorecards from base
+ *                                         tables (ADMIN)
+ *
+ * The dashboard and series endpoints send an ETag from DataVersionService
+ * and answer a matching If-None-Match with 304 before any query runs.
+ * Dashboard ETags include today's date, since their windows are relative to it.
  */
 @RestController
 @RequestMapping("/api/analytics")
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsStreamService analyticsStreamService;
+    private final AnalyticsQueryExecutor queryExecutor;
+    private final AnalyticsSnapshot analyticsSnapshot;
+    private final RollupService rollupService;
+    private final ScorecardService scorecardService;
+    private final DataVersionService dataVersionService;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService,
+                               AnalyticsStreamService analyticsStreamService,
+                               AnalyticsQueryExecutor queryExecutor,
+                               AnalyticsSnapshot analyticsSnapshot,
+                               RollupService rollupService,
+                               ScorecardService scorecardService,
+                               DataVersionService dataVersionService) {
         this.analyticsService = analyticsService;
+        this.analyticsStreamService = analyticsStreamService;
+        this.queryExecutor = queryExecutor;
+        this.analyticsSnapshot = analyticsSnapshot;
+        this.rollupService = rollupService;
+        this.scorecardService = scorecardService;
+        this.dataVersionService = dataVersionService;
     }
 
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<AdminAnalyticsResponse> getAdminAnalytics(Authentication auth) {
-        return ResponseEntity.ok(analyticsService.getAdminAnalytics(auth.getName()));
+    public ResponseEntity<AdminAnalyticsResponse> getAdminAnalytics(@AuthenticationPrincipal AuthenticatedUser caller, WebRequest request) {
+        String etag = dataVersionService.orgEtag(true, LocalDate.now());
+        return ConditionalGet.ok(request, etag, () -> analyticsService.getAdminAnalytics(caller));
     }
 
     @GetMapping("/manager")
     @PreAuthorize("hasRole('MANAGER')")
-    public ResponseEntity<ManagerAnalyticsResponse> getManagerAnalytics(Authentication auth) {
-        return ResponseEntity.ok(analyticsService.getManagerAnalytics(auth.getName()));
+    public ResponseEntity<ManagerAnalyticsResponse> getManagerAnalytics(@AuthenticationPrincipal AuthenticatedUser caller, WebRequest request) {
+        String etag = dataVersionService.userEtag(caller.id(), false, LocalDate.now());
+        return ConditionalGet.ok(request, etag, () -> analyticsService.getManagerAnalytics(caller));
     }
 
     @GetMapping("/employee")
     @PreAuthorize("hasRole('EMPLOYEE')")
-    public ResponseEntity<EmployeeAnalyticsResponse> getEmployeeAnalytics(Authentication auth) {
-        return ResponseEntity.ok(analyticsService.getEmployeeAnalytics(auth.getName()));
+    public ResponseEntity<EmployeeAnalyticsResponse> getEmployeeAnalytics(@AuthenticationPrincipal AuthenticatedUser caller, WebRequest request) {
+        String etag = dataVersionService.userEtag(caller.id(), false, LocalDate.now());
+        return ConditionalGet.ok(request, etag, () -> analyticsService.getEmployeeAnalytics(caller));
+    }
+
+    /** e.g. /api/analytics/series?metric=ATTENDANCE&granularity=MONTH&from=2024-01-01&to=2025-12-31&department=HR */
+    @GetMapping("/series")
+    public ResponseEntity<AnalyticsSeriesResponse> getSeries(
+            @AuthenticationPrincipal AuthenticatedUser caller,
+            @RequestParam AnalyticsMetric metric,
+            @RequestParam Granularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Long userId,
+            WebRequest request) {
+        String etag;
+        if (caller.is(Role.EMPLOYEE)) {
+            etag = dataVersionService.userEtag(caller.id(), true, null);
+        } else if (userId != null) {
+            etag = dataVersionService.userEtag(userId, true, null);
+        } else if (department != null && !department.isBlank()) {
+            etag = dataVersionService.departmentEtag(department.trim(), null);
+        } else {
+            etag = dataVersionService.orgEtag(false, null);
+        }
+        return ConditionalGet.ok(request, etag, () -> analyticsService.getSeries(
+                caller, metric, granularity, from, to, department, userId));
+    }
+
+    /** Open a Server-Sent Events stream of dashboard updates for the caller's role. */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAnalytics(@AuthenticationPrincipal AuthenticatedUser caller) {
+        return analyticsStreamService.subscribe(caller);
+    }
+
+    /** Latency per analytics query, slowest first — the first rows are the critical path. */
+    @GetMapping("/query-timings")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<QueryTimingDto>> getQueryTimings() {
+        return ResponseEntity.ok(queryExecutor.timings());
+    }
+
+    /** Repair drift in the daily rollups, the analytics snapshot and the scorecards by recomputing them from tasks / attendance. */
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildRollups() {
+        Map<String, Integer> rebuilt = new LinkedHashMap<>(rollupService.rebuild());
+        analyticsSnapshot.reload();
+        rebuilt.put("scorecards", scorecardService.refresh());
+        dataVersionService.resetAll();
+        return ResponseEntity.ok(rebuilt);
     }
 }
@@ -2,14 +2,18 @@ package com.swms.backend.controller;
 
 import com.swms.backend.dto.request.AttendanceRequest;
 import com.swms.backend.dto.response.AttendanceResponse;
+import com.swms.backend.enums.Role;
+import com.swms.backend.security.AuthenticatedUser;
 import com.swms.backend.service.AttendanceService;
+import com.swms.backend.service.DataVersionService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,7 +23,7 @@ import java.util.List;
  *
  * ENDPOINTS:
  *   POST   /api/attendance               → check-in / create record
- *   GET    /api/attendance               → list (role-filtered in service)
+ *   GET    /api/attendance               → list (role-filtered in service, ETag / 304)
  *   GET    /api/attendance/date/{date}   → records for a specific date (ADMIN/MANAGER)
  *   GET    /api/attendance/range         → date-range query (ADMIN/MANAGER)
  *   GET    /api/attendance/{id}          → single record
@@ -31,9 +35,11 @@ import java.util.List;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final DataVersionService dataVersionService;
 
-    public AttendanceController(AttendanceService attendanceService) {
+    public AttendanceController(AttendanceService attendanceService, DataVersionService dataVersionService) {
         this.attendanceService = attendanceService;
+        this.dataVersionService = dataVersionService;
     }
 
     // ----------------------------------------------------------------
@@ -56,20 +62,23 @@ public class AttendanceController {
     @PostMapping
     public ResponseEntity<AttendanceResponse> create(
             @Valid @RequestBody AttendanceRequest req,
-            Authentication auth) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(attendanceService.create(req, auth.getName()));
+                .body(attendanceService.create(req, caller));
     }
 
     // ----------------------------------------------------------------
     // GET /api/attendance  — list
     // ----------------------------------------------------------------
 
-    /** Returns records visible to the caller (role-filtered in service). */
+    /** Returns records visible to the caller (role-filtered in service); 304 on a matching If-None-Match. */
     @GetMapping
-    public ResponseEntity<List<AttendanceResponse>> getAll(Authentication auth) {
-        return ResponseEntity.ok(attendanceService.getForUser(auth.getName()));
+    public ResponseEntity<List<AttendanceResponse>> getAll(@AuthenticationPrincipal AuthenticatedUser caller, WebRequest request) {
+        String etag = caller.is(Role.EMPLOYEE)
+                ? dataVersionService.userEtag(caller.id(), true, null)
+                : dataVersionService.orgEtag(true, null);
+        return ConditionalGet.ok(request, etag, () -> attendanceService.getForUser(caller));
     }
 
     // ----------------------------------------------------------------
@@ -121,8 +130,8 @@ public class AttendanceController {
     public ResponseEntity<AttendanceResponse> update(
             @PathVariable Long id,
             @Valid @RequestBody AttendanceRequest req,
-            Authentication auth) {
-        return ResponseEntity.ok(attendanceService.update(id, req, auth.getName()));
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        return ResponseEntity.ok(attendanceService.update(id, req, caller));
     }
 
     // ----------------------------------------------------------------
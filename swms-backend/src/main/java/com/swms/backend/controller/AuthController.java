@@ -7,6 +7,8 @@ import com.swms.backend.dto.request.ResetPasswordRequest;
 import com.swms.backend.dto.response.AuthResponse;
 import com.swms.backend.dto.response.UserResponse;
 import com.swms.backend.entity.User;
+import com.swms.backend.enums.Role;
+import com.swms.backend.security.AuthenticatedUser;
 import com.swms.backend.security.JwtUtil;
 import com.swms.backend.service.UserService;
 import jakarta.validation.Valid;
@@ -76,7 +78,8 @@ public class AuthController {
 
         UserResponse saved = userService.register(req);
 
-        String token = jwtUtil.generateToken(saved.getEmail(), saved.getRole());
+        String token = jwtUtil.generateToken(new AuthenticatedUser(saved.getId(), saved.getEmail(),
+                Role.valueOf(saved.getRole()), saved.getDepartment()));
 
         AuthResponse response = AuthResponse.builder()
                 .token(token)
@@ -118,7 +121,7 @@ public class AuthController {
                     .body(java.util.Map.of("error", "Admin accounts must sign in at /admin."));
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+        String token = jwtUtil.generateToken(AuthenticatedUser.of(user));
 
         AuthResponse response = AuthResponse.builder()
                 .token(token)
@@ -156,7 +159,7 @@ public class AuthController {
                     .body(java.util.Map.of("error", "Access denied. This portal is for administrators only."));
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+        String token = jwtUtil.generateToken(AuthenticatedUser.of(user));
 
         AuthResponse response = AuthResponse.builder()
                 .token(token)
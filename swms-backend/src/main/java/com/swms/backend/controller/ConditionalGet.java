@@ -0,0 +1,34 @@
+package com.swms.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * ConditionalGet — ETag handling shared by the read endpoints.
+ *
+ * The ETag comes from DataVersionService, so checking If-None-Match costs
+ * no query. On a match Spring answers 304 and the body is never built;
+ * otherwise the response carries the ETag and "private, no-cache" so the
+ * browser keeps it and revalidates on the next request.
+ */
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /** 304 when If-None-Match matches etag (returns null, as checkNotModified requires), else 200 with body. */
+    static <T> ResponseEntity<T> ok(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(body.get());
+    }
+}
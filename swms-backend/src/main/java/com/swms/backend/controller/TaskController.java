@@ -1,29 +1,53 @@
 package com.swms.backend.controller;
 
+import com.swms.backend.dto.request.BulkTaskRequest;
+import com.swms.backend.dto.request.BulkTaskUpdateRequest;
+import com.swms.backend.dto.request.TaskChangeAckRequest;
+import com.swms.backend.dto.request.TaskQueryRequest;
 import com.swms.backend.dto.request.TaskRequest;
+import com.swms.backend.dto.request.TaskStatusRequest;
+import com.swms.backend.dto.response.TaskBoardResponse;
+import com.swms.backend.dto.response.TaskChangesResponse;
+import com.swms.backend.dto.response.TaskPageResponse;
 import com.swms.backend.dto.response.TaskResponse;
+import com.swms.backend.dto.response.TaskSearchResponse;
+import com.swms.backend.enums.Role;
+import com.swms.backend.security.AuthenticatedUser;
+import com.swms.backend.service.DataVersionService;
+import com.swms.backend.service.TaskChangeFeedService;
 import com.swms.backend.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.LocalDate;
 import java.util.List;
 
+
 /**
  * TaskController — REST API for Task CRUD operations.
  *
  * ENDPOINTS:
  *   POST   /api/tasks          → create task   (ADMIN, MANAGER)
- *   GET    /api/tasks          → list tasks    (role-filtered in service)
- *   GET    /api/tasks/{id}     → single task   (role-filtered in service)
+ *   POST   /api/tasks/bulk     → create tasks  (ADMIN, MANAGER, batched)
+ *   PATCH  /api/tasks/bulk     → update tasks  (ADMIN, MANAGER, batched)
+ *   GET    /api/tasks          → page of tasks (role-filtered in service, ?cursor=&limit=&includeArchived=)
+ *   GET    /api/tasks/search   → ranked full-text matches (role-filtered in service, ?q=&limit=)
+ *   GET    /api/tasks/board    → per-status totals + first tasks by deadline (role-filtered in service)
+ *   GET    /api/tasks/changes  → change feed   (role-filtered in service, ?since=&limit=&waitMs=, long-poll)
+ *   POST   /api/tasks/changes/ack → acknowledge a consumer's position (ADMIN, MANAGER)
+ *   GET    /api/tasks/{id}     → single task   (role-filtered in service, ?includeArchived=)
  *   PUT    /api/tasks/{id}     → update task   (ADMIN, MANAGER, EMPLOYEE-own)
+ *   PATCH  /api/tasks/{id}/status → status only, versioned (ADMIN, MANAGER, EMPLOYEE-own)
  *   DELETE /api/tasks/{id}     → delete task   (ADMIN, MANAGER-own)
  *
- * The Authentication object injected by Spring Security contains the email
- * (set as principal in JwtFilter) which is passed to the service for
+ * The caller is the AuthenticatedUser principal set by JwtFilter (id, role
+ * and department from the token), which is passed to the service for
  * ownership and role checks.
  */
 @RestController
@@ -31,9 +55,14 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final DataVersionService dataVersionService;
+    private final TaskChangeFeedService changeFeedService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, DataVersionService dataVersionService,
+                          TaskChangeFeedService changeFeedService) {
         this.taskService = taskService;
+        this.dataVersionService = dataVersionService;
+        this.changeFeedService = changeFeedService;
     }
 
     // ----------------------------------------------------------------
@@ -51,15 +80,43 @@ public class TaskController {
      *   "deadline":     "2025-12-31",
      *   "status":       "IN_PROGRESS"   // optional, defaults to TODO
      * }
+     *
+     * or, instead of assignedToId, "autoAssign": true (optionally with
+     * "department": "Sales", default the caller's) for the least-loaded
+     * employee there; 409 when the department has none.
      */
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public ResponseEntity<TaskResponse> create(
             @Valid @RequestBody TaskRequest req,
-            Authentication auth) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(taskService.create(req, auth.getName()));
+                .body(taskService.create(req, caller));
+    }
+
+    // ----------------------------------------------------------------
+    // POST / PATCH /api/tasks/bulk
+    // ----------------------------------------------------------------
+
+    /** Create up to app.tasks.bulk.max-size tasks in one transaction; all or none are saved. */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+    public ResponseEntity<List<TaskResponse>> createAll(
+            @Valid @RequestBody BulkTaskRequest req,
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(taskService.createAll(req.getTasks(), caller));
+    }
+
+    /** Partially update up to app.tasks.bulk.max-size tasks in one transaction; all or none are saved. */
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+    public ResponseEntity<List<TaskResponse>> updateAll(
+            @Valid @RequestBody BulkTaskUpdateRequest req,
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        return ResponseEntity.ok(taskService.updateAll(req.getTasks(), caller));
     }
 
     // ----------------------------------------------------------------
@@ -67,24 +124,124 @@ public class TaskController {
     // ----------------------------------------------------------------
 
     /**
-     * List tasks visible to the caller (role-filtered in TaskService):
+     * One page of the tasks visible to the caller (role-filtered in TaskService)
+     * that match the filters, newest first unless sort / direction say otherwise:
      *   ADMIN/MANAGER → all tasks
      *   EMPLOYEE      → only their own assigned tasks
+     *
+     * e.g. /api/tasks?status=TODO&sort=DEADLINE&direction=ASC&limit=50,
+     * then the same query with &cursor={nextCursor}; descriptions are left
+     * out unless &description=true, archived tasks unless &includeArchived=true
+     *
+     * Answers 304 to a matching If-None-Match without querying (see ConditionalGet).
      */
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAll(Authentication auth) {
-        return ResponseEntity.ok(taskService.getForUser(auth.getName()));
+    public ResponseEntity<TaskPageResponse> getAll(@AuthenticationPrincipal AuthenticatedUser caller,
+                                                   WebRequest request,
+                                                   @ModelAttribute TaskQueryRequest query) {
+        // "Overdue" moves with the date even when no task changes
+        LocalDate day = query.isOverdue() ? LocalDate.now() : null;
+        String etag = caller.is(Role.EMPLOYEE)
+                ? dataVersionService.userEtag(caller.id(), true, day)
+                : dataVersionService.orgEtag(true, day);
+        return ConditionalGet.ok(request, etag, () -> taskService.getForUser(caller, query));
+    }
+
+    // ----------------------------------------------------------------
+    // GET /api/tasks/search
+    // ----------------------------------------------------------------
+
+    /**
+     * Tasks visible to the caller whose title or description match q, best
+     * match first; the last word also matches as a prefix, e.g.
+     * /api/tasks/search?q=login%20tim&limit=20 (add &description=true for
+     * the descriptions)
+     *
+     * Answers 304 to a matching If-None-Match without searching.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> search(@AuthenticationPrincipal AuthenticatedUser caller,
+                                                     WebRequest request,
+                                                     @RequestParam String q,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(defaultValue = "false") boolean description) {
+        String etag = caller.is(Role.EMPLOYEE)
+                ? dataVersionService.userEtag(caller.id(), true, null)
+                : dataVersionService.orgEtag(true, null);
+        return ConditionalGet.ok(request, etag, () -> taskService.search(caller, q, limit, description));
+    }
+
+    // ----------------------------------------------------------------
+    // GET /api/tasks/board
+    // ----------------------------------------------------------------
+
+    /**
+     * Kanban columns of the tasks visible to the caller: every status with
+     * its total and its first limit tasks by deadline, e.g.
+     * /api/tasks/board?createdById=3&limit=20
+     *
+     * Answers 304 to a matching If-None-Match without querying.
+     */
+    @GetMapping("/board")
+    public ResponseEntity<TaskBoardResponse> board(@AuthenticationPrincipal AuthenticatedUser caller,
+                                                   WebRequest request,
+                                                   @RequestParam(required = false) Long assignedToId,
+                                                   @RequestParam(required = false) Long createdById,
+                                                   @RequestParam(required = false) Integer limit) {
+        String etag = caller.is(Role.EMPLOYEE)
+                ? dataVersionService.userEtag(caller.id(), true, null)
+                : dataVersionService.orgEtag(true, null);
+        return ConditionalGet.ok(request, etag,
+                () -> taskService.getBoard(caller, assignedToId, createdById, limit));
+    }
+
+    // ----------------------------------------------------------------
+    // GET /api/tasks/changes, POST /api/tasks/changes/ack
+    // ----------------------------------------------------------------
+
+    /**
+     * Task changes after since visible to the caller, oldest first, e.g.
+     * /api/tasks/changes?since=120&waitMs=25000 — waits up to waitMs for the
+     * next change when there is none yet, then answers with an empty page.
+     * Follow with since={nextSince}; on "resync": true re-read /api/tasks first.
+     *
+     * A named consumer may pass ?consumer=bi-sync instead of since to resume
+     * from its last acknowledged seq.
+     */
+    @GetMapping("/changes")
+    public DeferredResult<TaskChangesResponse> changes(@AuthenticationPrincipal AuthenticatedUser caller,
+                                                       @RequestParam(required = false) Long since,
+                                                       @RequestParam(required = false) String consumer,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) Long waitMs) {
+        return changeFeedService.changes(caller, since, consumer, limit, waitMs);
+    }
+
+    /**
+     * Acknowledge every change up to seq for a named consumer.
+     *
+     * Request body: { "consumer": "bi-sync", "seq": 180 }
+     *
+     * Acks only move forward; events are compacted once every consumer has acked them.
+     */
+    @PostMapping("/changes/ack")
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+    public ResponseEntity<Void> acknowledge(@Valid @RequestBody TaskChangeAckRequest req) {
+        changeFeedService.acknowledge(req.getConsumer(), req.getSeq());
+        return ResponseEntity.noContent().build();
     }
 
     // ----------------------------------------------------------------
     // GET /api/tasks/{id}
     // ----------------------------------------------------------------
 
+    /** A closed task moved to tasks_archive is 404 unless ?includeArchived=true. */
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getById(
             @PathVariable Long id,
-            Authentication auth) {
-        return ResponseEntity.ok(taskService.getById(id, auth.getName()));
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        return ResponseEntity.ok(taskService.getById(id, caller, includeArchived));
     }
 
     // ----------------------------------------------------------------
@@ -100,8 +257,28 @@ public class TaskController {
     public ResponseEntity<TaskResponse> update(
             @PathVariable Long id,
             @Valid @RequestBody TaskRequest req,
-            Authentication auth) {
-        return ResponseEntity.ok(taskService.update(id, req, auth.getName()));
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        return ResponseEntity.ok(taskService.update(id, req, caller));
+    }
+
+    // ----------------------------------------------------------------
+    // PATCH /api/tasks/{id}/status
+    // ----------------------------------------------------------------
+
+    /**
+     * Move a task to another status in one conditional UPDATE.
+     *
+     * Request body: { "status": "COMPLETED", "version": 3 }
+     *
+     * 409 if the task changed after the caller read version 3; the response
+     * carries the new version for the next transition.
+     */
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<TaskResponse> updateStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskStatusRequest req,
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        return ResponseEntity.ok(taskService.updateStatus(id, req, caller));
     }
 
     // ----------------------------------------------------------------
@@ -112,8 +289,8 @@ public class TaskController {
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public ResponseEntity<Void> delete(
             @PathVariable Long id,
-            Authentication auth) {
-        taskService.delete(id, auth.getName());
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        taskService.delete(id, caller);
         return ResponseEntity.noContent().build();
     }
 }
@@ -2,11 +2,12 @@ package com.swms.backend.controller;
 
 import com.swms.backend.dto.request.RegisterRequest;
 import com.swms.backend.dto.response.UserResponse;
+import com.swms.backend.security.AuthenticatedUser;
 import com.swms.backend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -39,12 +40,12 @@ public class UserController {
 
     /**
      * Returns the profile of the currently authenticated user.
-     * Email is extracted from the JWT via Authentication.getName().
+     * The caller's id comes from the JWT principal (AuthenticatedUser).
      */
     @GetMapping("/users/me")
-    public ResponseEntity<UserResponse> getProfile(Authentication auth) {
+    public ResponseEntity<UserResponse> getProfile(@AuthenticationPrincipal AuthenticatedUser caller) {
         return ResponseEntity.ok(
-                userService.toResponse(userService.findByEmail(auth.getName()))
+                userService.getById(caller.id())
         );
     }
 
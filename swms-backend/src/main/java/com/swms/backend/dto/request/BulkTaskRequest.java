@@ -0,0 +1,22 @@
+package com.swms.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * BulkTaskRequest — payload of POST /api/tasks/bulk.
+ *
+ * { "tasks": [ { "title": "...", "assignedToId": 5, ... }, ... ] }
+ *
+ * Each item is validated like a single POST /api/tasks body; at most
+ * app.tasks.bulk.max-size items per request.
+ */
+@Data
+public class BulkTaskRequest {
+
+    @NotEmpty(message = "At least one task is required")
+    private List<@Valid TaskRequest> tasks;
+}
@@ -0,0 +1,38 @@
+package com.swms.backend.dto.request;
+
+import com.swms.backend.enums.TaskStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * BulkTaskUpdateRequest — payload of PATCH /api/tasks/bulk.
+ *
+ * { "tasks": [ { "id": 12, "status": "COMPLETED" }, { "id": 13, "assignedToId": 5 } ] }
+ *
+ * Only the non-null fields of an item are changed, as in PUT /api/tasks/{id}.
+ * Each task id may appear once; at most app.tasks.bulk.max-size items.
+ */
+@Data
+public class BulkTaskUpdateRequest {
+
+    @NotEmpty(message = "At least one task is required")
+    private List<@Valid Item> tasks;
+
+    @Data
+    public static class Item {
+
+        @NotNull(message = "Task id is required")
+        private Long id;
+
+        private String title;
+        private String description;
+        private TaskStatus status;
+        private Long assignedToId;
+        private LocalDate deadline;
+    }
+}
@@ -0,0 +1,26 @@
+package com.swms.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * TaskChangeAckRequest — payload of POST /api/tasks/changes/ack.
+ *
+ * { "consumer": "bi-sync", "seq": 1234 }
+ *
+ * Acknowledges every change up to and including seq for that consumer.
+ */
+@Data
+public class TaskChangeAckRequest {
+
+    @NotBlank(message = "Consumer is required")
+    @Size(max = 64, message = "Consumer must be at most 64 characters")
+    private String consumer;
+
+    @NotNull(message = "Seq is required")
+    @PositiveOrZero(message = "Seq must not be negative")
+    private Long seq;
+}
@@ -0,0 +1,53 @@
+package com.swms.backend.dto.request;
+
+import com.swms.backend.enums.TaskSort;
+import com.swms.backend.enums.TaskStatus;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * TaskQueryRequest — query parameters of GET /api/tasks.
+ *
+ * e.g. /api/tasks?status=IN_PROGRESS&department=HR&sort=DEADLINE&direction=ASC&limit=50
+ *
+ * Every filter is optional and they combine with AND. EMPLOYEE callers
+ * only ever see their own tasks, whatever assignedToId says.
+ */
+@Data
+public class TaskQueryRequest {
+
+    private TaskStatus status;
+    private Long assignedToId;
+    private Long createdById;
+
+    /** Assignee's department bucket ("Unassigned" = no department set). */
+    private String department;
+
+    /** Inclusive deadline range; tasks without a deadline never match. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineTo;
+
+    /** true → deadline before today and not COMPLETED / CANCELLED. */
+    private boolean overdue;
+
+    private TaskSort sort = TaskSort.CREATED_AT;
+    private Sort.Direction direction = Sort.Direction.DESC;
+
+    /** nextCursor / prevCursor of an earlier page with the same sort. */
+    private String cursor;
+
+    /** Page size, capped at app.tasks.page.max-size; null for the default. */
+    private Integer limit;
+
+    /** true → include each task's description (left out of lists by default). */
+    private boolean description;
+
+    /** true → closed tasks moved to tasks_archive are listed too. */
+    private boolean includeArchived;
+}
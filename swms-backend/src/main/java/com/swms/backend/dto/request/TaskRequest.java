@@ -2,7 +2,6 @@ package com.swms.backend.dto.request;
 
 import com.swms.backend.enums.TaskStatus;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -30,11 +29,20 @@ public class TaskRequest {
 
     /**
      * ID of the User this task is assigned to.
-     * Manager/Admin must provide a valid employee id.
+     * Manager/Admin must provide a valid employee id unless autoAssign is set;
+     * on update, null keeps the current assignee.
      */
-    @NotNull(message = "Assigned user id is required")
     private Long assignedToId;
 
+    /**
+     * Create only: assign to the least-loaded EMPLOYEE of department
+     * (see TaskLoadBalancer) instead of assignedToId.
+     */
+    private boolean autoAssign;
+
+    /** Department to auto-assign in; defaults to the caller's own. */
+    private String department;
+
     /** Optional deadline date (ISO 8601 format from the client: "2025-12-31"). */
     private LocalDate deadline;
 }
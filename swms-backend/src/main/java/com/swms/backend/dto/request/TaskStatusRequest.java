@@ -0,0 +1,23 @@
+package com.swms.backend.dto.request;
+
+import com.swms.backend.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * TaskStatusRequest — payload of PATCH /api/tasks/{id}/status.
+ *
+ * { "status": "IN_PROGRESS", "version": 3 }
+ *
+ * version is the TaskResponse.version the caller last saw; the change is
+ * refused (409) if the task has been written since.
+ */
+@Data
+public class TaskStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+
+    @NotNull(message = "Version is required")
+    private Long version;
+}
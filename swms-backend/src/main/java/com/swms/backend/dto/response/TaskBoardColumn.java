@@ -0,0 +1,27 @@
+package com.swms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * TaskBoardColumn — one status column of GET /api/tasks/board: how many
+ * tasks have the status, and the first of them by deadline (no deadline last).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBoardColumn {
+
+    private String status;
+
+    /** All tasks in the caller's scope with this status, not just those listed. */
+    private long total;
+
+    /** Without descriptions, like the other task lists. */
+    private List<TaskResponse> tasks;
+}
@@ -0,0 +1,24 @@
+package com.swms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * TaskBoardResponse — GET /api/tasks/board: one column per TaskStatus,
+ * in enum order, empty columns included.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBoardResponse {
+
+    private List<TaskBoardColumn> columns;
+
+    /** Tasks listed per column at most (after the server-side cap). */
+    private int limit;
+}
@@ -0,0 +1,31 @@
+package com.swms.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * TaskChangeResponse — one entry of the task change feed.
+ *
+ * task is the task after the change (id, status, creatorId, assigneeId,
+ * department, createdAt, title, description); it is null for DELETED, and
+ * for an employee reading the change that took a task away from them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeResponse {
+
+    private long seq;
+    private Long taskId;
+    private String type;
+    private LocalDateTime at;
+
+    @JsonRawValue
+    private String task;
+}
@@ -0,0 +1,32 @@
+package com.swms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * TaskChangesResponse — GET /api/tasks/changes, oldest change first.
+ *
+ * Pass nextSince back as ?since= to continue (it equals since when there
+ * was nothing new). resync = true means changes after since were already
+ * removed by retention: re-read GET /api/tasks, then follow the feed from
+ * nextSince.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+
+    private List<TaskChangeResponse> changes;
+
+    private long nextSince;
+
+    /** More changes are waiting; ask again right away. */
+    private boolean hasMore;
+
+    private boolean resync;
+}
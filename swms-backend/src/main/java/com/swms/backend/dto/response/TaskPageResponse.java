@@ -0,0 +1,29 @@
+package com.swms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * TaskPageResponse — one page of GET /api/tasks, newest first.
+ *
+ * Pass nextCursor (older tasks) or prevCursor (newer tasks) back as
+ * ?cursor= to move; either is null when there is nothing in that direction.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageResponse {
+
+    private List<TaskResponse> items;
+
+    /** Page size applied (after the server-side cap). */
+    private int limit;
+
+    private String nextCursor;
+    private String prevCursor;
+}
@@ -23,7 +23,10 @@ public class TaskResponse {
 
     private Long id;
     private String title;
+
+    /** Left out (null) of GET /api/tasks and /search unless description=true. */
     private String description;
+
     private String status;
 
     /** ID of the employee the task is assigned to. */
@@ -39,6 +42,10 @@ public class TaskResponse {
     private String createdByName;
 
     private LocalDate deadline;
+
+    /** Optimistic-lock version — send it back with PATCH /api/tasks/{id}/status. */
+    private Long version;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,30 @@
+package com.swms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * TaskSearchResponse — GET /api/tasks/search, best match first.
+ *
+ * total counts every visible task that matched, of which at most
+ * limit are returned.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResponse {
+
+    private String query;
+
+    private List<TaskResponse> items;
+
+    /** Result count applied (after the server-side cap). */
+    private int limit;
+
+    private int total;
+}
@@ -23,4 +23,6 @@ public class AdminAnalyticsResponse {
     private List<LabelValueDto> attendanceRate;
     private List<LabelValueDto> taskStatus;
     private List<LabelValueDto> deptCompletion;
+    /** Approximate mode only (app.analytics.approximate.enabled); null when every field is exact. */
+    private List<ErrorBoundDto> errorBounds;
 }
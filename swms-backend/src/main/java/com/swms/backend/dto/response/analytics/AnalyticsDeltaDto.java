@@ -0,0 +1,30 @@
+package com.swms.backend.dto.response.analytics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AnalyticsDeltaDto - incremental update pushed on /api/analytics/stream.
+ *
+ * Keys are the series names of the role's analytics response
+ * (kpis, taskStatus, sprintVelocity, ...). Points are matched by label
+ * and carry absolute values, so applying a delta twice is harmless.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsDeltaDto {
+
+    /** Series name → points that changed or were added. */
+    private Map<String, List<JsonNode>> changed;
+
+    /** Series name → labels that are no longer present. */
+    private Map<String, List<String>> removed;
+}
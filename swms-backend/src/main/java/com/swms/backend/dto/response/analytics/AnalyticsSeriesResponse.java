@@ -0,0 +1,34 @@
+package com.swms.backend.dto.response.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * AnalyticsSeriesResponse - GET /api/analytics/series result.
+ * Echoes the effective query; points cover every bucket in [from, to], empty ones included.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSeriesResponse {
+
+    private String metric;
+
+    private String granularity;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private String department;
+
+    private Long userId;
+
+    private List<SeriesPointDto> points;
+}
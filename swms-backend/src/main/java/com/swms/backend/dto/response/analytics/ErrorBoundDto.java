@@ -0,0 +1,23 @@
+package com.swms.backend.dto.response.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ErrorBoundDto - how far an approximate dashboard field (label) may be
+ * off: |estimate - exact| <= error (in unit) with the given confidence.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorBoundDto {
+
+    private String label;
+    private String estimator;
+    private double error;
+    private String unit;
+    private double confidence;
+}
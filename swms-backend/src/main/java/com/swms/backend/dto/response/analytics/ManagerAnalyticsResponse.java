@@ -21,4 +21,6 @@ public class ManagerAnalyticsResponse {
     private List<WorkloadDto> teamWorkload;
     private List<RiskDto> riskFunnel;
     private List<LabelValueDto> teamHealth;
+    /** Approximate mode only (app.analytics.approximate.enabled); null when every field is exact. */
+    private List<ErrorBoundDto> errorBounds;
 }
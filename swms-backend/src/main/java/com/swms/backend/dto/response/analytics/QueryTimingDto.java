@@ -0,0 +1,27 @@
+package com.swms.backend.dto.response.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * QueryTimingDto - latency of one analytics query ("batch.query") or of a
+ * whole batch ("batch.total"), in milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryTimingDto {
+
+    private String name;
+
+    private long count;
+
+    private double lastMs;
+
+    private double maxMs;
+
+    private double avgMs;
+}
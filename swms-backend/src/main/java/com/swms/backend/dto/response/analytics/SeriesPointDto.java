@@ -0,0 +1,32 @@
+package com.swms.backend.dto.response.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * SeriesPointDto - one bucket of an analytics range series.
+ *
+ * rate is the completion % (TASKS) or attendance % (ATTENDANCE) of the bucket.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesPointDto {
+
+    private String label;
+
+    private LocalDate start;
+
+    private long total;
+
+    private double rate;
+
+    /** Status name → count; every status is present, zero-filled. */
+    private Map<String, Long> byStatus;
+}
@@ -0,0 +1,71 @@
+package com.swms.backend.entity;
+
+import com.swms.backend.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ArchivedTask — a closed (COMPLETED / CANCELLED) task moved out of `tasks`
+ * by TaskArchiveService.
+ *
+ * `tasks_archive` has the columns of `tasks`, same names and types, plus
+ * archived_at, so TaskArchiveWriter can move rows with INSERT … SELECT.
+ * Rows keep their id, version and timestamps and are never written
+ * through JPA again.
+ */
+@Entity
+@Immutable
+@Table(name = "tasks_archive", indexes = {
+        // Keyset pagination of GET /api/tasks?includeArchived=true (see TaskQueries)
+        @Index(name = "idx_tasks_archive_created",          columnList = "createdAt, id"),
+        @Index(name = "idx_tasks_archive_deadline",         columnList = "deadline, id"),
+        @Index(name = "idx_tasks_archive_updated",          columnList = "updatedAt, id"),
+        @Index(name = "idx_tasks_archive_assignee_created", columnList = "assigned_to_id, createdAt, id"),
+        @Index(name = "idx_tasks_archive_creator_created",  columnList = "created_by_id, createdAt, id"),
+        @Index(name = "idx_tasks_archive_status_created",   columnList = "status, createdAt, id")
+})
+@Getter
+@NoArgsConstructor
+public class ArchivedTask {
+
+    /** Id the task had in `tasks`; the two tables never share one. */
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to_id")
+    private User assignedTo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_id")
+    private User createdBy;
+
+    private LocalDate deadline;
+
+    /** Last version the task had in `tasks`. */
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    /** When TaskArchiveService moved the row. */
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
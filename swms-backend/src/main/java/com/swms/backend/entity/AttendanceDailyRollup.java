@@ -0,0 +1,50 @@
+package com.swms.backend.entity;
+
+import com.swms.backend.enums.AttendanceStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * AttendanceDailyRollup — pre-aggregated attendance counts per
+ * day × department × AttendanceStatus.
+ *
+ * Maintained by AttendanceService in the same transaction as every
+ * attendance write. department is the employee's department
+ * ("Unassigned" when blank).
+ */
+@Entity
+@Table(
+    name = "attendance_daily_rollup",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_attendance_rollup",
+        columnNames = {"rollup_date", "department", "status"}
+    )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Attendance date the counted records belong to. */
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false)
+    private String department;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AttendanceStatus status;
+
+    /** Number of attendance records in this bucket. */
+    @Column(nullable = false)
+    private long total;
+}
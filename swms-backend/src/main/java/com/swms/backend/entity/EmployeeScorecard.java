@@ -0,0 +1,57 @@
+package com.swms.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * EmployeeScorecard — nightly precomputed employee dashboard totals.
+ *
+ * One row per employee, rewritten by ScorecardService's scheduled job
+ * (batched upserts, see EmployeeScorecardWriter). The windows are anchored
+ * at as_of: last 30 days, 6 weeks and 6 months ending that day. Series
+ * columns hold comma-separated counts, oldest bucket first; task status
+ * counts follow TaskStatus declaration order.
+ */
+@Entity
+@Table(name = "employee_scorecard")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeScorecard {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDate asOf;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @Column(name = "task_status_counts", nullable = false)
+    private String taskStatusCounts;
+
+    @Column(name = "completed_last30", nullable = false)
+    private long completedLast30;
+
+    @Column(name = "attendance_last30_total", nullable = false)
+    private long attendanceLast30Total;
+
+    @Column(name = "attendance_last30_attended", nullable = false)
+    private long attendanceLast30Attended;
+
+    @Column(name = "weekly_completed", nullable = false)
+    private String weeklyCompleted;
+
+    @Column(name = "monthly_attendance_total", nullable = false)
+    private String monthlyAttendanceTotal;
+
+    @Column(name = "monthly_attendance_attended", nullable = false)
+    private String monthlyAttendanceAttended;
+}
@@ -15,9 +15,25 @@ import java.time.LocalDateTime;
  *   ManyToOne → createdBy   (the Manager/Admin who created the task)
  *
  * The FK columns (assigned_to_id, created_by_id) live in the `tasks` table.
+ *
+ * Ids come from the id_blocks table in blocks of ID_BLOCK (pooled
+ * optimizer) rather than AUTO_INCREMENT: Hibernate knows the id at
+ * persist() time, so inserts can be sent as JDBC batches (IDENTITY
+ * forces one round trip per row). TaskIdBlockInitializer moves the block
+ * past existing AUTO_INCREMENT ids on startup.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Keyset pagination of GET /api/tasks, one per sort key (see TaskQueries)
+        @Index(name = "idx_tasks_created",          columnList = "createdAt, id"),
+        @Index(name = "idx_tasks_deadline",         columnList = "deadline, id"),
+        @Index(name = "idx_tasks_updated",          columnList = "updatedAt, id"),
+        // Equality filters of GET /api/tasks, newest first
+        @Index(name = "idx_tasks_assignee_created", columnList = "assigned_to_id, createdAt, id"),
+        @Index(name = "idx_tasks_creator_created",  columnList = "created_by_id, createdAt, id"),
+        @Index(name = "idx_tasks_status_created",   columnList = "status, createdAt, id"),
+        @Index(name = "idx_tasks_assignee_status",  columnList = "assigned_to_id, status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,8 +41,12 @@ import java.time.LocalDateTime;
 @Builder
 public class Task {
 
+    /** Ids handed out per id_blocks round trip; keep >= hibernate.jdbc.batch_size. */
+    public static final int ID_BLOCK = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_ids")
+    @TableGenerator(name = "task_ids", table = "id_blocks", pkColumnValue = "tasks", allocationSize = ID_BLOCK)
     private Long id;
 
     /** Short title of the task shown in list views. */
@@ -59,6 +79,24 @@ public class Task {
     /** Optional deadline — null means no hard due date. */
     private LocalDate deadline;
 
+    /**
+     * The deadline TaskDeadlineScheduler last announced this task overdue
+     * for; null when never. Written only by the scheduler's own UPDATE, so
+     * JPA saves leave it alone. Moving the deadline re-arms the announcement.
+     */
+    @Column(name = "overdue_announced_for", insertable = false, updatable = false)
+    private LocalDate overdueAnnouncedFor;
+
+    /**
+     * Optimistic-lock version, bumped on every write (JPA saves and the
+     * conditional UPDATE of PATCH /api/tasks/{id}/status alike). Primitive
+     * so rows that predate the column read as 0, not as new entities.
+     */
+    @Version
+    @Column(nullable = false)
+    @Builder.Default
+    private long version = 0L;
+
     /** Auto-set when the task row is first inserted. */
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
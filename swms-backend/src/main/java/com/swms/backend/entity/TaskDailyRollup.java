@@ -0,0 +1,52 @@
+package com.swms.backend.entity;
+
+import com.swms.backend.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * TaskDailyRollup — pre-aggregated task counts per day × department × status.
+ *
+ * One row per (creation day, assignee department, status). TaskService keeps
+ * the totals current in the same transaction as every task write, so the
+ * dashboards read a few hundred rollup rows instead of scanning `tasks`.
+ *
+ * department holds the assignee's department ("Unassigned" when blank) or
+ * an empty string when the task has no assignee at all.
+ */
+@Entity
+@Table(
+    name = "task_daily_rollup",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_task_rollup",
+        columnNames = {"rollup_date", "department", "status"}
+    )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Calendar day the counted tasks were created on. */
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false)
+    private String department;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    /** Number of tasks in this bucket. */
+    @Column(nullable = false)
+    private long total;
+}
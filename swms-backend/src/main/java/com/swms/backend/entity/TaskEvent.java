@@ -0,0 +1,68 @@
+package com.swms.backend.entity;
+
+import com.swms.backend.enums.TaskEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * TaskEvent — one row of the append-only task_events outbox.
+ *
+ * Written by TaskService in the same transaction as the task write it
+ * describes (JDBC batches, see TaskEventWriter), so a committed task
+ * change always has its event and a rolled-back one never does.
+ *
+ * seq is AUTO_INCREMENT, so writers never wait for each other, but
+ * events may commit out of seq order: readers only go up to
+ * TaskEventWriter.committedThrough(), below which no event can still
+ * appear.
+ *
+ * There is deliberately no foreign key to tasks — DELETED events outlive
+ * the task. assignee_id / previous_assignee_id let an employee read
+ * only the events of their own tasks (including the one that moved a
+ * task away from them).
+ */
+@Entity
+@Table(name = "task_events", indexes = {
+        // Compaction: later events of the same task
+        @Index(name = "idx_task_events_task",              columnList = "task_id, seq"),
+        // Employee change feed
+        @Index(name = "idx_task_events_assignee",          columnList = "assignee_id, seq"),
+        @Index(name = "idx_task_events_previous_assignee", columnList = "previous_assignee_id, seq"),
+        // Retention
+        @Index(name = "idx_task_events_created",           columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TaskEventType type;
+
+    /** Assignee after the change (before it, for DELETED). */
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    /** Assignee before the change, when the change reassigned the task. */
+    @Column(name = "previous_assignee_id")
+    private Long previousAssigneeId;
+
+    /** JSON of the task after the change (TaskSnapshot); null for DELETED. */
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.swms.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * TaskEventConsumer — how far a named downstream consumer of the task
+ * change feed (e.g. "bi-sync") has processed.
+ *
+ * One acknowledgement covers every event up to acked_seq, so a consumer
+ * acks once per batch it has handled. acked_seq never moves backwards.
+ * Compaction only drops superseded events that every consumer has acked.
+ */
+@Entity
+@Table(name = "task_event_consumers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEventConsumer {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "acked_seq", nullable = false)
+    private long ackedSeq;
+
+    @Column(name = "acked_at", nullable = false)
+    private LocalDateTime ackedAt;
+}
@@ -0,0 +1,14 @@
+package com.swms.backend.enums;
+
+/**
+ * AnalyticsMetric — what a range query (/api/analytics/series) counts.
+ *
+ *  TASKS      → tasks by creation day and current status;
+ *               department = the assignee's department
+ *  ATTENDANCE → attendance records by day and status;
+ *               department = the employee's department
+ */
+public enum AnalyticsMetric {
+    TASKS,
+    ATTENDANCE
+}
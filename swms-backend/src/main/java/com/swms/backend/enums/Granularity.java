@@ -0,0 +1,68 @@
+package com.swms.backend.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Granularity — bucket size of an analytics time series.
+ *
+ *  DAY     → one bucket per calendar day       label 2025-03-14
+ *  WEEK    → ISO weeks, starting on Monday      label 2025-W11
+ *  MONTH   → calendar months                    label 2025-03
+ *  QUARTER → calendar quarters (Jan/Apr/Jul/Oct) label 2025-Q1
+ *
+ * Each constant knows the SQL that maps a DATE to its bucket start
+ * (MySQL), so bucketing runs in the database, and the same rule in Java
+ * for filling empty buckets.
+ */
+public enum Granularity {
+
+    DAY {
+        public LocalDate bucketStart(LocalDate date) { return date; }
+        public LocalDate next(LocalDate start)       { return start.plusDays(1); }
+        public String label(LocalDate start)         { return start.toString(); }
+        public String sql(String date)               { return date; }
+    },
+
+    WEEK {
+        public LocalDate bucketStart(LocalDate date) { return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)); }
+        public LocalDate next(LocalDate start)       { return start.plusWeeks(1); }
+        public String label(LocalDate start) {
+            return String.format(Locale.ENGLISH, "%d-W%02d", start.get(IsoFields.WEEK_BASED_YEAR), start.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        }
+        public String sql(String date)               { return "DATE_SUB(" + date + ", INTERVAL WEEKDAY(" + date + ") DAY)"; }
+    },
+
+    MONTH {
+        public LocalDate bucketStart(LocalDate date) { return date.withDayOfMonth(1); }
+        public LocalDate next(LocalDate start)       { return start.plusMonths(1); }
+        public String label(LocalDate start)         { return String.format(Locale.ENGLISH, "%d-%02d", start.getYear(), start.getMonthValue()); }
+        public String sql(String date)               { return "DATE_SUB(" + date + ", INTERVAL DAYOFMONTH(" + date + ") - 1 DAY)"; }
+    },
+
+    QUARTER {
+        public LocalDate bucketStart(LocalDate date) {
+            return LocalDate.of(date.getYear(), (date.get(IsoFields.QUARTER_OF_YEAR) - 1) * 3 + 1, 1);
+        }
+        public LocalDate next(LocalDate start)       { return start.plusMonths(3); }
+        public String label(LocalDate start)         { return start.getYear() + "-Q" + start.get(IsoFields.QUARTER_OF_YEAR); }
+        public String sql(String date) {
+            return "DATE_ADD(MAKEDATE(YEAR(" + date + "), 1), INTERVAL QUARTER(" + date + ") - 1 QUARTER)";
+        }
+    };
+
+    /** First day of the bucket containing date. */
+    public abstract LocalDate bucketStart(LocalDate date);
+
+    /** First day of the bucket after the one starting at start. */
+    public abstract LocalDate next(LocalDate start);
+
+    /** Display label of the bucket starting at start. */
+    public abstract String label(LocalDate start);
+
+    /** SQL expression for the bucket start of a DATE expression. */
+    public abstract String sql(String date);
+}
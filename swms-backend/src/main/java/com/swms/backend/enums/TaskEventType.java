@@ -0,0 +1,14 @@
+package com.swms.backend.enums;
+
+/**
+ * TaskEventType — kind of change recorded in the task_events outbox.
+ *
+ *  CREATED → task inserted; payload is the new task
+ *  UPDATED → any field changed; payload is the task after the change
+ *  DELETED → task removed; no payload
+ */
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,30 @@
+package com.swms.backend.enums;
+
+/**
+ * TaskSort — sort key of GET /api/tasks.
+ *
+ *  CREATED_AT → Task.createdAt  (never null)
+ *  DEADLINE   → Task.deadline   (null = no deadline)
+ *  UPDATED_AT → Task.updatedAt
+ *
+ * Ties are broken by id, so each key is a total order a keyset cursor can
+ * resume from. Nulls sort lowest, as MySQL orders them, so the ORDER BY
+ * can still be read straight off the (key, id) index.
+ */
+public enum TaskSort {
+
+    CREATED_AT("createdAt"),
+    DEADLINE("deadline"),
+    UPDATED_AT("updatedAt");
+
+    private final String attribute;
+
+    TaskSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /** Task entity attribute behind this key. */
+    public String attribute() {
+        return attribute;
+    }
+}
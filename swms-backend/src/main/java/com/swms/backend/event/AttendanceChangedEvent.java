@@ -0,0 +1,13 @@
+package com.swms.backend.event;
+
+/**
+ * AttendanceChangedEvent — published by AttendanceService for every
+ * attendance write. Same before / after convention as TaskChangedEvent.
+ */
+public record AttendanceChangedEvent(AttendanceSnapshot before, AttendanceSnapshot after) {
+
+    /** The employee the record belongs to (attendance rows never change owner). */
+    public Long userId() {
+        return after != null ? after.userId() : before.userId();
+    }
+}
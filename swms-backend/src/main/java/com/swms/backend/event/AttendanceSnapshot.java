@@ -0,0 +1,27 @@
+package com.swms.backend.event;
+
+import com.swms.backend.entity.Attendance;
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.service.RollupService;
+
+import java.time.LocalDate;
+
+/**
+ * AttendanceSnapshot — immutable copy of the Attendance fields that derived
+ * views care about. department is the rollup bucket of the employee.
+ */
+public record AttendanceSnapshot(Long id,
+                                 Long userId,
+                                 String department,
+                                 LocalDate date,
+                                 AttendanceStatus status) {
+
+    public static AttendanceSnapshot of(Attendance record) {
+        return new AttendanceSnapshot(
+                record.getId(),
+                record.getUser().getId(),
+                RollupService.userDepartment(record.getUser()),
+                record.getDate(),
+                record.getStatus());
+    }
+}
@@ -0,0 +1,35 @@
+package com.swms.backend.event;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * TaskChangedEvent — published by TaskService for every task write.
+ *
+ *   create → before = null
+ *   delete → after  = null
+ *   update → both present
+ *
+ * Listeners that must only see committed data use
+ * {@code @TransactionalEventListener} (AFTER_COMMIT is the default phase).
+ */
+public record TaskChangedEvent(TaskSnapshot before, TaskSnapshot after) {
+
+    /** Creators of the task before and after the change (normally one id). */
+    public Set<Long> creatorIds() {
+        return ids(before != null ? before.creatorId() : null, after != null ? after.creatorId() : null);
+    }
+
+    /** Assignees before and after the change — two ids when the task was reassigned. */
+    public Set<Long> assigneeIds() {
+        return ids(before != null ? before.assigneeId() : null, after != null ? after.assigneeId() : null);
+    }
+
+    private static Set<Long> ids(Long first, Long second) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Stream.of(first, second).filter(Objects::nonNull).forEach(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,12 @@
+package com.swms.backend.event;
+
+import java.time.LocalDate;
+
+/**
+ * TaskOverdueEvent — published by TaskDeadlineScheduler once per task when
+ * it becomes overdue: its deadline passed while it was still open, or an
+ * open task was given a deadline already in the past.
+ *
+ * Published outside any transaction; listeners use a plain {@code @EventListener}.
+ */
+public record TaskOverdueEvent(Long taskId, Long creatorId, Long assigneeId, LocalDate deadline) {}
@@ -0,0 +1,46 @@
+package com.swms.backend.event;
+
+import com.swms.backend.entity.Task;
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.service.RollupService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * TaskSnapshot — immutable copy of the Task fields that derived views
+ * (rollups, caches, live dashboards) care about.
+ *
+ * Captured inside the write transaction, so listeners that run after
+ * commit never have to touch a detached entity or its LAZY associations.
+ *
+ * department is the rollup bucket of the assignee (see RollupService).
+ * title / description feed the search index (TaskSearchIndex), deadline
+ * the overdue scheduler (TaskDeadlineScheduler).
+ */
+public record TaskSnapshot(Long id,
+                           TaskStatus status,
+                           Long creatorId,
+                           Long assigneeId,
+                           String department,
+                           LocalDateTime createdAt,
+                           String title,
+                           String description,
+                           LocalDate deadline) {
+
+    public static TaskSnapshot of(Task task) {
+        User assignee = task.getAssignedTo();
+        User creator  = task.getCreatedBy();
+        return new TaskSnapshot(
+                task.getId(),
+                task.getStatus(),
+                creator != null ? creator.getId() : null,
+                assignee != null ? assignee.getId() : null,
+                RollupService.taskDepartment(assignee),
+                task.getCreatedAt(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getDeadline());
+    }
+}
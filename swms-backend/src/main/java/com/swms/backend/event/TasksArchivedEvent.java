@@ -0,0 +1,15 @@
+package com.swms.backend.event;
+
+import java.util.List;
+
+/**
+ * TasksArchivedEvent — published by TaskArchiveService after each committed
+ * chunk of closed tasks moved from tasks to tasks_archive.
+ *
+ * Archiving is not a task change: no TaskChangedEvent or change-feed
+ * event is recorded, and analytics keep counting the tasks. Only views
+ * of the hot table (e.g. TaskSearchIndex) drop them.
+ *
+ * Published outside any transaction; listeners use a plain {@code @EventListener}.
+ */
+public record TasksArchivedEvent(List<Long> taskIds) {}
@@ -0,0 +1,20 @@
+package com.swms.backend.event;
+
+import java.util.List;
+
+/**
+ * UserDeletedEvent — published by UserService when a user is deleted,
+ * inside the deleting transaction.
+ *
+ * tasks are the tasks the user was assigned or created and attendance
+ * their attendance records, as they were before the delete: User cascades
+ * to them, so they go without a TaskChangedEvent / AttendanceChangedEvent
+ * of their own. In-memory views drop them by id (e.g. TaskLoadBalancer)
+ * or take their state out of what they count (AnalyticsSnapshot).
+ */
+public record UserDeletedEvent(Long userId, List<TaskSnapshot> tasks, List<AttendanceSnapshot> attendance) {
+
+    public List<Long> taskIds() {
+        return tasks.stream().map(TaskSnapshot::id).toList();
+    }
+}
@@ -0,0 +1,9 @@
+package com.swms.backend.exception;
+
+/** The resource changed since the caller read it (stale version) — mapped to 409. */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,13 @@
 package com.swms.backend.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -19,8 +21,10 @@ import java.util.Map;
  * Handled:
  *   400 → Bean Validation failures (@Valid)
  *   400 → Business rule violations (duplicate email, etc.)
+ *   400 → Unparseable request parameters (bad enum / date)
  *   403 → Access denied (wrong role)
  *   404 → Resource not found
+ *   409 → Stale version / concurrent update
  *   500 → Unexpected errors
  */
 @RestControllerAdvice
@@ -46,6 +50,14 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage()));
     }
 
+    // ── 400 Bad Request: request parameter of the wrong type ────────────────
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'."));
+    }
+
     // ── 403 Forbidden: insufficient role ───────────────────────────────────
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<Map<String, String>> handleAccessDenied(
@@ -62,6 +74,22 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage()));
     }
 
+    // ── 409 Conflict: stale version (optimistic locking) ───────────────────
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(
+            ConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // ── 409 Conflict: concurrent JPA write to the same row ─────────────────
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(
+            OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "The record was changed by someone else. Reload and try again."));
+    }
+
     // ── 500 Internal Server Error ───────────────────────────────────────────
     // Returns "message" key so the frontend (AIChatWidget) can display the real error.
     // Previously used "error" key — frontend checks err.response?.data?.message.
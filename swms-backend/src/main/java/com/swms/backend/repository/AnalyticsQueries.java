@@ -0,0 +1,113 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.enums.AnalyticsMetric;
+import com.swms.backend.enums.Granularity;
+import com.swms.backend.enums.Role;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AnalyticsQueries — read-only aggregate SQL for the analytics endpoints.
+ *
+ * Runs on the dedicated analytics pool (see AnalyticsDataSourceConfig)
+ * rather than through JPA, so the queries can be issued concurrently
+ * without holding a persistence context or a CRUD-pool connection.
+ * Dashboard task / attendance figures come from AnalyticsSnapshot; the
+ * range series below serve arbitrary windows, bucketed in SQL.
+ */
+@Repository
+public class AnalyticsQueries {
+
+    /** Department bucket of users.department. Mirrors RollupService.departmentBucket(). */
+    private static final String DEPARTMENT_BUCKET =
+            "CASE WHEN u.department IS NULL OR TRIM(u.department) = '' THEN 'Unassigned' ELSE u.department END";
+
+    /** One user's tasks created in [from, toExclusive) of a task table; archived tasks count too. */
+    private static final String USER_TASKS = "SELECT created_at, status, assigned_to_id FROM %s "
+            + "WHERE assigned_to_id = :userId AND created_at >= :from AND created_at < :toExclusive";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public AnalyticsQueries(@Qualifier("analyticsDataSource") DataSource analyticsDataSource) {
+        this.jdbc = new NamedParameterJdbcTemplate(analyticsDataSource);
+    }
+
+    /** User totals per role. */
+    public Map<Role, Long> countUsersByRole() {
+        Map<Role, Long> counts = new EnumMap<>(Role.class);
+        jdbc.query("SELECT role, COUNT(*) AS total FROM users GROUP BY role",
+                rs -> { counts.put(Role.valueOf(rs.getString("role")), rs.getLong("total")); });
+        return counts;
+    }
+
+    /** User totals per raw department value (null / blank included, callers normalise). */
+    public Map<String, Long> countUsersByDepartment() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbc.query("SELECT department, COUNT(*) AS total FROM users GROUP BY department",
+                rs -> { counts.put(rs.getString("department"), rs.getLong("total")); });
+        return counts;
+    }
+
+    // ----------------------------------------------------------------
+    // RANGE SERIES
+    // ----------------------------------------------------------------
+
+    /**
+     * Bucket start → status → count for from ≤ day ≤ to, grouped in SQL.
+     *
+     * Without a user filter the daily rollup tables are read, so the cost
+     * scales with days × departments × statuses. With a user filter (not a
+     * rollup dimension) the base tables (tasks and tasks_archive) are
+     * grouped directly, using the assigned_to_id / user_id foreign-key index.
+     */
+    public Map<LocalDate, Map<String, Long>> sumSeries(AnalyticsMetric metric,
+                                                      Granularity granularity,
+                                                      LocalDate from,
+                                                      LocalDate to,
+                                                      String department,
+                                                      Long userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("toExclusive", to.plusDays(1))
+                .addValue("department", department)
+                .addValue("userId", userId);
+
+        String sql;
+        if (userId == null) {
+            String table = metric == AnalyticsMetric.TASKS ? "task_daily_rollup" : "attendance_daily_rollup";
+            sql = "SELECT " + granularity.sql("rollup_date") + " AS bucket, status, SUM(total) AS total "
+                    + "FROM " + table + " WHERE rollup_date BETWEEN :from AND :to "
+                    + (department != null ? "AND department = :department " : "")
+                    + "GROUP BY 1, 2";
+        } else if (metric == AnalyticsMetric.TASKS) {
+            sql = "SELECT " + granularity.sql("DATE(t.created_at)") + " AS bucket, t.status AS status, COUNT(*) AS total "
+                    + "FROM (" + USER_TASKS.formatted("tasks") + " UNION ALL " + USER_TASKS.formatted("tasks_archive") + ") t "
+                    + "JOIN users u ON u.id = t.assigned_to_id "
+                    + (department != null ? "WHERE " + DEPARTMENT_BUCKET + " = :department " : "")
+                    + "GROUP BY 1, 2";
+        } else {
+            sql = "SELECT " + granularity.sql("a.date") + " AS bucket, a.status AS status, COUNT(*) AS total "
+                    + "FROM attendance a JOIN users u ON u.id = a.user_id "
+                    + "WHERE a.user_id = :userId AND a.date BETWEEN :from AND :to "
+                    + (department != null ? "AND " + DEPARTMENT_BUCKET + " = :department " : "")
+                    + "GROUP BY 1, 2";
+        }
+
+        Map<LocalDate, Map<String, Long>> series = new HashMap<>();
+        jdbc.query(sql, params, rs -> {
+            series.computeIfAbsent(rs.getDate("bucket").toLocalDate(), key -> new LinkedHashMap<>())
+                    .merge(rs.getString("status"), rs.getLong("total"), Long::sum);
+        });
+        return series;
+    }
+}
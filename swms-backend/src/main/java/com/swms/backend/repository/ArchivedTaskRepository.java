@@ -0,0 +1,39 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.ArchivedTask;
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.TaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ArchivedTaskRepository - read side of tasks_archive (closed tasks moved
+ * out of tasks by TaskArchiveService). Rows are written by TaskArchiveWriter
+ * and removed with their user.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    long countByStatus(TaskStatus status);
+
+    long countByAssignedTo(User assignedTo);
+
+    long countByCreatedBy(User createdBy);
+
+    long countByCreatedByAndStatus(User createdBy, TaskStatus status);
+
+    boolean existsByTitle(String title);
+
+    /**
+     * Remove the archived tasks a user was assigned or created. User cascades
+     * to tasks only, so UserService.delete clears these first (the foreign
+     * keys would otherwise block the user's DELETE).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks_archive WHERE assigned_to_id = :userId OR created_by_id = :userId",
+            nativeQuery = true)
+    int deleteByUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,43 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.AttendanceDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * AttendanceDailyRollupRepository — maintains the attendance_daily_rollup
+ * table (AnalyticsQueries reads it).
+ */
+@Repository
+public interface AttendanceDailyRollupRepository extends JpaRepository<AttendanceDailyRollup, Long> {
+
+    /** Add delta (may be negative) to a single day × department × status bucket. */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_daily_rollup (rollup_date, department, status, total) "
+            + "VALUES (:day, :department, :status, :delta) "
+            + "ON DUPLICATE KEY UPDATE total = total + :delta", nativeQuery = true)
+    void increment(@Param("day") LocalDate day,
+                   @Param("department") String department,
+                   @Param("status") String status,
+                   @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM attendance_daily_rollup", nativeQuery = true)
+    int deleteAllRows();
+
+    /** Recompute every bucket from the attendance table. Must mirror RollupService.userDepartment(). */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_daily_rollup (rollup_date, department, status, total) "
+            + "SELECT a.date, "
+            + "CASE WHEN u.department IS NULL OR TRIM(u.department) = '' THEN 'Unassigned' "
+            + "ELSE u.department END, "
+            + "a.status, COUNT(*) "
+            + "FROM attendance a JOIN users u ON u.id = a.user_id "
+            + "GROUP BY 1, 2, 3", nativeQuery = true)
+    int rebuildFromAttendance();
+}
@@ -3,6 +3,7 @@ package com.swms.backend.repository;
 import com.swms.backend.entity.Attendance;
 import com.swms.backend.entity.User;
 import com.swms.backend.enums.AttendanceStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +13,18 @@ import java.util.Optional;
 
 /**
  * AttendanceRepository — Spring Data JPA repository for Attendance entities.
+ *
+ * Finders that return many users' records fetch the user in the same
+ * statement (@EntityGraph), since AttendanceService.toResponse() reads
+ * the user's name.
  */
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Attendance> findAll();
+
     /**
      * All attendance records for a specific employee, newest first is handled
      * by the service layer sorting. Used for the employee's own history view.
@@ -23,14 +32,15 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findByUser(User user);
 
     /**
-     * Single record for a user on a given date — enforces the one-record-per-day
-     * business rule before attempting an insert.
+     * Single record for a user on a given date. Check-in does not use it:
+     * AttendanceWriter's upsert enforces one record per day on its own.
      */
     Optional<Attendance> findByUserAndDate(User user, LocalDate date);
 
     /**
      * All records for a given date — used by managers to view team attendance.
      */
+    @EntityGraph(attributePaths = "user")
     List<Attendance> findByDate(LocalDate date);
 
     /**
@@ -42,6 +52,7 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     /**
      * Attendance records for all users within a date range.
      */
+    @EntityGraph(attributePaths = "user")
     List<Attendance> findByDateBetween(LocalDate from, LocalDate to);
 
     /**
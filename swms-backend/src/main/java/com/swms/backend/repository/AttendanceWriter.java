@@ -0,0 +1,67 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.Attendance;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Time;
+
+/**
+ * AttendanceWriter — check-in as one atomic statement on uk_user_date.
+ *
+ *   INSERT INTO attendance (...) VALUES (...)
+ *   ON DUPLICATE KEY UPDATE id = id
+ *
+ * A new (user, date) inserts the row; an existing one is left exactly as
+ * it was, with no duplicate-key error and no SELECT beforehand. Two
+ * check-ins racing for the same day both run it and exactly one inserts.
+ *
+ * Which one is told by the generated key: MySQL reports an AUTO_INCREMENT
+ * id only for a row the statement inserted (the no-op update reports 0,
+ * so the driver returns no key). The affected-row count can't tell them
+ * apart, since Connector/J counts found rather than changed rows unless
+ * useAffectedRows=true.
+ */
+@Repository
+public class AttendanceWriter {
+
+    private static final String UPSERT = "INSERT INTO attendance (user_id, date, check_in, check_out, status, notes) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+    private final JdbcTemplate jdbc;
+
+    public AttendanceWriter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Insert record unless its user already has one on its date; on insert
+     * the record gets its id. Runs in the caller's transaction.
+     *
+     * @return true if inserted, false if the (user, date) row already existed
+     */
+    public boolean insertIfAbsent(Attendance record) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT, Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, record.getUser().getId());
+            ps.setDate(2, Date.valueOf(record.getDate()));
+            ps.setTime(3, record.getCheckIn() != null ? Time.valueOf(record.getCheckIn()) : null);
+            ps.setTime(4, record.getCheckOut() != null ? Time.valueOf(record.getCheckOut()) : null);
+            ps.setString(5, record.getStatus().name());
+            ps.setString(6, record.getNotes());
+            return ps;
+        }, keys);
+
+        if (keys.getKeyList().isEmpty()) {
+            return false;
+        }
+        record.setId(keys.getKey().longValue());
+        return true;
+    }
+}
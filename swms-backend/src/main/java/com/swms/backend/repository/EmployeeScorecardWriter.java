@@ -0,0 +1,77 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.EmployeeScorecard;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * EmployeeScorecardWriter — batched upserts into employee_scorecard, and
+ * the single-row read that serves a cold start (see ScorecardService).
+ *
+ * Goes through JdbcTemplate rather than JPA so each chunk is sent as one
+ * JDBC batch, without loading or dirty-checking the existing rows.
+ */
+@Repository
+public class EmployeeScorecardWriter {
+
+    private static final String UPSERT = "INSERT INTO employee_scorecard (user_id, as_of, computed_at, "
+            + "task_status_counts, completed_last30, attendance_last30_total, attendance_last30_attended, "
+            + "weekly_completed, monthly_attendance_total, monthly_attendance_attended) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE as_of = VALUES(as_of), computed_at = VALUES(computed_at), "
+            + "task_status_counts = VALUES(task_status_counts), completed_last30 = VALUES(completed_last30), "
+            + "attendance_last30_total = VALUES(attendance_last30_total), "
+            + "attendance_last30_attended = VALUES(attendance_last30_attended), "
+            + "weekly_completed = VALUES(weekly_completed), "
+            + "monthly_attendance_total = VALUES(monthly_attendance_total), "
+            + "monthly_attendance_attended = VALUES(monthly_attendance_attended)";
+
+    private static final String FIND = "SELECT user_id, as_of, computed_at, task_status_counts, completed_last30, "
+            + "attendance_last30_total, attendance_last30_attended, weekly_completed, "
+            + "monthly_attendance_total, monthly_attendance_attended FROM employee_scorecard WHERE user_id = ?";
+
+    private final JdbcTemplate jdbc;
+
+    public EmployeeScorecardWriter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Upsert every scorecard, batchSize rows per JDBC batch. */
+    public void upsertAll(List<EmployeeScorecard> scorecards, int batchSize) {
+        jdbc.batchUpdate(UPSERT, scorecards, batchSize, (ps, card) -> {
+            ps.setLong(1, card.getUserId());
+            ps.setDate(2, Date.valueOf(card.getAsOf()));
+            ps.setTimestamp(3, Timestamp.valueOf(card.getComputedAt()));
+            ps.setString(4, card.getTaskStatusCounts());
+            ps.setLong(5, card.getCompletedLast30());
+            ps.setLong(6, card.getAttendanceLast30Total());
+            ps.setLong(7, card.getAttendanceLast30Attended());
+            ps.setString(8, card.getWeeklyCompleted());
+            ps.setString(9, card.getMonthlyAttendanceTotal());
+            ps.setString(10, card.getMonthlyAttendanceAttended());
+        });
+    }
+
+    /** The stored scorecard of one user, whatever day it was computed for. */
+    public Optional<EmployeeScorecard> find(long userId) {
+        return jdbc.query(FIND, (rs, rowNum) -> EmployeeScorecard.builder()
+                        .userId(rs.getLong("user_id"))
+                        .asOf(rs.getDate("as_of").toLocalDate())
+                        .computedAt(rs.getTimestamp("computed_at").toLocalDateTime())
+                        .taskStatusCounts(rs.getString("task_status_counts"))
+                        .completedLast30(rs.getLong("completed_last30"))
+                        .attendanceLast30Total(rs.getLong("attendance_last30_total"))
+                        .attendanceLast30Attended(rs.getLong("attendance_last30_attended"))
+                        .weeklyCompleted(rs.getString("weekly_completed"))
+                        .monthlyAttendanceTotal(rs.getString("monthly_attendance_total"))
+                        .monthlyAttendanceAttended(rs.getString("monthly_attendance_attended"))
+                        .build(), userId)
+                .stream()
+                .findFirst();
+    }
+}
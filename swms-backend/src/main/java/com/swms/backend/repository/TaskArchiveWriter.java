@@ -0,0 +1,63 @@
+package com.swms.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * TaskArchiveWriter — moves closed tasks from tasks to tasks_archive, one
+ * chunk per call.
+ *
+ * The chunk is picked with SELECT … FOR UPDATE, so its rows stay locked
+ * until the calling transaction ends: a concurrent edit either commits
+ * first (and the row, no longer closed or no longer old enough, is not
+ * picked) or waits and then finds the task gone. The rows are then copied
+ * with one INSERT … SELECT and removed with one DELETE, both by id.
+ */
+@Repository
+public class TaskArchiveWriter {
+
+    private static final String COLUMNS =
+            "id, title, description, status, assigned_to_id, created_by_id, deadline, version, created_at, updated_at";
+
+    private static final String PICK = "SELECT id FROM tasks "
+            + "WHERE status IN ('COMPLETED', 'CANCELLED') AND updated_at < :closedBefore "
+            + "LIMIT :limit FOR UPDATE";
+
+    private static final String COPY = "INSERT INTO tasks_archive (" + COLUMNS + ", archived_at) "
+            + "SELECT " + COLUMNS + ", :now FROM tasks WHERE id IN (:ids)";
+
+    private static final String REMOVE = "DELETE FROM tasks WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public TaskArchiveWriter(JdbcTemplate jdbc) {
+        this.jdbc = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    /**
+     * Move up to limit tasks that are COMPLETED / CANCELLED and were last
+     * updated before closedBefore. Must run inside a transaction.
+     *
+     * @return ids of the moved tasks (empty when none are left)
+     */
+    public List<Long> archiveChunk(LocalDateTime closedBefore, int limit) {
+        List<Long> ids = jdbc.queryForList(PICK, new MapSqlParameterSource()
+                .addValue("closedBefore", Timestamp.valueOf(closedBefore))
+                .addValue("limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        MapSqlParameterSource chunk = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbc.update(COPY, chunk);
+        jdbc.update(REMOVE, chunk);
+        return ids;
+    }
+}
@@ -0,0 +1,97 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.repository.projection.TaskListRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TaskBoardQueries — the status columns of GET /api/tasks/board in one statement.
+ *
+ * ROW_NUMBER() ranks each status partition by deadline (nulls last, then
+ * id) and COUNT(*) over the same partition carries the column total on
+ * every row, so only the first perStatus tasks of each column leave the
+ * database. Users are joined after the cut, for the surviving rows only.
+ */
+@Repository
+public class TaskBoardQueries {
+
+    private static final String BOARD = """
+            SELECT r.id, r.title, r.status, r.deadline, r.version, r.created_at, r.updated_at, r.total,
+                   r.assigned_to_id, a.name AS assignee_name, r.created_by_id, c.name AS creator_name
+            FROM (
+                SELECT t.id, t.title, t.status, t.deadline, t.version, t.created_at, t.updated_at,
+                       t.assigned_to_id, t.created_by_id,
+                       ROW_NUMBER() OVER (PARTITION BY t.status
+                                          ORDER BY t.deadline IS NULL, t.deadline, t.id) AS rank_in_status,
+                       COUNT(*) OVER (PARTITION BY t.status) AS total
+                FROM tasks t
+                WHERE %s
+            ) r
+            LEFT JOIN users a ON a.id = r.assigned_to_id
+            LEFT JOIN users c ON c.id = r.created_by_id
+            WHERE r.rank_in_status <= :perStatus
+            ORDER BY r.status, r.rank_in_status
+            """;
+
+    /** Tasks per status (every status present, 0 when empty) and each column's first rows, in order. */
+    public record Board(Map<TaskStatus, Long> totals, Map<TaskStatus, List<TaskListRow>> columns) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public TaskBoardQueries(JdbcTemplate jdbc) {
+        this.jdbc = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    /**
+     * @param assigneeId only tasks assigned to this user, or null
+     * @param creatorId  only tasks created by this user, or null
+     * @param perStatus  tasks returned per column (at least 1)
+     */
+    public Board findBoard(Long assigneeId, Long creatorId, int perStatus) {
+        List<String> where = new ArrayList<>(List.of("1 = 1"));
+        MapSqlParameterSource params = new MapSqlParameterSource("perStatus", perStatus);
+        if (assigneeId != null) {
+            where.add("t.assigned_to_id = :assigneeId");
+            params.addValue("assigneeId", assigneeId);
+        }
+        if (creatorId != null) {
+            where.add("t.created_by_id = :creatorId");
+            params.addValue("creatorId", creatorId);
+        }
+
+        Map<TaskStatus, Long> totals = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, List<TaskListRow>> columns = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            totals.put(status, 0L);
+            columns.put(status, new ArrayList<>());
+        }
+        jdbc.query(BOARD.formatted(String.join(" AND ", where)), params, rs -> {
+            TaskStatus status = TaskStatus.valueOf(rs.getString("status"));
+            totals.put(status, rs.getLong("total"));
+            columns.get(status).add(new TaskListRow(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    null,
+                    status,
+                    rs.getObject("assigned_to_id", Long.class),
+                    rs.getString("assignee_name"),
+                    rs.getObject("created_by_id", Long.class),
+                    rs.getString("creator_name"),
+                    rs.getObject("deadline", LocalDate.class),
+                    rs.getLong("version"),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class)));
+        });
+        return new Board(totals, columns);
+    }
+}
@@ -0,0 +1,49 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.TaskDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * TaskDailyRollupRepository — maintains the task_daily_rollup table
+ * (AnalyticsQueries reads it).
+ *
+ * Writes are native MySQL upserts so concurrent task writes never race on
+ * a read-modify-write of the same bucket.
+ */
+@Repository
+public interface TaskDailyRollupRepository extends JpaRepository<TaskDailyRollup, Long> {
+
+    /** Add delta (may be negative) to a single day × department × status bucket. */
+    @Modifying
+    @Query(value = "INSERT INTO task_daily_rollup (rollup_date, department, status, total) "
+            + "VALUES (:day, :department, :status, :delta) "
+            + "ON DUPLICATE KEY UPDATE total = total + :delta", nativeQuery = true)
+    void increment(@Param("day") LocalDate day,
+                   @Param("department") String department,
+                   @Param("status") String status,
+                   @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_daily_rollup", nativeQuery = true)
+    int deleteAllRows();
+
+    /** Recompute every bucket from tasks and tasks_archive. Must mirror RollupService.taskDepartment(). */
+    @Modifying
+    @Query(value = "INSERT INTO task_daily_rollup (rollup_date, department, status, total) "
+            + "SELECT DATE(t.created_at), "
+            + "CASE WHEN t.assigned_to_id IS NULL THEN '' "
+            + "WHEN u.department IS NULL OR TRIM(u.department) = '' THEN 'Unassigned' "
+            + "ELSE u.department END, "
+            + "t.status, COUNT(*) "
+            + "FROM (SELECT created_at, status, assigned_to_id FROM tasks "
+            + "UNION ALL SELECT created_at, status, assigned_to_id FROM tasks_archive) t "
+            + "LEFT JOIN users u ON u.id = t.assigned_to_id "
+            + "GROUP BY 1, 2, 3", nativeQuery = true)
+    int rebuildFromTasks();
+}
@@ -0,0 +1,24 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.TaskEventConsumer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/** TaskEventConsumerRepository — acknowledgements of the task change feed. */
+public interface TaskEventConsumerRepository extends JpaRepository<TaskEventConsumer, String> {
+
+    /** Register the consumer or move its acked seq forward (never back). */
+    @Modifying
+    @Query(value = "INSERT INTO task_event_consumers (name, acked_seq, acked_at) VALUES (:name, :seq, :now) "
+            + "ON DUPLICATE KEY UPDATE acked_seq = GREATEST(acked_seq, VALUES(acked_seq)), "
+            + "acked_at = VALUES(acked_at)", nativeQuery = true)
+    void acknowledge(@Param("name") String name, @Param("seq") long seq, @Param("now") LocalDateTime now);
+
+    /** Lowest acked seq over all consumers, or null when there are none. */
+    @Query("select min(c.ackedSeq) from TaskEventConsumer c")
+    Long findMinAckedSeq();
+}
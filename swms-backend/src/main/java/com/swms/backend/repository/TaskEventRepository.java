@@ -0,0 +1,47 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.TaskEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * TaskEventRepository — reads and clean-up of the task_events outbox.
+ * Appends go through TaskEventWriter.
+ */
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+    /** Next events after since, up to through, oldest first. */
+    @Query("select e from TaskEvent e where e.seq > :since and e.seq <= :through order by e.seq")
+    List<TaskEvent> findBetween(@Param("since") long since, @Param("through") long through, Pageable page);
+
+    /** Next events after since, up to through, of tasks the user is or was assigned to, oldest first. */
+    @Query("select e from TaskEvent e where e.seq > :since and e.seq <= :through "
+            + "and (e.assigneeId = :userId or e.previousAssigneeId = :userId) order by e.seq")
+    List<TaskEvent> findForAssignee(@Param("since") long since, @Param("through") long through,
+                                    @Param("userId") Long userId, Pageable page);
+
+    @Query("select max(e.seq) from TaskEvent e where e.createdAt < :before")
+    Long findLastSeqBefore(@Param("before") LocalDateTime before);
+
+    /** Up to chunk events at or below bound that a later event of the same task supersedes. */
+    @Query(value = "SELECT e.seq FROM task_events e WHERE e.seq <= :bound AND EXISTS "
+            + "(SELECT 1 FROM task_events l WHERE l.task_id = e.task_id AND l.seq > e.seq) "
+            + "LIMIT :chunk", nativeQuery = true)
+    List<Long> findSuperseded(@Param("bound") long bound, @Param("chunk") int chunk);
+
+    @Modifying
+    @Query("delete from TaskEvent e where e.seq in :seqs")
+    int deleteBySeqs(@Param("seqs") Collection<Long> seqs);
+
+    /** Delete up to chunk events at or below bound. */
+    @Modifying
+    @Query(value = "DELETE FROM task_events WHERE seq <= :bound LIMIT :chunk", nativeQuery = true)
+    int deleteThrough(@Param("bound") long bound, @Param("chunk") int chunk);
+}
@@ -0,0 +1,157 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.TaskEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * TaskEventWriter — appends to the task_events outbox in JDBC batches.
+ *
+ * seq is the AUTO_INCREMENT key of task_events, so concurrent writers take
+ * no shared lock: each gets its seqs from InnoDB when it inserts. The
+ * price is that seqs commit out of order — a transaction holding seq 10
+ * may commit after the one holding 11 — so readers stop at a watermark:
+ *
+ *   committedThrough()  highest seq with no open gap at or below it
+ *
+ * A gap is a seq that is missing from the table: not committed yet, rolled
+ * back, or removed by cleanup. It counts as open while the event above it
+ * is younger than app.tasks.changes.gap-grace-ms; after that whatever left
+ * the gap is taken to have rolled back. The grace must therefore outlast
+ * the time from append to commit, which callers keep short by appending
+ * last in the transaction. A rolled-back seq holds readers back for at
+ * most the grace.
+ *
+ * "task_events_purged" in id_blocks records the highest seq removed by
+ * retention (see TaskChangeFeedService). Startup runs once ddl-auto is
+ * done (@DependsOn), before the first request.
+ */
+@Slf4j
+@Repository
+@DependsOn("entityManagerFactory")
+public class TaskEventWriter {
+
+    private static final String PURGED = "task_events_purged";
+    private static final int BATCH_SIZE = 500;
+    /** Events read per watermark from the first young one; a longer run only delays it to the next read. */
+    private static final int RECENT_LIMIT = 10_000;
+
+    private static final String INSERT = "INSERT INTO task_events (task_id, type, assignee_id, "
+            + "previous_assignee_id, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final long gapGraceMs;
+
+    public TaskEventWriter(JdbcTemplate jdbc,
+                           @Value("${app.tasks.changes.gap-grace-ms:5000}") long gapGraceMs) {
+        this.jdbc       = jdbc;
+        this.gapGraceMs = gapGraceMs;
+    }
+
+    @PostConstruct
+    void prepare() {
+        if (!seqIsAutoIncrement()) {
+            // Tables created while seqs came from id_blocks; MySQL starts the counter above MAX(seq)
+            jdbc.execute("ALTER TABLE task_events MODIFY seq BIGINT NOT NULL AUTO_INCREMENT");
+            log.info("TaskEventWriter: task_events.seq is now AUTO_INCREMENT.");
+        }
+        int updated = jdbc.update("UPDATE id_blocks SET next_val = GREATEST(next_val, 0) WHERE sequence_name = ?",
+                PURGED);
+        if (updated == 0) {
+            jdbc.update("INSERT INTO id_blocks (sequence_name, next_val) VALUES (?, ?)", PURGED, 0);
+        }
+    }
+
+    /** Insert events, seqs ascending in list order. Must run inside the write transaction. */
+    public void appendAll(List<TaskEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(INSERT, events, BATCH_SIZE, (ps, event) -> {
+            ps.setLong(1, event.getTaskId());
+            ps.setString(2, event.getType().name());
+            setNullableLong(ps, 3, event.getAssigneeId());
+            setNullableLong(ps, 4, event.getPreviousAssigneeId());
+            ps.setString(5, event.getPayload());
+            ps.setTimestamp(6, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+
+    /**
+     * Highest seq such that every lower event is committed or never will be
+     * (see the class comment); readers never return an event above it.
+     */
+    public long committedThrough() {
+        Timestamp settled = Timestamp.valueOf(LocalDateTime.now().minusNanos(gapGraceMs * 1_000_000));
+        Long firstYoung = jdbc.queryForObject("SELECT MIN(seq) FROM task_events WHERE created_at > ?",
+                Long.class, settled);
+        if (firstYoung == null) {
+            // Every event has settled, and so has every gap
+            return Math.max(newestSeq(), purgedThrough());
+        }
+        Long below = jdbc.queryForObject("SELECT MAX(seq) FROM task_events WHERE seq < ?", Long.class, firstYoung);
+        long from = Math.max(below != null ? below : 0, purgedThrough());
+        return jdbc.query("SELECT seq, created_at FROM task_events WHERE seq >= ? ORDER BY seq LIMIT ?",
+                (ResultSetExtractor<Long>) rs -> {
+                    long through = from;
+                    while (rs.next()) {
+                        long seq = rs.getLong(1);
+                        if (seq != through + 1 && rs.getTimestamp(2).after(settled)) {
+                            break;
+                        }
+                        through = seq;
+                    }
+                    return through;
+                }, firstYoung, RECENT_LIMIT);
+    }
+
+    /** Highest seq in the table, committed or not (0 when empty). */
+    public long newestSeq() {
+        return jdbc.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM task_events", Long.class);
+    }
+
+    /** Highest seq retention has deleted (0 when none). */
+    public long purgedThrough() {
+        return jdbc.queryForObject("SELECT next_val FROM id_blocks WHERE sequence_name = ?", Long.class, PURGED);
+    }
+
+    /** Record that retention deleted every event up to seq. */
+    public void markPurgedThrough(long seq) {
+        jdbc.update("UPDATE id_blocks SET next_val = GREATEST(next_val, ?) WHERE sequence_name = ?", seq, PURGED);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private boolean seqIsAutoIncrement() {
+        return jdbc.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet column = connection.getMetaData()
+                    .getColumns(connection.getCatalog(), null, "task_events", "seq")) {
+                return !column.next() || "YES".equals(column.getString("IS_AUTOINCREMENT"));
+            }
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
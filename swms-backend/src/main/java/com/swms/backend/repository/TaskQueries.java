@@ -0,0 +1,241 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.ArchivedTask;
+import com.swms.backend.entity.Task;
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.TaskSort;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.repository.projection.TaskListRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * TaskQueries — filtered, keyset-paginated task lists behind GET /api/tasks
+ * (and the rows of GET /api/tasks/search).
+ *
+ * Pages are ordered by (sort key, id) and continue from the last row
+ * seen instead of skipping an OFFSET, e.g. for createdAt descending:
+ *
+ *   WHERE created_at < :at OR (created_at = :at AND id < :id)
+ *   ORDER BY created_at DESC, id DESC
+ *
+ * Reading backwards flips both (callers reverse the rows). Nulls count as
+ * the lowest key (see TaskSort). Each sort key has a (key, id) index on
+ * tasks, and the common equality filters have (filter, created_at, id)
+ * indexes, so a deep page costs what the first page does.
+ *
+ * Lists select TaskListRow (a constructor expression) rather than Task:
+ * one statement with both users' ids and names left-joined in, and
+ * without the TEXT description column unless the caller shows it — no
+ * entities, no password hashes, nothing for the persistence context to
+ * track.
+ *
+ * With includeArchived the same page is also read from tasks_archive
+ * (ArchivedTask, same attributes and indexes) and the two are merged in
+ * (key, id) order: the next limit rows of the union are among the first
+ * limit rows of either table, so the cursor works unchanged.
+ */
+@Repository
+public class TaskQueries {
+
+    /** Department bucket of users without one. Mirrors RollupService.UNASSIGNED. */
+    private static final String UNASSIGNED = "Unassigned";
+
+    private static final List<TaskStatus> CLOSED = List.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+
+    private final EntityManager entityManager;
+
+    public TaskQueries(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Filters of a task page; null fields (and overdue = false) don't filter.
+     * department is a rollup bucket ("Unassigned" = null / blank).
+     */
+    public record Filter(Long assigneeId,
+                         Long creatorId,
+                         TaskStatus status,
+                         String department,
+                         LocalDate deadlineFrom,
+                         LocalDate deadlineTo,
+                         boolean overdue,
+                         LocalDate today) {}
+
+    /**
+     * Up to limit matching tasks next to the cursor (afterValue, afterId),
+     * or from the start of the order when afterId is null.
+     *
+     * @param ascending       true → rows after the cursor in ascending (key, id) order,
+     *                        false → rows before it, in descending order
+     * @param includeArchived true → tasks_archive as well as tasks
+     */
+    public List<TaskListRow> findPage(Filter filter, TaskSort sort, boolean ascending,
+                                      Object afterValue, Long afterId, int limit,
+                                      boolean withDescription, boolean includeArchived) {
+        List<TaskListRow> rows = findPage(Task.class, filter, sort, ascending, afterValue, afterId, limit,
+                withDescription);
+        if (!includeArchived) {
+            return rows;
+        }
+        List<TaskListRow> archived = findPage(ArchivedTask.class, filter, sort, ascending, afterValue, afterId, limit,
+                withDescription);
+        // A task archived between the two reads comes back from both, as the same row
+        return Stream.concat(rows.stream(), archived.stream())
+                .distinct()
+                .sorted(order(sort, ascending))
+                .limit(limit)
+                .toList();
+    }
+
+    /** List rows of the given tasks, in no particular order. */
+    public List<TaskListRow> findByIds(Collection<Long> ids, boolean withDescription) {
+        return findByIds(Task.class, ids, withDescription);
+    }
+
+    /** List row of an archived task, with its description. */
+    public Optional<TaskListRow> findArchived(Long id) {
+        return findByIds(ArchivedTask.class, List.of(id), true).stream().findFirst();
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** One page of entity (Task or ArchivedTask). */
+    private <T> List<TaskListRow> findPage(Class<T> entity, Filter filter, TaskSort sort, boolean ascending,
+                                           Object afterValue, Long afterId, int limit,
+                                           boolean withDescription) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskListRow> query = cb.createQuery(TaskListRow.class);
+        Root<T> task = query.from(entity);
+        Join<T, User> assignee = task.join("assignedTo", JoinType.LEFT);
+        Join<T, User> creator = task.join("createdBy", JoinType.LEFT);
+        Path<Object> key = task.get(sort.attribute());
+        Path<Long> id = task.get("id");
+
+        List<Predicate> where = filters(cb, task, assignee, filter);
+        if (afterId != null) {
+            where.add(beyond(cb, key, id, afterValue, afterId, ascending));
+        }
+        query.select(row(cb, task, assignee, creator, withDescription))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(ascending
+                        ? List.of(cb.asc(key), cb.asc(id))
+                        : List.of(cb.desc(key), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <T> List<TaskListRow> findByIds(Class<T> entity, Collection<Long> ids, boolean withDescription) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskListRow> query = cb.createQuery(TaskListRow.class);
+        Root<T> task = query.from(entity);
+        Join<T, User> assignee = task.join("assignedTo", JoinType.LEFT);
+        Join<T, User> creator = task.join("createdBy", JoinType.LEFT);
+        query.select(row(cb, task, assignee, creator, withDescription))
+                .where(task.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /** new TaskListRow(...) over the task and its left-joined users. */
+    private static CompoundSelection<TaskListRow> row(CriteriaBuilder cb, Root<?> task,
+                                                      Join<?, User> assignee, Join<?, User> creator,
+                                                      boolean withDescription) {
+        return cb.construct(TaskListRow.class,
+                task.get("id"),
+                task.get("title"),
+                withDescription ? task.get("description") : cb.nullLiteral(String.class),
+                task.get("status"),
+                assignee.get("id"),
+                assignee.get("name"),
+                creator.get("id"),
+                creator.get("name"),
+                task.get("deadline"),
+                task.get("version"),
+                task.get("createdAt"),
+                task.get("updatedAt"));
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<?> task, Join<?, User> assignee,
+                                           Filter filter) {
+        List<Predicate> where = new ArrayList<>();
+        if (filter.assigneeId() != null) {
+            where.add(cb.equal(task.get("assignedTo").get("id"), filter.assigneeId()));
+        }
+        if (filter.creatorId() != null) {
+            where.add(cb.equal(task.get("createdBy").get("id"), filter.creatorId()));
+        }
+        if (filter.status() != null) {
+            where.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.department() != null) {
+            // Only assigned tasks have a department bucket, even "Unassigned"
+            Path<String> department = assignee.get("department");
+            where.add(UNASSIGNED.equals(filter.department())
+                    ? cb.and(cb.isNotNull(assignee.get("id")),
+                             cb.or(cb.isNull(department), cb.equal(cb.trim(department), "")))
+                    : cb.equal(department, filter.department()));
+        }
+        Path<LocalDate> deadline = task.get("deadline");
+        if (filter.deadlineFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(deadline, filter.deadlineFrom()));
+        }
+        if (filter.deadlineTo() != null) {
+            where.add(cb.lessThanOrEqualTo(deadline, filter.deadlineTo()));
+        }
+        if (filter.overdue()) {
+            where.add(cb.lessThan(deadline, filter.today()));
+            where.add(cb.not(task.get("status").in(CLOSED)));
+        }
+        return where;
+    }
+
+    /** The (key, id) order of findPage, in Java, nulls lowest. */
+    private static Comparator<TaskListRow> order(TaskSort sort, boolean ascending) {
+        Comparator<TaskListRow> byKey = switch (sort) {
+            case CREATED_AT -> Comparator.comparing(TaskListRow::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case DEADLINE   -> Comparator.comparing(TaskListRow::deadline, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case UPDATED_AT -> Comparator.comparing(TaskListRow::updatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+        };
+        Comparator<TaskListRow> order = byKey.thenComparingLong(TaskListRow::id);
+        return ascending ? order : order.reversed();
+    }
+
+    /** (key, id) strictly after (value, afterId) in ascending order — or strictly before it — with nulls lowest. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Path<Object> keyPath, Path<Long> id,
+                                    Object value, long afterId, boolean after) {
+        Path<Comparable> key = (Path) keyPath;
+        if (value == null) {
+            Predicate tie = cb.and(cb.isNull(key), after ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId));
+            return after ? cb.or(tie, cb.isNotNull(key)) : tie;
+        }
+        Comparable bound = (Comparable) value;
+        Predicate tie = cb.and(cb.equal(key, bound), after ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId));
+        return after
+                ? cb.or(cb.greaterThan(key, bound), tie)
+                : cb.or(cb.lessThan(key, bound), tie, cb.isNull(key));
+    }
+}
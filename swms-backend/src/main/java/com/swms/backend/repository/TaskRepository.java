@@ -3,22 +3,44 @@ package com.swms.backend.repository;
 import com.swms.backend.entity.Task;
 import com.swms.backend.entity.User;
 import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.repository.projection.TaskStatusRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * TaskRepository - Spring Data JPA repository for Task entities.
+ *
+ * The list finders fetch assignedTo and createdBy in the same statement
+ * (@EntityGraph): their callers read both users' names, which would
+ * otherwise cost one query per distinct user. GET /api/tasks pages through
+ * TaskQueries instead.
  */
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"assignedTo", "createdBy"})
+    List<Task> findAll();
+
+    @EntityGraph(attributePaths = {"assignedTo", "createdBy"})
     List<Task> findByAssignedTo(User assignedTo);
 
+    @EntityGraph(attributePaths = {"assignedTo", "createdBy"})
     List<Task> findByCreatedBy(User createdBy);
 
+    /** One IN query for the tasks of a bulk update. */
+    @EntityGraph(attributePaths = {"assignedTo", "createdBy"})
+    List<Task> findByIdIn(Collection<Long> ids);
+
     List<Task> findByStatus(TaskStatus status);
 
     List<Task> findByAssignedToAndStatus(User assignedTo, TaskStatus status);
@@ -38,4 +60,29 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedToAndCreatedAtBetween(User assignedTo, LocalDateTime from, LocalDateTime to);
 
     boolean existsByTitle(String title);
+
+    // ----------------------------------------------------------------
+    // Status transitions — PATCH /api/tasks/{id}/status, no entity loaded.
+    // ----------------------------------------------------------------
+
+    @Query("select t.id as id, t.title as title, t.description as description, t.status as status, "
+            + "t.version as version, t.deadline as deadline, t.createdAt as createdAt, "
+            + "c.id as creatorId, c.name as creatorName, a.id as assigneeId, a.name as assigneeName, "
+            + "a.department as assigneeDepartment "
+            + "from Task t left join t.createdBy c left join t.assignedTo a where t.id = :id")
+    Optional<TaskStatusRow> findStatusRow(@Param("id") Long id);
+
+    /**
+     * Move a task to status if it is still at version (and, when assigneeId
+     * is not null, still assigned to that user). Returns 0 when it is not.
+     */
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.updatedAt = :now "
+            + "where t.id = :id and t.version = :version "
+            + "and (:assigneeId is null or t.assignedTo.id = :assigneeId)")
+    int updateStatusIfVersion(@Param("id") Long id,
+                              @Param("version") long version,
+                              @Param("assigneeId") Long assigneeId,
+                              @Param("status") TaskStatus status,
+                              @Param("now") LocalDateTime now);
 }
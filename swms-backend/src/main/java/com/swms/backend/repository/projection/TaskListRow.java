@@ -0,0 +1,24 @@
+package com.swms.backend.repository.projection;
+
+import com.swms.backend.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * TaskListRow - the TaskResponse columns of one task, with its users' ids
+ * and names, built by a JPQL constructor expression in TaskQueries.
+ * description is null unless the list asked for it.
+ */
+public record TaskListRow(Long id,
+                          String title,
+                          String description,
+                          TaskStatus status,
+                          Long assignedToId,
+                          String assignedToName,
+                          Long createdById,
+                          String createdByName,
+                          LocalDate deadline,
+                          long version,
+                          LocalDateTime createdAt,
+                          LocalDateTime updatedAt) {}
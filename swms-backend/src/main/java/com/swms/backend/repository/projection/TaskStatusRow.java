@@ -0,0 +1,37 @@
+package com.swms.backend.repository.projection;
+
+import com.swms.backend.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * TaskStatusRow - one task with its users' ids, names and the assignee's
+ * department, read in a single statement for status transitions.
+ */
+public interface TaskStatusRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    TaskStatus getStatus();
+
+    long getVersion();
+
+    LocalDate getDeadline();
+
+    LocalDateTime getCreatedAt();
+
+    Long getCreatorId();
+
+    String getCreatorName();
+
+    Long getAssigneeId();
+
+    String getAssigneeName();
+
+    String getAssigneeDepartment();
+}
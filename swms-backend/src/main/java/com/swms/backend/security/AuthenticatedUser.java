@@ -0,0 +1,36 @@
+package com.swms.backend.security;
+
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.Role;
+
+import java.security.Principal;
+
+/**
+ * AuthenticatedUser — the caller, as installed by JwtFilter from the token claims.
+ *
+ * Controllers take it via @AuthenticationPrincipal and hand it to the
+ * services, which read the caller's id / role / department from here
+ * instead of looking the user up by email on every request. Where an
+ * entity is needed only as a foreign key, use
+ * UserRepository.getReferenceById(id()) (no SELECT).
+ *
+ * The claims are as of login: a role or department change takes effect
+ * when the user next signs in, as the role always has.
+ *
+ * getName() is the email, so Authentication.getName() is unchanged.
+ */
+public record AuthenticatedUser(Long id, String email, Role role, String department) implements Principal {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.getDepartment());
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean is(Role role) {
+        return this.role == role;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JwtFilter — intercepts every HTTP request exactly ONCE and validates the JWT.
@@ -22,15 +23,17 @@ import java.util.List;
  * │       1. Read "Authorization" header                            │
  * │       2. If missing / not Bearer → skip (Spring Security        │
  * │          will reject unauthenticated calls to protected routes) │
- * │       3. Validate token signature + expiry via JwtUtil           │
- * │       4. Extract email + role from token claims                 │
- * │       5. Create UsernamePasswordAuthenticationToken with role   │
- * │          and set it on SecurityContextHolder                    │
+ * │       3. Validate token signature + expiry via JwtUtil.parse()  │
+ * │       4. Turn the claims into an AuthenticatedUser              │
+ * │       5. Create UsernamePasswordAuthenticationToken with it as  │
+ * │          principal + role, set it on SecurityContextHolder      │
  * │       6. chain.doFilter() → request proceeds to controller      │
  * └─────────────────────────────────────────────────────────────────┘
  *
- * We do NOT call UserDetailsService here — role is already in the token,
- * avoiding an extra DB round-trip on every authenticated API call.
+ * We do NOT call UserDetailsService here — id, role and department are
+ * already in the token, and services take them from the principal
+ * (@AuthenticationPrincipal AuthenticatedUser), so an authenticated API
+ * call costs no user lookup at all.
  * If you need always-fresh DB state (e.g., account suspension), swap to
  * loading UserDetails from CustomUserDetailsService instead.
  */
@@ -61,24 +64,21 @@ public class JwtFilter extends OncePerRequestFilter {
         // ── 2. Extract raw token ──
         String token = header.substring(7);
 
-        // ── 3. Validate signature + expiry ──
-        if (!jwtUtil.isTokenValid(token)) {
+        // ── 3. Validate signature + expiry, 4. read the claims ──
+        Optional<AuthenticatedUser> caller = jwtUtil.parse(token);
+        if (caller.isEmpty()) {
             chain.doFilter(request, response);
             return;
         }
 
-        // ── 4. Extract claims ──
-        String email = jwtUtil.extractEmail(token);
-        String role  = jwtUtil.extractRole(token);   // e.g. "ADMIN"
-
         // ── 5. Build authority with "ROLE_" prefix (Spring Security convention) ──
         //       @PreAuthorize("hasRole('ADMIN')") checks for "ROLE_ADMIN"
         SimpleGrantedAuthority authority =
-                new SimpleGrantedAuthority("ROLE_" + role);
+                new SimpleGrantedAuthority("ROLE_" + caller.get().role().name());
 
         UsernamePasswordAuthenticationToken auth =
                 new UsernamePasswordAuthenticationToken(
-                        email,          // principal (used in controllers via Authentication.getName())
+                        caller.get(),   // principal — @AuthenticationPrincipal AuthenticatedUser; getName() is the email
                         null,           // credentials — not needed post-authentication
                         List.of(authority)
                 );
@@ -1,5 +1,6 @@
 package com.swms.backend.security;
 
+import com.swms.backend.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +8,7 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
 
 /**
  * JwtUtil — central JWT operations: generate, validate, extract claims.
@@ -18,9 +20,10 @@ import java.util.Date;
  * │ 3. Client stores token and sends it as:                  │
  * │       Authorization: Bearer <token>                      │
  * │ 4. JwtFilter intercepts every request and calls          │
- * │    JwtUtil.isTokenValid() before Spring Security acts.   │
- * │ 5. extractEmail() + extractRole() pull the claims so     │
- * │    Spring Security knows WHO is making the request.      │
+ * │    JwtUtil.parse() before Spring Security acts.          │
+ * │ 5. parse() verifies the token once and turns its claims  │
+ * │    into an AuthenticatedUser, so Spring Security (and    │
+ * │    the services) know WHO is making the request.         │
  * └──────────────────────────────────────────────────────────┘
  *
  * The secret key is loaded from application.properties so it can be
@@ -38,12 +41,16 @@ public class JwtUtil {
     /** Token lifetime in milliseconds — default 24 h (86_400_000 ms). */
     private final long expirationMs;
 
+    /** Verifying parser — immutable and thread-safe, so built once. */
+    private final JwtParser parser;
+
     public JwtUtil(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.expiration-ms}") long expirationMs) {
         // Keys.hmacShaKeyFor() validates key length and creates the SecretKey.
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     // ----------------------------------------------------------------
@@ -51,21 +58,21 @@ public class JwtUtil {
     // ----------------------------------------------------------------
 
     /**
-     * Build a signed JWT containing the user's email (subject) and role.
+     * Build a signed JWT carrying everything the API needs to know about the
+     * caller, so no request has to look the user up again.
      *
      * Token anatomy:
      *   Header  : {"alg":"HS256","typ":"JWT"}
      *   Payload : {"sub":"user@example.com","role":"EMPLOYEE",
-     *              "iat":..., "exp":...}
+     *              "uid":7,"dept":"Engineering","iat":..., "exp":...}
      *   Signature: HMAC-SHA256(base64(header) + "." + base64(payload), key)
-     *
-     * @param email the user's unique login identifier
-     * @param role  the user's role string ("ADMIN" / "MANAGER" / "EMPLOYEE")
      */
-    public String generateToken(String email, String role) {
+    public String generateToken(AuthenticatedUser user) {
         return Jwts.builder()
-                .subject(email)
-                .claim("role", role)           // custom claim — read in JwtFilter
+                .subject(user.email())
+                .claim("role", user.role().name())   // custom claims — read in parse()
+                .claim("uid", user.id())
+                .claim("dept", user.department())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
                 .signWith(key)
@@ -73,36 +80,26 @@ public class JwtUtil {
     }
 
     // ----------------------------------------------------------------
-    // CLAIM EXTRACTION
-    // ----------------------------------------------------------------
-
-    /** Extract the email address stored in the "sub" (subject) claim. */
-    public String extractEmail(String token) {
-        return getClaims(token).getSubject();
-    }
-
-    /**
-     * Extract the custom "role" claim added during generation.
-     * Used in JwtFilter to attach the correct GrantedAuthority.
-     */
-    public String extractRole(String token) {
-        return getClaims(token).get("role", String.class);
-    }
-
-    // ----------------------------------------------------------------
-    // VALIDATION
+    // PARSING
     // ----------------------------------------------------------------
 
     /**
-     * Returns true only when the token has a valid signature AND is not expired.
-     * Any JwtException (expired, malformed, tampered) returns false.
+     * Verify the token once and return its caller, or empty when the token
+     * is invalid, expired, or predates the uid claim (the client signs in
+     * again, as on expiry).
      */
-    public boolean isTokenValid(String token) {
+    public Optional<AuthenticatedUser> parse(String token) {
         try {
-            getClaims(token);   // throws if invalid or expired
-            return true;
+            Claims claims = getClaims(token);
+            Long id = claims.get("uid", Long.class);
+            String role = claims.get("role", String.class);
+            if (id == null || role == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(id, claims.getSubject(), Role.valueOf(role),
+                    claims.get("dept", String.class)));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
@@ -115,10 +112,6 @@ public class JwtUtil {
      * The verifyWith(key) call ensures the signature was made with OUR key.
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -7,6 +7,7 @@ import com.swms.backend.entity.User;
 import com.swms.backend.enums.Role;
 import com.swms.backend.repository.ChatHistoryRepository;
 import com.swms.backend.repository.UserRepository;
+import com.swms.backend.security.AuthenticatedUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -75,14 +76,14 @@ public class AIService {
      */
     public ChatResponse processChat(ChatRequest request) {
         // ── 1. Resolve caller identity from SecurityContext ──────────────
-        String email = SecurityContextHolder.getContext()
+        AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext()
                                             .getAuthentication()
-                                            .getName();   // set by JwtFilter
+                                            .getPrincipal();   // set by JwtFilter
 
-        User caller = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found: " + email));
+        User caller = userRepo.findById(principal.id())
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found: " + principal.email()));
 
-        Role role = caller.getRole();
+        Role role = principal.role();
 
         // ── 2. Resolve conversation session ──────────────────────────────
         String conversationId = (request.getConversationId() != null &&
@@ -90,7 +91,7 @@ public class AIService {
                 ? request.getConversationId()
                 : UUID.randomUUID().toString();
 
-        log.debug("[AI] User={}, Role={}, ConvId={}", email, role, conversationId);
+        log.debug("[AI] User={}, Role={}, ConvId={}", principal.email(), role, conversationId);
 
         // ── 3. Load conversation memory ──────────────────────────────────
         List<ChatHistory> recentHistory = chatHistoryRepo
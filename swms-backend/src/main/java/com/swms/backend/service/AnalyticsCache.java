@@ -0,0 +1,154 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.Role;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * AnalyticsCache — bounded, single-flight cache in front of AnalyticsService.
+ *
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ KEY        (role, caller id)                                     │
+ * │ BOUND      LRU, app.analytics.cache.max-entries                  │
+ * │ EXPIRY     app.analytics.cache.ttl-seconds — the dashboards use  │
+ * │            windows relative to "today", so entries must age out  │
+ * │            even when nothing is written.                         │
+ * │ SINGLE-FLIGHT                                                    │
+ * │            The first miss for a key stores a pending future and  │
+ * │            computes it; concurrent misses for the same key wait  │
+ * │            on that future instead of running the same queries.   │
+ * │ INVALIDATION (after commit)                                      │
+ * │            task write       → all ADMIN entries, MANAGER creator,│
+ * │                               EMPLOYEE assignee(s)               │
+ * │            attendance write → all ADMIN entries, EMPLOYEE owner  │
+ * └──────────────────────────────────────────────────────────────────┘
+ *
+ * Invalidation removes the entry, so a computation that was already in
+ * flight still answers its waiters but is never served to later callers.
+ */
+@Component
+public class AnalyticsCache {
+
+    private record Key(Role role, Long userId) {}
+
+    private record Entry(CompletableFuture<Object> value, long createdAtNanos) {}
+
+    private final long ttlNanos;
+
+    /** Access-ordered LRU map; every access is guarded by synchronized (entries). */
+    private final LinkedHashMap<Key, Entry> entries;
+
+    public AnalyticsCache(@Value("${app.analytics.cache.max-entries:1000}") int maxEntries,
+                          @Value("${app.analytics.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the cached value for (role, userId), computing it with loader on a miss.
+     * Exceptions from the loader propagate to every waiting caller and are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Role role, Long userId, Supplier<T> loader) {
+        Key key = new Key(role, userId);
+        Entry entry;
+        boolean owner = false;
+
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || isExpired(entry)) {
+                entry = new Entry(new CompletableFuture<>(), System.nanoTime());
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            try {
+                entry.value().complete(loader.get());
+            } catch (RuntimeException ex) {
+                entry.value().completeExceptionally(ex);
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                throw ex;
+            }
+        }
+
+        try {
+            return (T) entry.value().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /** Drop every entry cached for the given role. */
+    public void invalidate(Role role) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.role() == role);
+        }
+    }
+
+    /** Drop the entry cached for one caller. */
+    public void invalidate(Role role, Long userId) {
+        synchronized (entries) {
+            entries.remove(new Key(role, userId));
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // INVALIDATION LISTENERS
+    // ----------------------------------------------------------------
+
+    // Right after AnalyticsSnapshot, before DataVersionService publishes a new ETag version
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(Role.ADMIN);
+        event.creatorIds().forEach(id -> invalidate(Role.MANAGER, id));
+        event.assigneeIds().forEach(id -> invalidate(Role.EMPLOYEE, id));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        invalidate(Role.ADMIN);
+        invalidate(Role.EMPLOYEE, event.userId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        invalidate(Role.ADMIN);
+        for (TaskSnapshot task : event.tasks()) {
+            if (task.creatorId()  != null) invalidate(Role.MANAGER, task.creatorId());
+            if (task.assigneeId() != null) invalidate(Role.EMPLOYEE, task.assigneeId());
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.value().isDone() && System.nanoTime() - entry.createdAtNanos() > ttlNanos;
+    }
+}
@@ -0,0 +1,169 @@
+package com.swms.backend.service;
+
+import com.swms.backend.dto.response.analytics.QueryTimingDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * AnalyticsQueryExecutor — runs a dashboard's independent queries as one batch.
+ *
+ * MODES (app.analytics.parallel.enabled):
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ true   queries are submitted to a bounded pool                   │
+ * │        (app.analytics.parallel.threads, queue = 4 × threads) and │
+ * │        joined; wall time ≈ the slowest query. When the queue is  │
+ * │        full the caller runs the query itself (back-pressure).    │
+ * │ false  queries run one after another on the caller's thread.     │
+ * └──────────────────────────────────────────────────────────────────┘
+ *
+ * Keep threads at or below app.analytics.datasource.maximum-pool-size,
+ * otherwise workers just queue for a connection.
+ *
+ * Every query's latency is recorded under its batch / name, together with
+ * the batch's wall time, so the critical path is visible at
+ * GET /api/analytics/query-timings.
+ */
+@Component
+public class AnalyticsQueryExecutor {
+
+    private final boolean parallel;
+    private final ThreadPoolExecutor pool;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public AnalyticsQueryExecutor(@Value("${app.analytics.parallel.enabled:true}") boolean parallel,
+                                  @Value("${app.analytics.parallel.threads:4}") int threads) {
+        this.parallel = parallel;
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "analytics-query-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /** Start a batch; queries are named "batch.query" in the timings. */
+    public Batch batch(String name) {
+        return new Batch(name);
+    }
+
+    /** Latency stats per query, slowest (by last run) first. */
+    public List<QueryTimingDto> timings() {
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingDouble(QueryTimingDto::getLastMs).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void record(String name, long nanos) {
+        stats.computeIfAbsent(name, key -> new Stats()).add(nanos);
+    }
+
+    // ----------------------------------------------------------------
+    // BATCH
+    // ----------------------------------------------------------------
+
+    public final class Batch {
+
+        private final String name;
+        private final long startedNanos = System.nanoTime();
+        private final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        private Batch(String name) {
+            this.name = name;
+        }
+
+        /** Submit one query; the returned supplier yields its result after join(). */
+        public <T> Supplier<T> submit(String query, Supplier<T> work) {
+            Supplier<T> timed = () -> {
+                long start = System.nanoTime();
+                try {
+                    return work.get();
+                } finally {
+                    record(name + "." + query, System.nanoTime() - start);
+                }
+            };
+            CompletableFuture<T> future = parallel
+                    ? CompletableFuture.supplyAsync(timed, pool)
+                    : completed(timed);
+            futures.add(future);
+            return future::join;
+        }
+
+        /** Wait for every submitted query; the first failure is rethrown unwrapped. */
+        public void join() {
+            try {
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            } finally {
+                record(name + ".total", System.nanoTime() - startedNanos);
+            }
+        }
+
+        private <T> CompletableFuture<T> completed(Supplier<T> work) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // STATS
+    // ----------------------------------------------------------------
+
+    private static final class Stats {
+        private long count;
+        private long lastNanos;
+        private long maxNanos;
+        private long totalNanos;
+
+        synchronized void add(long nanos) {
+            count++;
+            lastNanos = nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            totalNanos += nanos;
+        }
+
+        synchronized QueryTimingDto toDto(String name) {
+            return QueryTimingDto.builder()
+                    .name(name)
+                    .count(count)
+                    .lastMs(toMillis(lastNanos))
+                    .maxMs(toMillis(maxNanos))
+                    .avgMs(count == 0 ? 0 : toMillis(totalNanos / count))
+                    .build();
+        }
+
+        private static double toMillis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+}
@@ -1,139 +1,260 @@
 package com.swms.backend.service;
 
 import com.swms.backend.dto.response.analytics.*;
-import com.swms.backend.entity.Attendance;
-import com.swms.backend.entity.Task;
-import com.swms.backend.entity.User;
+import com.swms.backend.enums.AnalyticsMetric;
 import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.Granularity;
 import com.swms.backend.enums.Role;
 import com.swms.backend.enums.TaskStatus;
-import com.swms.backend.repository.AttendanceRepository;
-import com.swms.backend.repository.TaskRepository;
-import com.swms.backend.repository.UserRepository;
+import com.swms.backend.repository.AnalyticsQueries;
+import com.swms.backend.security.AuthenticatedUser;
+import com.swms.backend.service.AnalyticsSnapshot.TaskScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * AnalyticsService - aggregates dashboard insights for each role.
+ *
+ * Results are cached per (role, caller) in AnalyticsCache and invalidated
+ * by task / attendance writes; see that class for the exact rules.
+ * Task and attendance figures are computed from AnalyticsSnapshot
+ * (primitive columns, no entity loading) — employee figures through the
+ * precomputed scorecards of ScorecardService; the builders below only
+ * turn counter arrays into chart series. In approximate mode
+ * (AnalyticsSketches) the admin department completion and attendance
+ * rate and the manager team size are estimates, listed in errorBounds.
  */
 @Service
 public class AnalyticsService {
 
     private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
 
-    private final UserRepository userRepository;
-    private final TaskRepository taskRepository;
-    private final AttendanceRepository attendanceRepository;
-    private final UserService userService;
-
-    public AnalyticsService(UserRepository userRepository,
-                            TaskRepository taskRepository,
-                            AttendanceRepository attendanceRepository,
-                            UserService userService) {
-        this.userRepository = userRepository;
-        this.taskRepository = taskRepository;
-        this.attendanceRepository = attendanceRepository;
-        this.userService = userService;
+    /** Statuses that count towards the attendance rate. */
+    static final Set<AttendanceStatus> ATTENDED_STATUSES =
+            EnumSet.of(AttendanceStatus.PRESENT, AttendanceStatus.LATE, AttendanceStatus.HALF_DAY);
+
+    private final AnalyticsSnapshot snapshot;
+    private final AnalyticsSketches sketches;
+    private final ScorecardService scorecardService;
+    private final AnalyticsQueries analyticsQueries;
+    private final AnalyticsQueryExecutor queryExecutor;
+    private final AnalyticsCache analyticsCache;
+    private final int maxSeriesBuckets;
+
+    public AnalyticsService(AnalyticsSnapshot snapshot,
+                            AnalyticsSketches sketches,
+                            ScorecardService scorecardService,
+                            AnalyticsQueries analyticsQueries,
+                            AnalyticsQueryExecutor queryExecutor,
+                            AnalyticsCache analyticsCache,
+                            @Value("${app.analytics.series.max-buckets:1000}") int maxSeriesBuckets) {
+        this.snapshot = snapshot;
+        this.sketches = sketches;
+        this.scorecardService = scorecardService;
+        this.analyticsQueries = analyticsQueries;
+        this.queryExecutor = queryExecutor;
+        this.analyticsCache = analyticsCache;
+        this.maxSeriesBuckets = maxSeriesBuckets;
     }
 
-    public AdminAnalyticsResponse getAdminAnalytics(String callerEmail) {
-        userService.findByEmail(callerEmail);
+    // ----------------------------------------------------------------
+    // PUBLIC API — served through AnalyticsCache (keyed by role + caller id)
+    // ----------------------------------------------------------------
 
-        List<User> users = userRepository.findAll();
-        List<Task> tasks = taskRepository.findAll();
+    public AdminAnalyticsResponse getAdminAnalytics(AuthenticatedUser caller) {
+        return analyticsCache.get(Role.ADMIN, caller.id(), this::computeAdminAnalytics);
+    }
 
-        List<KpiDto> kpis = List.of(
-                KpiDto.builder().label("Active Users").value(String.valueOf(users.size())).helper("All roles").build(),
-                KpiDto.builder().label("Open Tasks").value(String.valueOf(tasks.size())).helper("All departments").build(),
-                KpiDto.builder().label("Attendance Records").value(String.valueOf(attendanceRepository.count())).helper("Total records").build(),
-                KpiDto.builder().label("Departments Online").value(String.valueOf(countDepartments(users))).helper("Active departments").build()
-        );
+    public ManagerAnalyticsResponse getManagerAnalytics(AuthenticatedUser caller) {
+        return analyticsCache.get(Role.MANAGER, caller.id(), () -> computeManagerAnalytics(caller.id()));
+    }
 
-        List<LabelValueDto> usersByRole = new ArrayList<>();
-        for (Role role : Role.values()) {
-            usersByRole.add(LabelValueDto.builder()
-                    .label(role.name().substring(0, 1) + role.name().substring(1).toLowerCase(Locale.ENGLISH))
-                    .value(userRepository.countByRole(role))
+    public EmployeeAnalyticsResponse getEmployeeAnalytics(AuthenticatedUser caller) {
+        return analyticsCache.get(Role.EMPLOYEE, caller.id(), () -> computeEmployeeAnalytics(caller.id()));
+    }
+
+    /**
+     * Arbitrary-window series (GET /api/analytics/series). Not cached; the
+     * bucketing runs in SQL (AnalyticsQueries.sumSeries), Java only fills
+     * empty buckets. Edge buckets count only the days inside [from, to].
+     * EMPLOYEE callers are restricted to their own records.
+     */
+    public AnalyticsSeriesResponse getSeries(AuthenticatedUser caller,
+                                             AnalyticsMetric metric,
+                                             Granularity granularity,
+                                             LocalDate from,
+                                             LocalDate to,
+                                             String department,
+                                             Long userId) {
+        if (caller.is(Role.EMPLOYEE)) {
+            if (userId != null && !userId.equals(caller.id())) {
+                throw new AccessDeniedException("You can only view your own analytics.");
+            }
+            userId = caller.id();
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        for (LocalDate start = granularity.bucketStart(from); !start.isAfter(to); start = granularity.next(start)) {
+            if (bucketStarts.size() == maxSeriesBuckets) {
+                throw new IllegalArgumentException("Range spans more than " + maxSeriesBuckets
+                        + " " + granularity.name().toLowerCase(Locale.ENGLISH) + " buckets; use a coarser granularity.");
+            }
+            bucketStarts.add(start);
+        }
+
+        String departmentFilter = (department == null || department.isBlank()) ? null : department.trim();
+        Long userFilter = userId;
+        AnalyticsQueryExecutor.Batch batch = queryExecutor.batch("series");
+        Supplier<Map<LocalDate, Map<String, Long>>> seriesQuery = batch.submit(metric.name().toLowerCase(Locale.ENGLISH),
+                () -> analyticsQueries.sumSeries(metric, granularity, from, to, departmentFilter, userFilter));
+        batch.join();
+        Map<LocalDate, Map<String, Long>> totals = seriesQuery.get();
+
+        List<SeriesPointDto> points = new ArrayList<>();
+        for (LocalDate start : bucketStarts) {
+            Map<String, Long> byStatus = zeroFilledStatuses(metric);
+            totals.getOrDefault(start, Map.of()).forEach((status, count) -> byStatus.merge(status, count, Long::sum));
+            long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+            long hits = metric == AnalyticsMetric.TASKS
+                    ? byStatus.get(TaskStatus.COMPLETED.name())
+                    : ATTENDED_STATUSES.stream().mapToLong(status -> byStatus.get(status.name())).sum();
+            points.add(SeriesPointDto.builder()
+                    .label(granularity.label(start))
+                    .start(start)
+                    .total(total)
+                    .rate(total == 0 ? 0 : Math.round(hits * 1000.0 / total) / 10.0)
+                    .byStatus(byStatus)
                     .build());
         }
 
+        return AnalyticsSeriesResponse.builder()
+                .metric(metric.name())
+                .granularity(granularity.name())
+                .from(from)
+                .to(to)
+                .department(departmentFilter)
+                .userId(userFilter)
+                .points(points)
+                .build();
+    }
+
+    // ----------------------------------------------------------------
+    // COMPUTATION
+    // ----------------------------------------------------------------
+
+    /**
+     * Organisation-wide dashboard. Task and attendance aggregates come from
+     * the in-memory AnalyticsSnapshot; only the two user aggregates (small
+     * table, not part of the snapshot) hit the database, as one
+     * AnalyticsQueryExecutor batch on the analytics pool.
+     * In approximate mode department completion and attendance per month
+     * come from AnalyticsSketches instead of a pass over every row.
+     */
+    private AdminAnalyticsResponse computeAdminAnalytics() {
+        AnalyticsQueryExecutor.Batch batch = queryExecutor.batch("admin");
+        Supplier<Map<Role, Long>> roleQuery = batch.submit("usersByRole", analyticsQueries::countUsersByRole);
+        Supplier<Map<String, Long>> departmentQuery = batch.submit("usersByDepartment", analyticsQueries::countUsersByDepartment);
+
         LocalDate today = LocalDate.now();
         LocalDate monthStart = today.minusMonths(5).withDayOfMonth(1);
-        LocalDate monthEnd = today.plusDays(1);
+        long[] statusCounts = snapshot.countTasksByStatus(TaskScope.ALL, AnalyticsSnapshot.NONE);
+        long[] createdPerMonth = snapshot.countCreatedPerMonth(monthStart, 6);
+        long[][] attendancePerMonth;
+        Map<String, long[]> completionByDept;
+        List<ErrorBoundDto> errorBounds = null;
+        if (sketches.enabled()) {
+            AnalyticsSketches.Estimate<long[][]> attendanceEstimate =
+                    sketches.attendancePerMonth(monthStart, 6, today.plusDays(1), ATTENDED_STATUSES);
+            AnalyticsSketches.Estimate<Map<String, long[]>> completionEstimate = sketches.departmentCompletion();
+            attendancePerMonth = attendanceEstimate.value();
+            completionByDept = completionEstimate.value();
+            errorBounds = List.of(errorBound("attendanceRate", attendanceEstimate),
+                    errorBound("deptCompletion", completionEstimate));
+        } else {
+            attendancePerMonth = snapshot.countAttendancePerMonth(
+                    AnalyticsSnapshot.NONE, monthStart, 6, today.plusDays(1), ATTENDED_STATUSES);
+            completionByDept = snapshot.countCompletionByDepartment(TaskScope.ALL, AnalyticsSnapshot.NONE);
+        }
+        long attendanceTotal = snapshot.countAttendance();
+        batch.join();
 
-        List<Task> recentTasks = taskRepository.findByCreatedAtBetween(
-                monthStart.atStartOfDay(),
-                monthEnd.atStartOfDay());
-        List<Attendance> recentAttendance = attendanceRepository.findByDateBetween(monthStart, monthEnd);
+        Map<Role, Long> roleCounts = roleQuery.get();
+        long userTotal = roleCounts.values().stream().mapToLong(Long::longValue).sum();
 
-        List<LabelValueDto> monthlyActivity = buildMonthlySeries(
-                monthStart,
-                6,
-                recentTasks.stream()
-                        .collect(Collectors.groupingBy(t -> YearMonth.from(t.getCreatedAt()), Collectors.counting())));
+        Map<String, Long> headcount = new HashMap<>();
+        departmentQuery.get().forEach((department, total) -> headcount.merge(safeDepartment(department), total, Long::sum));
 
-        List<LabelValueDto> attendanceRate = buildMonthlyRate(monthStart, 6, recentAttendance);
+        List<KpiDto> kpis = List.of(
+                KpiDto.builder().label("Active Users").value(String.valueOf(userTotal)).helper("All roles").build(),
+                KpiDto.builder().label("Open Tasks").value(String.valueOf(sum(statusCounts))).helper("All departments").build(),
+                KpiDto.builder().label("Attendance Records").value(String.valueOf(attendanceTotal)).helper("Total records").build(),
+                KpiDto.builder().label("Departments Online").value(String.valueOf(countDepartments(departmentQuery.get().keySet()))).helper("Active departments").build()
+        );
 
-        List<LabelValueDto> deptHeadcount = users.stream()
-                .collect(Collectors.groupingBy(u -> safeDepartment(u.getDepartment()), Collectors.counting()))
-                .entrySet()
+        List<LabelValueDto> usersByRole = new ArrayList<>();
+        for (Role role : Role.values()) {
+            usersByRole.add(LabelValueDto.builder()
+                    .label(role.name().substring(0, 1) + role.name().substring(1).toLowerCase(Locale.ENGLISH))
+                    .value(roleCounts.getOrDefault(role, 0L))
+                    .build());
+        }
+
+        List<LabelValueDto> deptHeadcount = headcount.entrySet()
                 .stream()
                 .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
                 .map(entry -> LabelValueDto.builder().label(entry.getKey()).value(entry.getValue()).build())
                 .toList();
 
-        List<LabelValueDto> taskStatus = new ArrayList<>();
-        for (TaskStatus status : TaskStatus.values()) {
-            taskStatus.add(LabelValueDto.builder()
-                    .label(toTitle(status.name()))
-                    .value(taskRepository.countByStatus(status))
-                    .build());
-        }
-
-        List<LabelValueDto> deptCompletion = buildDepartmentCompletion(tasks);
-
         return AdminAnalyticsResponse.builder()
                 .kpis(kpis)
                 .usersByRole(usersByRole)
-                .monthlyActivity(monthlyActivity)
+                .monthlyActivity(buildMonthlySeries(monthStart, createdPerMonth))
                 .deptHeadcount(deptHeadcount)
-                .attendanceRate(attendanceRate)
-                .taskStatus(taskStatus)
-                .deptCompletion(deptCompletion)
+                .attendanceRate(buildMonthlyRate(monthStart, attendancePerMonth))
+                .taskStatus(buildStatusSeries(statusCounts))
+                .deptCompletion(buildDepartmentCompletion(completionByDept))
+                .errorBounds(errorBounds)
                 .build();
     }
 
-    public ManagerAnalyticsResponse getManagerAnalytics(String callerEmail) {
-        User caller = userService.findByEmail(callerEmail);
-
-        List<Task> tasks = taskRepository.findByCreatedBy(caller);
-        long completedTotal = tasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
-        long cancelledTotal = tasks.stream().filter(t -> t.getStatus() == TaskStatus.CANCELLED).count();
-        double completionRate = tasks.isEmpty() ? 0 : (completedTotal * 100.0 / tasks.size());
+    /** Tasks the manager created, read from the snapshot (team size from AnalyticsSketches in approximate mode). */
+    private ManagerAnalyticsResponse computeManagerAnalytics(long callerId) {
+        long[] statusCounts = snapshot.countTasksByStatus(TaskScope.CREATED_BY, callerId);
+        long taskTotal = sum(statusCounts);
+        long completedTotal = statusCounts[TaskStatus.COMPLETED.ordinal()];
+        long cancelledTotal = statusCounts[TaskStatus.CANCELLED.ordinal()];
+        double completionRate = taskTotal == 0 ? 0 : (completedTotal * 100.0 / taskTotal);
 
-        long completedLast14 = tasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
-                .filter(t -> t.getCreatedAt() != null && t.getCreatedAt().isAfter(LocalDateTime.now().minusDays(14)))
-                .count();
-
-        int teamSize = (int) tasks.stream()
-                .map(Task::getAssignedTo)
-                .filter(u -> u != null && u.getId() != null)
-                .map(User::getId)
-                .collect(Collectors.toSet())
-                .size();
+        LocalDate today = LocalDate.now();
+        long completedLast14 = snapshot.countCompletedSince(TaskScope.CREATED_BY, callerId, today.minusDays(14));
+        int teamSize;
+        List<ErrorBoundDto> errorBounds = null;
+        if (sketches.enabled()) {
+            AnalyticsSketches.Estimate<Integer> teamSizeEstimate = sketches.teamSize(callerId);
+            teamSize = teamSizeEstimate.value();
+            errorBounds = List.of(errorBound("teamHealth", teamSizeEstimate));
+        } else {
+            teamSize = snapshot.countDistinctAssignees(TaskScope.CREATED_BY, callerId);
+        }
 
         List<KpiDto> kpis = List.of(
                 KpiDto.builder().label("Sprint Velocity").value(String.valueOf(completedLast14)).helper("Completed last 14 days").build(),
@@ -141,24 +262,20 @@ public class AnalyticsService {
                 KpiDto.builder().label("Risks Mitigated").value(String.valueOf(cancelledTotal)).helper("Cancelled or closed items").build()
         );
 
-        LocalDate weekStart = LocalDate.now().minusWeeks(5);
-        List<LabelValueDto> sprintVelocity = buildWeeklySeries(weekStart, 6, tasks, true);
-        List<RiskDto> riskFunnel = buildWeeklyRiskSeries(weekStart, 6, tasks);
+        LocalDate weekStart = today.minusWeeks(5);
+        List<LabelValueDto> sprintVelocity = buildWeeklySeries(
+                snapshot.countCreatedPerWeek(TaskScope.CREATED_BY, callerId, weekStart, 6, true));
+        List<RiskDto> riskFunnel = buildWeeklyRiskSeries(
+                snapshot.countRiskPerWeek(TaskScope.CREATED_BY, callerId, weekStart, 6));
 
-        List<WorkloadDto> teamWorkload = tasks.stream()
-                .filter(task -> task.getAssignedTo() != null)
-                .collect(Collectors.groupingBy(task -> safeDepartment(task.getAssignedTo().getDepartment())))
+        List<WorkloadDto> teamWorkload = snapshot.countCompletionByDepartment(TaskScope.CREATED_BY, callerId)
                 .entrySet()
                 .stream()
-                .map(entry -> {
-                    long assigned = entry.getValue().size();
-                    long completed = entry.getValue().stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
-                    return WorkloadDto.builder()
-                            .label(entry.getKey())
-                            .assigned(assigned)
-                            .completed(completed)
-                            .build();
-                })
+                .map(entry -> WorkloadDto.builder()
+                        .label(entry.getKey())
+                        .assigned(entry.getValue()[0])
+                        .completed(entry.getValue()[1])
+                        .build())
                 .sorted(Comparator.comparingLong(WorkloadDto::getAssigned).reversed())
                 .toList();
 
@@ -170,27 +287,18 @@ public class AnalyticsService {
                 .teamWorkload(teamWorkload)
                 .riskFunnel(riskFunnel)
                 .teamHealth(teamHealth)
+                .errorBounds(errorBounds)
                 .build();
     }
 
-    public EmployeeAnalyticsResponse getEmployeeAnalytics(String callerEmail) {
-        User caller = userService.findByEmail(callerEmail);
-
-        List<Task> tasks = taskRepository.findByAssignedTo(caller);
-        LocalDateTime since30 = LocalDateTime.now().minusDays(30);
-
-        long completedLast30 = tasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
-                .filter(t -> t.getCreatedAt() != null && t.getCreatedAt().isAfter(since30))
-                .count();
-
-        LocalDate today = LocalDate.now();
-        List<Attendance> attendanceLast30 = attendanceRepository.findByUserAndDateBetween(
-                caller,
-                today.minusDays(30),
-                today);
+    /** Tasks assigned to and attendance of the employee, from today's scorecard (see ScorecardService). */
+    private EmployeeAnalyticsResponse computeEmployeeAnalytics(long callerId) {
+        ScorecardTotals scorecard = scorecardService.totalsFor(callerId);
+        long[] statusCounts = scorecard.statusCounts;
+        long completedLast30 = scorecard.completedLast30;
 
-        double attendanceRate = calculateAttendanceRate(attendanceLast30);
+        long[] attendanceLast30 = scorecard.attendanceLast30;
+        double attendanceRate = attendanceLast30[0] == 0 ? 0 : (attendanceLast30[1] * 100.0 / attendanceLast30[0]);
         int learningHours = (int) Math.min(40, Math.round(completedLast30 * 1.5 + 6));
 
         List<KpiDto> kpis = List.of(
@@ -199,39 +307,35 @@ public class AnalyticsService {
                 KpiDto.builder().label("Learning Hours").value(String.format(Locale.ENGLISH, "%dh", learningHours)).helper("Upskilling time").build()
         );
 
-        LocalDate weekStart = LocalDate.now().minusWeeks(5);
-        List<LabelValueDto> productivity = buildWeeklySeries(weekStart, 6, tasks, true);
-
-        LocalDate monthStart = today.minusMonths(5).withDayOfMonth(1);
-        List<Attendance> attendancePulse = attendanceRepository.findByUserAndDateBetween(
-                caller,
-                monthStart,
-                today.plusDays(1));
-        List<LabelValueDto> attendancePulseSeries = buildMonthlyRate(monthStart, 6, attendancePulse);
-
-        List<LabelValueDto> taskMix = new ArrayList<>();
-        for (TaskStatus status : TaskStatus.values()) {
-            long count = tasks.stream().filter(task -> task.getStatus() == status).count();
-            taskMix.add(LabelValueDto.builder().label(toTitle(status.name())).value(count).build());
-        }
+        List<LabelValueDto> productivity = buildWeeklySeries(scorecard.weeklyCompleted);
+        List<LabelValueDto> attendancePulseSeries = buildMonthlyRate(
+                scorecard.windows.monthStart(), scorecard.monthlyAttendance);
 
-        List<LabelValueDto> skillFocus = buildSkillFocus(completedLast30, attendanceRate, tasks.size());
+        List<LabelValueDto> skillFocus = buildSkillFocus(completedLast30, attendanceRate, (int) sum(statusCounts));
 
         return EmployeeAnalyticsResponse.builder()
                 .kpis(kpis)
                 .productivity(productivity)
                 .attendancePulse(attendancePulseSeries)
                 .skillFocus(skillFocus)
-                .taskMix(taskMix)
+                .taskMix(buildStatusSeries(statusCounts))
                 .build();
     }
 
-    private static int countDepartments(List<User> users) {
-        return (int) users.stream()
-                .map(User::getDepartment)
+    private static ErrorBoundDto errorBound(String label, AnalyticsSketches.Estimate<?> estimate) {
+        return ErrorBoundDto.builder()
+                .label(label)
+                .estimator(estimate.estimator())
+                .error(estimate.error())
+                .unit(estimate.unit())
+                .confidence(estimate.confidence())
+                .build();
+    }
+
+    private static int countDepartments(Collection<String> departments) {
+        return (int) departments.stream()
                 .filter(dept -> dept != null && !dept.isBlank())
-                .collect(Collectors.toSet())
-                .size();
+                .count();
     }
 
     private static String safeDepartment(String department) {
@@ -243,146 +347,90 @@ public class AnalyticsService {
         return lower.substring(0, 1).toUpperCase(Locale.ENGLISH) + lower.substring(1);
     }
 
-    private static double calculateAttendanceRate(List<Attendance> records) {
-        if (records.isEmpty()) {
-            return 0;
+    private static Map<String, Long> zeroFilledStatuses(AnalyticsMetric metric) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Enum<?>[] statuses = metric == AnalyticsMetric.TASKS ? TaskStatus.values() : AttendanceStatus.values();
+        for (Enum<?> status : statuses) {
+            byStatus.put(status.name(), 0L);
         }
-        long attended = records.stream()
-                .filter(record -> record.getStatus() == AttendanceStatus.PRESENT
-                        || record.getStatus() == AttendanceStatus.LATE
-                        || record.getStatus() == AttendanceStatus.HALF_DAY)
-                .count();
-        return (attended * 100.0 / records.size());
+        return byStatus;
     }
 
-    private static List<LabelValueDto> buildMonthlySeries(LocalDate startMonth,
-                                                         int months,
-                                                         Map<YearMonth, Long> counts) {
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** @param counts totals indexed by TaskStatus ordinal */
+    private static List<LabelValueDto> buildStatusSeries(long[] counts) {
         List<LabelValueDto> output = new ArrayList<>();
-        for (int i = 0; i < months; i++) {
-            YearMonth ym = YearMonth.from(startMonth).plusMonths(i);
-            long value = counts.getOrDefault(ym, 0L);
+        for (TaskStatus status : TaskStatus.values()) {
             output.add(LabelValueDto.builder()
-                    .label(ym.format(MONTH_FORMAT))
-                    .value(value)
+                    .label(toTitle(status.name()))
+                    .value(counts[status.ordinal()])
                     .build());
         }
         return output;
     }
 
-    private static List<LabelValueDto> buildMonthlyRate(LocalDate startMonth,
-                                                        int months,
-                                                        List<Attendance> records) {
-        Map<YearMonth, long[]> totals = new HashMap<>();
-        for (Attendance record : records) {
-            if (record.getDate() == null) {
-                continue;
-            }
-            YearMonth ym = YearMonth.from(record.getDate());
-            totals.computeIfAbsent(ym, key -> new long[2]);
-            long[] counts = totals.get(ym);
-            counts[0] += 1;
-            if (record.getStatus() == AttendanceStatus.PRESENT
-                    || record.getStatus() == AttendanceStatus.LATE
-                    || record.getStatus() == AttendanceStatus.HALF_DAY) {
-                counts[1] += 1;
-            }
+    /** @param counts one total per month starting at startMonth */
+    private static List<LabelValueDto> buildMonthlySeries(LocalDate startMonth, long[] counts) {
+        List<LabelValueDto> output = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            output.add(LabelValueDto.builder()
+                    .label(YearMonth.from(startMonth).plusMonths(i).format(MONTH_FORMAT))
+                    .value(counts[i])
+                    .build());
         }
+        return output;
+    }
 
+    // Package-private builders below are also driven by swms-benchmarks.
+
+    /** @param totals one {total, attended} pair per month starting at startMonth */
+    static List<LabelValueDto> buildMonthlyRate(LocalDate startMonth, long[][] totals) {
         List<LabelValueDto> output = new ArrayList<>();
-        for (int i = 0; i < months; i++) {
-            YearMonth ym = YearMonth.from(startMonth).plusMonths(i);
-            long[] counts = totals.getOrDefault(ym, new long[2]);
+        for (int i = 0; i < totals.length; i++) {
+            long[] counts = totals[i];
             double rate = counts[0] == 0 ? 0 : Math.round((counts[1] * 100.0 / counts[0]));
             output.add(LabelValueDto.builder()
-                    .label(ym.format(MONTH_FORMAT))
+                    .label(YearMonth.from(startMonth).plusMonths(i).format(MONTH_FORMAT))
                     .value(rate)
                     .build());
         }
         return output;
     }
 
-    private static List<LabelValueDto> buildWeeklySeries(LocalDate startWeek,
-                                                         int weeks,
-                                                         List<Task> tasks,
-                                                         boolean completedOnly) {
-        Map<Integer, Long> counts = new HashMap<>();
-        LocalDate endWeek = startWeek.plusWeeks(weeks);
-        for (Task task : tasks) {
-            if (task.getCreatedAt() == null) {
-                continue;
-            }
-            LocalDate date = task.getCreatedAt().toLocalDate();
-            if (date.isBefore(startWeek) || !date.isBefore(endWeek)) {
-                continue;
-            }
-            if (completedOnly && task.getStatus() != TaskStatus.COMPLETED) {
-                continue;
-            }
-            long daysBetween = ChronoUnit.DAYS.between(startWeek, date);
-            int index = (int) (daysBetween / 7);
-            counts.put(index, counts.getOrDefault(index, 0L) + 1);
-        }
-
+    /** @param counts one total per week, labelled W1..Wn */
+    static List<LabelValueDto> buildWeeklySeries(long[] counts) {
         List<LabelValueDto> output = new ArrayList<>();
-        for (int i = 0; i < weeks; i++) {
+        for (int i = 0; i < counts.length; i++) {
             output.add(LabelValueDto.builder()
                     .label("W" + (i + 1))
-                    .value(counts.getOrDefault(i, 0L))
+                    .value(counts[i])
                     .build());
         }
         return output;
     }
 
-    private static List<RiskDto> buildWeeklyRiskSeries(LocalDate startWeek, int weeks, List<Task> tasks) {
-        Map<Integer, long[]> counts = new HashMap<>();
-        LocalDate endWeek = startWeek.plusWeeks(weeks);
-        for (Task task : tasks) {
-            if (task.getCreatedAt() == null) {
-                continue;
-            }
-            LocalDate date = task.getCreatedAt().toLocalDate();
-            if (date.isBefore(startWeek) || !date.isBefore(endWeek)) {
-                continue;
-            }
-            long daysBetween = ChronoUnit.DAYS.between(startWeek, date);
-            int index = (int) (daysBetween / 7);
-            counts.computeIfAbsent(index, key -> new long[2]);
-            long[] bucket = counts.get(index);
-            if (task.getStatus() == TaskStatus.COMPLETED || task.getStatus() == TaskStatus.CANCELLED) {
-                bucket[1] += 1;
-            } else {
-                bucket[0] += 1;
-            }
-        }
-
+    /** @param counts one {open, mitigated} pair per week, labelled W1..Wn */
+    static List<RiskDto> buildWeeklyRiskSeries(long[][] counts) {
         List<RiskDto> output = new ArrayList<>();
-        for (int i = 0; i < weeks; i++) {
-            long[] bucket = counts.getOrDefault(i, new long[2]);
+        for (int i = 0; i < counts.length; i++) {
             output.add(RiskDto.builder()
                     .label("W" + (i + 1))
-                    .open(bucket[0])
-                    .mitigated(bucket[1])
+                    .open(counts[i][0])
+                    .mitigated(counts[i][1])
                     .build());
         }
         return output;
     }
 
-    private static List<LabelValueDto> buildDepartmentCompletion(List<Task> tasks) {
-        Map<String, long[]> totals = new HashMap<>();
-        for (Task task : tasks) {
-            if (task.getAssignedTo() == null) {
-                continue;
-            }
-            String dept = safeDepartment(task.getAssignedTo().getDepartment());
-            totals.computeIfAbsent(dept, key -> new long[2]);
-            long[] counts = totals.get(dept);
-            counts[0] += 1;
-            if (task.getStatus() == TaskStatus.COMPLETED) {
-                counts[1] += 1;
-            }
-        }
-
+    /** @param totals department label → {assigned, completed} */
+    static List<LabelValueDto> buildDepartmentCompletion(Map<String, long[]> totals) {
         return totals.entrySet().stream()
                 .map(entry -> {
                     long total = entry.getValue()[0];
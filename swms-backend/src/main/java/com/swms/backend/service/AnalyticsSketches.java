@@ -0,0 +1,473 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalyticsSketches — bounded-size estimates behind the approximate
+ * dashboard mode (app.analytics.approximate.enabled, off by default).
+ *
+ * SKETCHES
+ *   team size         HyperLogLog of assignee ids per task creator
+ *                     (manager dashboard, replaces the distinct-id sort)
+ *   department counts count-min sketch of {assigned, completed} per
+ *                     department bucket (admin deptCompletion)
+ *   attendance rate   reservoir sample of attendance records per calendar
+ *                     month (admin attendanceRate)
+ *
+ * Every estimate is returned with its error bound (see Estimate), which
+ * AnalyticsService copies into the response.
+ *
+ * MAINTENANCE
+ *   Built from AnalyticsSnapshot on the first read, then updated as a
+ *   ChangeListener under the snapshot's write lock. Reads run under its
+ *   read lock, so no update interleaves with a read. HyperLogLog cannot
+ *   forget an assignee, so team sizes only grow until the next rebuild —
+ *   after a snapshot reload and nightly (app.analytics.approximate.rebuild-cron).
+ *   Count-min cells take −1 / +1 like the exact counters. Records removed
+ *   from a month leave its reservoir smaller until the next rebuild; the
+ *   reported bound uses the actual sample size.
+ */
+@Service
+public class AnalyticsSketches implements AnalyticsSnapshot.ChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsSketches.class);
+
+    private static final long NONE = AnalyticsSnapshot.NONE;
+    private static final byte COMPLETED = (byte) TaskStatus.COMPLETED.ordinal();
+    private static final int ASSIGNED_KIND = 0;
+    private static final int COMPLETED_KIND = 1;
+    private static final double Z_95 = 1.96;
+
+    /** An estimated value and its error bound: |estimate − exact| ≤ error (unit) with the given confidence. */
+    record Estimate<T>(T value, String estimator, double error, String unit, double confidence) {}
+
+    private final AnalyticsSnapshot snapshot;
+    private final boolean enabled;
+    private final int hllPrecision;
+    private final int cmsWidth;
+    private final int cmsDepth;
+    private final int reservoirSize;
+
+    // Replaced under the snapshot's read lock (synchronized), mutated under its write lock
+    private volatile Sketches sketches;
+
+    public AnalyticsSketches(AnalyticsSnapshot snapshot,
+                             @Value("${app.analytics.approximate.enabled:false}") boolean enabled,
+                             @Value("${app.analytics.approximate.hll-precision:10}") int hllPrecision,
+                             @Value("${app.analytics.approximate.cms-width:2048}") int cmsWidth,
+                             @Value("${app.analytics.approximate.cms-depth:4}") int cmsDepth,
+                             @Value("${app.analytics.approximate.reservoir-size:4096}") int reservoirSize) {
+        if (hllPrecision < 4 || hllPrecision > 18) {
+            throw new IllegalArgumentException("app.analytics.approximate.hll-precision must be between 4 and 18.");
+        }
+        this.snapshot = snapshot;
+        this.enabled = enabled;
+        this.hllPrecision = hllPrecision;
+        this.cmsWidth = cmsWidth;
+        this.cmsDepth = cmsDepth;
+        this.reservoirSize = reservoirSize;
+        if (enabled) {
+            snapshot.addChangeListener(this);
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // ----------------------------------------------------------------
+    // READ
+    // ----------------------------------------------------------------
+
+    /** Distinct assignees over the tasks creatorId created. */
+    Estimate<Integer> teamSize(long creatorId) {
+        return snapshot.readConsistent(() -> {
+            HyperLogLog assignees = current().assigneesByCreator.get(creatorId);
+            int estimate = assignees == null ? 0 : (int) Math.round(assignees.estimate());
+            double relativeError = Z_95 * 1.04 / Math.sqrt(1 << hllPrecision);
+            return new Estimate<>(estimate, "HyperLogLog team size (p=" + hllPrecision + ")",
+                    round(relativeError * 100), "percent of value", 0.95);
+        });
+    }
+
+    /** Department bucket → {assigned, completed}; each count overestimates by at most error. */
+    Estimate<Map<String, long[]>> departmentCompletion() {
+        return snapshot.readConsistent(() -> {
+            Sketches current = current();
+            Map<String, long[]> output = new LinkedHashMap<>();
+            for (String department : current.departments) {
+                long assigned = current.departmentCounts.estimate(departmentKey(department, ASSIGNED_KIND));
+                if (assigned > 0) {
+                    long completed = current.departmentCounts.estimate(departmentKey(department, COMPLETED_KIND));
+                    output.put(department, new long[]{assigned, Math.min(completed, assigned)});
+                }
+            }
+            return new Estimate<>(output, "count-min (" + cmsDepth + "x" + cmsWidth + ")",
+                    Math.ceil(Math.E / cmsWidth * current.departmentCounts.total), "tasks",
+                    round(1 - Math.exp(-cmsDepth)));
+        });
+    }
+
+    /**
+     * Per calendar month starting at startMonth: [month][0] records,
+     * [month][1] attended, scaled up from the month's reservoir. Days after
+     * lastDay are ignored. The error is the widest 95% interval of a
+     * monthly rate, in percentage points (0 when a month is fully sampled).
+     */
+    Estimate<long[][]> attendancePerMonth(LocalDate startMonth, int months, LocalDate lastDay,
+                                          Collection<AttendanceStatus> attended) {
+        boolean[] attendedMask = new boolean[AttendanceStatus.values().length];
+        attended.forEach(status -> attendedMask[status.ordinal()] = true);
+        int maxDay = (int) lastDay.toEpochDay();
+        int firstMonth = epochMonth(startMonth);
+        return snapshot.readConsistent(() -> {
+            Sketches current = current();
+            long[][] counts = new long[months][2];
+            double widest = 0;
+            for (int k = 0; k < months; k++) {
+                Reservoir sample = current.attendanceByMonth.get(firstMonth + k);
+                if (sample == null || sample.size == 0) continue;
+                long inRange = 0;
+                long hits = 0;
+                for (int i = 0; i < sample.size; i++) {
+                    if (sample.days[i] > maxDay) continue;
+                    inRange++;
+                    if (attendedMask[sample.statuses[i]]) hits++;
+                }
+                double scale = (double) sample.population / sample.size;
+                counts[k][0] = Math.round(inRange * scale);
+                counts[k][1] = Math.round(hits * scale);
+                widest = Math.max(widest, rateError(sample.size, sample.population));
+            }
+            return new Estimate<>(counts, "reservoir sample (" + reservoirSize + " per month)",
+                    round(widest * 100), "percentage points", 0.95);
+        });
+    }
+
+    // ----------------------------------------------------------------
+    // REBUILD
+    // ----------------------------------------------------------------
+
+    /** Drop the sketches nightly so team sizes forget reassigned / deleted tasks. */
+    @Scheduled(cron = "${app.analytics.approximate.rebuild-cron:0 10 0 * * *}")
+    public void nightly() {
+        if (enabled) {
+            snapshot.readConsistent(() -> {
+                synchronized (this) {
+                    sketches = null;
+                }
+                return null;
+            });
+        }
+    }
+
+    /** Caller holds the snapshot's read lock, so no ChangeListener call runs while this builds. */
+    private Sketches current() {
+        Sketches current = sketches;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (sketches == null) {
+                sketches = build();
+            }
+            return sketches;
+        }
+    }
+
+    private Sketches build() {
+        long started = System.nanoTime();
+        Sketches built = new Sketches();
+        long[] rows = new long[2];
+        snapshot.forEachTask((id, status, createdDay, creatorId, assigneeId, department) -> {
+            built.addTask(status, creatorId, assigneeId, department, 1);
+            rows[0]++;
+        });
+        snapshot.forEachAttendance((id, day, status) -> {
+            built.addAttendance(id, day, status);
+            rows[1]++;
+        });
+        log.info("[Sketches] Built from {} task(s) and {} attendance record(s) in {} ms",
+                rows[0], rows[1], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return built;
+    }
+
+    // ----------------------------------------------------------------
+    // DELTAS (AnalyticsSnapshot write lock held)
+    // ----------------------------------------------------------------
+
+    @Override
+    public void taskChanged(TaskSnapshot before, TaskSnapshot after) {
+        Sketches current = sketches;
+        if (current == null) {
+            return;
+        }
+        if (before != null) {
+            current.addTask((byte) before.status().ordinal(), orNone(before.creatorId()), NONE, before.department(), -1);
+        }
+        if (after != null) {
+            current.addTask((byte) after.status().ordinal(), orNone(after.creatorId()), orNone(after.assigneeId()),
+                    after.department(), 1);
+        }
+    }
+
+    @Override
+    public void attendanceChanged(AttendanceSnapshot before, AttendanceSnapshot after) {
+        Sketches current = sketches;
+        if (current == null) {
+            return;
+        }
+        int beforeDay = before != null && before.date() != null ? (int) before.date().toEpochDay() : AnalyticsSnapshot.NO_DAY;
+        int afterDay = after != null && after.date() != null ? (int) after.date().toEpochDay() : AnalyticsSnapshot.NO_DAY;
+        if (before != null && after != null && beforeDay != AnalyticsSnapshot.NO_DAY
+                && afterDay != AnalyticsSnapshot.NO_DAY && epochMonth(beforeDay) == epochMonth(afterDay)) {
+            Reservoir sample = current.attendanceByMonth.get(epochMonth(afterDay));
+            if (sample != null) {
+                sample.update(after.id(), afterDay, (byte) after.status().ordinal());
+            }
+            return;
+        }
+        if (before != null) {
+            current.removeAttendance(before.id(), beforeDay);
+        }
+        if (after != null) {
+            current.addAttendance(after.id(), afterDay, (byte) after.status().ordinal());
+        }
+    }
+
+    @Override
+    public void reloaded() {
+        sketches = null;
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private static long orNone(Long id) {
+        return id != null ? id : NONE;
+    }
+
+    private static long departmentKey(String department, int kind) {
+        return mix64(department.hashCode()) * 2 + kind;
+    }
+
+    private static int epochMonth(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static int epochMonth(int epochDay) {
+        return epochMonth(LocalDate.ofEpochDay(epochDay));
+    }
+
+    /** Half-width of the 95% interval of a rate from n of population records (worst case p = ½). */
+    private static double rateError(long n, long population) {
+        if (n >= population) {
+            return 0;
+        }
+        return Z_95 * 0.5 / Math.sqrt(n) * Math.sqrt((double) (population - n) / (population - 1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /** SplitMix64 finalizer — spreads sequential ids over all 64 bits. */
+    static long mix64(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** The sketches of one build; guarded by the snapshot's lock. */
+    private final class Sketches {
+        final Map<Long, HyperLogLog> assigneesByCreator = new HashMap<>();
+        final CountMinSketch departmentCounts = new CountMinSketch(cmsDepth, cmsWidth);
+        final Set<String> departments = new LinkedHashSet<>();
+        final Map<Integer, Reservoir> attendanceByMonth = new HashMap<>();
+        final SplittableRandom random = new SplittableRandom();
+
+        /** sign −1 takes a row's counts back out; assignees are only ever added. */
+        void addTask(byte status, long creatorId, long assigneeId, String department, int sign) {
+            if (creatorId != NONE && assigneeId != NONE) {
+                assigneesByCreator.computeIfAbsent(creatorId, key -> new HyperLogLog(hllPrecision)).add(assigneeId);
+            }
+            if (department == null || RollupService.NO_ASSIGNEE.equals(department)) {
+                return;
+            }
+            departments.add(department);
+            departmentCounts.add(departmentKey(department, ASSIGNED_KIND), sign);
+            if (status == COMPLETED) {
+                departmentCounts.add(departmentKey(department, COMPLETED_KIND), sign);
+            }
+        }
+
+        void addAttendance(long id, int day, byte status) {
+            if (day == AnalyticsSnapshot.NO_DAY) {
+                return;
+            }
+            attendanceByMonth.computeIfAbsent(epochMonth(day), key -> new Reservoir(reservoirSize))
+                    .add(id, day, status, random);
+        }
+
+        void removeAttendance(long id, int day) {
+            if (day == AnalyticsSnapshot.NO_DAY) {
+                return;
+            }
+            Reservoir sample = attendanceByMonth.get(epochMonth(day));
+            if (sample != null) {
+                sample.remove(id);
+            }
+        }
+    }
+
+    /** HyperLogLog with 2^p one-byte registers; standard error 1.04 / √(2^p). */
+    static final class HyperLogLog {
+        private final int precision;
+        private final byte[] registers;
+
+        HyperLogLog(int precision) {
+            this.precision = precision;
+            this.registers = new byte[1 << precision];
+        }
+
+        void add(long value) {
+            long hash = mix64(value);
+            int index = (int) (hash >>> (64 - precision));
+            int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+        }
+
+        double estimate() {
+            int m = registers.length;
+            double sum = 0;
+            int zeros = 0;
+            for (byte register : registers) {
+                sum += 1.0 / (1L << register);
+                if (register == 0) zeros++;
+            }
+            double estimate = 0.7213 / (1 + 1.079 / m) * m * m / sum;
+            if (estimate <= 2.5 * m && zeros > 0) {
+                // Small-range correction: linear counting over the empty registers
+                estimate = m * Math.log((double) m / zeros);
+            }
+            return estimate;
+        }
+    }
+
+    /** Count-min sketch over signed updates; estimates never undercount while true counts stay ≥ 0. */
+    static final class CountMinSketch {
+        private final long[][] cells;
+        private final int width;
+        long total;
+
+        CountMinSketch(int depth, int width) {
+            this.cells = new long[depth][width];
+            this.width = width;
+        }
+
+        void add(long key, long delta) {
+            for (int row = 0; row < cells.length; row++) {
+                cells[row][cell(key, row)] += delta;
+            }
+            total += delta;
+        }
+
+        long estimate(long key) {
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < cells.length; row++) {
+                estimate = Math.min(estimate, cells[row][cell(key, row)]);
+            }
+            return estimate;
+        }
+
+        private int cell(long key, int row) {
+            return (int) ((mix64(key + row * 0x632BE59BD9B4E019L) >>> 1) % width);
+        }
+    }
+
+    /** Uniform sample (Algorithm R) of up to capacity records out of population. */
+    static final class Reservoir {
+        final long[] ids;
+        final int[] days;
+        final byte[] statuses;
+        int size;
+        long population;
+        private final Map<Long, Integer> slotById = new HashMap<>();
+
+        Reservoir(int capacity) {
+            ids = new long[capacity];
+            days = new int[capacity];
+            statuses = new byte[capacity];
+        }
+
+        void add(long id, int day, byte status, SplittableRandom random) {
+            if (slotById.containsKey(id)) {
+                update(id, day, status);
+                return;
+            }
+            population++;
+            int slot;
+            if (size < ids.length) {
+                slot = size++;
+            } else {
+                long pick = random.nextLong(population);
+                if (pick >= ids.length) {
+                    return;
+                }
+                slot = (int) pick;
+                slotById.remove(ids[slot]);
+            }
+            set(slot, id, day, status);
+        }
+
+        /** Same record, same month: a sampled record just takes its new day / status. */
+        void update(long id, int day, byte status) {
+            Integer slot = slotById.get(id);
+            if (slot != null) {
+                days[slot] = day;
+                statuses[slot] = status;
+            }
+        }
+
+        void remove(long id) {
+            population--;
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                set(slot, ids[last], days[last], statuses[last]);
+            }
+        }
+
+        private void set(int slot, long id, int day, byte status) {
+            ids[slot] = id;
+            days[slot] = day;
+            statuses[slot] = status;
+            slotById.put(id, slot);
+        }
+    }
+}
@@ -0,0 +1,732 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * AnalyticsSnapshot — in-process, columnar copy of tasks and attendance for dashboards.
+ *
+ * LAYOUT (one primitive array per column, row i across all arrays):
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ tasks       long id │ byte status │ int createdDay │              │
+ * │             long creatorId │ long assigneeId │ int department    │
+ * │ attendance  long id │ long userId │ int day │ byte status │      │
+ * │             int department                                       │
+ * └──────────────────────────────────────────────────────────────────┘
+ *  status      → enum ordinal
+ *  day         → LocalDate.toEpochDay() (NO_DAY when unknown)
+ *  department  → code in a shared dictionary of rollup buckets
+ *                (RollupService.NO_ASSIGNEE / UNASSIGNED / name)
+ *  user ids    → NONE (0) when absent; IDENTITY ids start at 1
+ *
+ * LIFECYCLE
+ *  • Loaded from tasks and tasks_archive (archived tasks still count) on
+ *    the analytics pool once the application is ready (after
+ *    DataSeeder) and again on reload() — see /api/analytics/rollups/rebuild.
+ *  • Kept current from TaskChangedEvent / AttendanceChangedEvent after
+ *    commit, and from UserDeletedEvent for the tasks and attendance a user
+ *    delete cascades to (told to ChangeListeners as one delete each). Those listeners run before AnalyticsCache's, so an invalidated
+ *    dashboard is never recomputed from a snapshot that lacks the write.
+ *  • Rows are upserted by id with the committed "after" state, so replaying
+ *    an event that the load already saw is harmless. Deletes swap the last
+ *    row into the hole. Rows are found by id through a LongIntMap, so a
+ *    write boxes nothing either.
+ *
+ * ChangeListeners run inside the same write-locked section as the change
+ * they are told about, so state they derive from the snapshot (see
+ * ScorecardService) can be read consistently with readConsistent().
+ *
+ * Queries are single passes over the arrays under a read lock, with all
+ * counters in primitive arrays — no entities, boxing or per-row allocation.
+ * The snapshot is per JVM: with several backend instances each would only
+ * see its own writes between reloads.
+ */
+@Component
+public class AnalyticsSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsSnapshot.class);
+
+    /** Which tasks a query covers. */
+    public enum TaskScope { ALL, CREATED_BY, ASSIGNED_TO }
+
+    /** Told about every applied change while the write lock is held; must be quick. */
+    interface ChangeListener {
+        void taskChanged(TaskSnapshot before, TaskSnapshot after);
+
+        void attendanceChanged(AttendanceSnapshot before, AttendanceSnapshot after);
+
+        /** The whole snapshot was replaced by reload(). */
+        void reloaded();
+    }
+
+    /** One task row, as passed to forEachTask. */
+    interface TaskRowVisitor {
+        void visit(long id, byte status, int createdDay, long creatorId, long assigneeId, String department);
+    }
+
+    /** One attendance row, as passed to forEachAttendance. */
+    interface AttendanceRowVisitor {
+        void visit(long id, int day, byte status);
+    }
+
+    static final int NO_DAY = Integer.MIN_VALUE;
+    static final long NONE = 0L;
+
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+    private static final byte COMPLETED = (byte) TaskStatus.COMPLETED.ordinal();
+    private static final byte CANCELLED = (byte) TaskStatus.CANCELLED.ordinal();
+
+    private final JdbcTemplate jdbc;
+    private final long loadWaitMs;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    // Guarded by lock
+    private final Departments departments = new Departments();
+    private final TaskColumns tasks = new TaskColumns();
+    private final AttendanceColumns attendance = new AttendanceColumns();
+
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    public AnalyticsSnapshot(@Qualifier("analyticsDataSource") DataSource analyticsDataSource,
+                             @Value("${app.analytics.snapshot.load-wait-ms:30000}") long loadWaitMs) {
+        this.jdbc = new JdbcTemplate(analyticsDataSource);
+        this.jdbc.setFetchSize(1000);
+        this.loadWaitMs = loadWaitMs;
+    }
+
+    // ----------------------------------------------------------------
+    // LOAD
+    // ----------------------------------------------------------------
+
+    /** Runs first so ApplicationReadyEvent listeners that read the snapshot find it loaded. */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (DataAccessException ex) {
+            log.error("[Snapshot] Initial load failed, dashboards start empty until reload(): {}", ex.getMessage());
+        }
+    }
+
+    /** Replace the snapshot with the current contents of tasks / attendance. */
+    public void reload() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            tasks.clear();
+            attendance.clear();
+            jdbc.query("SELECT t.id, t.status, t.created_at, t.created_by_id, t.assigned_to_id, u.department "
+                            + "FROM (SELECT id, status, created_at, created_by_id, assigned_to_id FROM tasks "
+                            + "UNION ALL SELECT id, status, created_at, created_by_id, assigned_to_id FROM tasks_archive) t "
+                            + "LEFT JOIN users u ON u.id = t.assigned_to_id",
+                    rs -> {
+                        long assigneeId = rs.getLong("assigned_to_id");
+                        Timestamp createdAt = rs.getTimestamp("created_at");
+                        tasks.upsert(rs.getLong("id"),
+                                (byte) TaskStatus.valueOf(rs.getString("status")).ordinal(),
+                                createdAt != null ? (int) createdAt.toLocalDateTime().toLocalDate().toEpochDay() : NO_DAY,
+                                rs.getLong("created_by_id"),
+                                assigneeId,
+                                departments.code(assigneeId == NONE
+                                        ? RollupService.NO_ASSIGNEE
+                                        : RollupService.departmentBucket(rs.getString("department"))));
+                    });
+            jdbc.query("SELECT a.id, a.user_id, a.date, a.status, u.department "
+                            + "FROM attendance a JOIN users u ON u.id = a.user_id",
+                    rs -> {
+                        attendance.upsert(rs.getLong("id"),
+                                rs.getLong("user_id"),
+                                (int) rs.getDate("date").toLocalDate().toEpochDay(),
+                                (byte) AttendanceStatus.valueOf(rs.getString("status")).ordinal(),
+                                departments.code(RollupService.departmentBucket(rs.getString("department"))));
+                    });
+            log.info("[Snapshot] Loaded {} task(s) and {} attendance record(s) in {} ms",
+                    tasks.size, attendance.size, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            changeListeners.forEach(ChangeListener::reloaded);
+        } finally {
+            lock.writeLock().unlock();
+            loaded.countDown();
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // WRITE-PATH LISTENERS
+    // ----------------------------------------------------------------
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.after() == null) {
+                tasks.remove(event.before().id());
+            } else {
+                TaskSnapshot task = event.after();
+                tasks.upsert(task.id(),
+                        (byte) task.status().ordinal(),
+                        task.createdAt() != null ? (int) task.createdAt().toLocalDate().toEpochDay() : NO_DAY,
+                        orNone(task.creatorId()),
+                        orNone(task.assigneeId()),
+                        departments.code(task.department()));
+            }
+            changeListeners.forEach(listener -> listener.taskChanged(event.before(), event.after()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.after() == null) {
+                attendance.remove(event.before().id());
+            } else {
+                AttendanceSnapshot record = event.after();
+                attendance.upsert(record.id(),
+                        orNone(record.userId()),
+                        record.date() != null ? (int) record.date().toEpochDay() : NO_DAY,
+                        (byte) record.status().ordinal(),
+                        departments.code(record.department()));
+            }
+            changeListeners.forEach(listener -> listener.attendanceChanged(event.before(), event.after()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TaskSnapshot task : event.tasks()) {
+                tasks.remove(task.id());
+                changeListeners.forEach(listener -> listener.taskChanged(task, null));
+            }
+            for (AttendanceSnapshot record : event.attendance()) {
+                attendance.remove(record.id());
+                changeListeners.forEach(listener -> listener.attendanceChanged(record, null));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // TASK QUERIES
+    // ----------------------------------------------------------------
+
+    /** Task totals indexed by TaskStatus ordinal. */
+    public long[] countTasksByStatus(TaskScope scope, long userId) {
+        long[] counts = new long[TASK_STATUSES.length];
+        readLocked(() -> {
+            long[] owners = ownerColumn(scope);
+            byte[] status = tasks.status;
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                if (owners != null && owners[i] != userId) continue;
+                counts[status[i]]++;
+            }
+        });
+        return counts;
+    }
+
+    /** Completed tasks created on or after since. */
+    public long countCompletedSince(TaskScope scope, long userId, LocalDate since) {
+        int fromDay = (int) since.toEpochDay();
+        long[] count = new long[1];
+        readLocked(() -> {
+            long[] owners = ownerColumn(scope);
+            byte[] status = tasks.status;
+            int[] day = tasks.createdDay;
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                if (owners != null && owners[i] != userId) continue;
+                if (status[i] == COMPLETED && day[i] != NO_DAY && day[i] >= fromDay) {
+                    count[0]++;
+                }
+            }
+        });
+        return count[0];
+    }
+
+    /** Number of distinct assignees over the covered tasks. */
+    public int countDistinctAssignees(TaskScope scope, long userId) {
+        int[] distinct = new int[1];
+        readLocked(() -> {
+            long[] owners = ownerColumn(scope);
+            long[] assignees = tasks.assigneeId;
+            long[] ids = new long[tasks.size];
+            int found = 0;
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                if (owners != null && owners[i] != userId) continue;
+                if (assignees[i] != NONE) ids[found++] = assignees[i];
+            }
+            Arrays.sort(ids, 0, found);
+            for (int i = 0; i < found; i++) {
+                if (i == 0 || ids[i] != ids[i - 1]) distinct[0]++;
+            }
+        });
+        return distinct[0];
+    }
+
+    /** Tasks created per 7-day bucket starting at startWeek; optionally COMPLETED only. */
+    public long[] countCreatedPerWeek(TaskScope scope, long userId, LocalDate startWeek, int weeks, boolean completedOnly) {
+        long[] counts = new long[weeks];
+        int fromDay = (int) startWeek.toEpochDay();
+        int toDay = fromDay + weeks * 7;
+        readLocked(() -> {
+            long[] owners = ownerColumn(scope);
+            byte[] status = tasks.status;
+            int[] day = tasks.createdDay;
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                if (owners != null && owners[i] != userId) continue;
+                if (day[i] == NO_DAY || day[i] < fromDay || day[i] >= toDay) continue;
+                if (completedOnly && status[i] != COMPLETED) continue;
+                counts[(day[i] - fromDay) / 7]++;
+            }
+        });
+        return counts;
+    }
+
+    /** Per 7-day bucket: [week][0] still open, [week][1] completed or cancelled. */
+    public long[][] countRiskPerWeek(TaskScope scope, long userId, LocalDate startWeek, int weeks) {
+        long[][] counts = new long[weeks][2];
+        int fromDay = (int) startWeek.toEpochDay();
+        int toDay = fromDay + weeks * 7;
+        readLocked(() -> {
+            long[] owners = ownerColumn(scope);
+            byte[] status = tasks.status;
+            int[] day = tasks.createdDay;
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                if (owners != null && owners[i] != userId) continue;
+                if (day[i] == NO_DAY || day[i] < fromDay || day[i] >= toDay) continue;
+                boolean closed = status[i] == COMPLETED || status[i] == CANCELLED;
+                counts[(day[i] - fromDay) / 7][closed ? 1 : 0]++;
+            }
+        });
+        return counts;
+    }
+
+    /** Tasks created per calendar month, for months starting at startMonth. */
+    public long[] countCreatedPerMonth(LocalDate startMonth, int months) {
+        long[] counts = new long[months];
+        int[] bounds = monthBounds(startMonth, months);
+        readLocked(() -> {
+            int[] day = tasks.createdDay;
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                int month = monthIndex(bounds, day[i]);
+                if (month >= 0) counts[month]++;
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Department bucket → {assigned, completed} over the covered tasks.
+     * Tasks without an assignee are excluded.
+     */
+    public Map<String, long[]> countCompletionByDepartment(TaskScope scope, long userId) {
+        Map<String, long[]> output = new LinkedHashMap<>();
+        readLocked(() -> {
+            int codes = departments.names.size();
+            long[] assigned = new long[codes];
+            long[] completed = new long[codes];
+            long[] owners = ownerColumn(scope);
+            byte[] status = tasks.status;
+            int[] department = tasks.department;
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                if (owners != null && owners[i] != userId) continue;
+                assigned[department[i]]++;
+                if (status[i] == COMPLETED) completed[department[i]]++;
+            }
+            for (int code = 0; code < codes; code++) {
+                String name = departments.names.get(code);
+                if (assigned[code] > 0 && !RollupService.NO_ASSIGNEE.equals(name)) {
+                    output.put(name, new long[]{assigned[code], completed[code]});
+                }
+            }
+        });
+        return output;
+    }
+
+    // ----------------------------------------------------------------
+    // ATTENDANCE QUERIES
+    // ----------------------------------------------------------------
+
+    public long countAttendance() {
+        long[] count = new long[1];
+        readLocked(() -> count[0] = attendance.size);
+        return count[0];
+    }
+
+    /**
+     * Per calendar month starting at startMonth: [month][0] records,
+     * [month][1] records whose status is in attended. Days after lastDay
+     * are ignored; userId NONE covers everyone.
+     */
+    public long[][] countAttendancePerMonth(long userId, LocalDate startMonth, int months,
+                                            LocalDate lastDay, Collection<AttendanceStatus> attended) {
+        long[][] counts = new long[months][2];
+        int[] bounds = monthBounds(startMonth, months);
+        int maxDay = (int) lastDay.toEpochDay();
+        boolean[] attendedMask = statusMask(attended);
+        readLocked(() -> {
+            long[] users = attendance.userId;
+            int[] day = attendance.day;
+            byte[] status = attendance.status;
+            for (int i = 0, n = attendance.size; i < n; i++) {
+                if (userId != NONE && users[i] != userId) continue;
+                if (day[i] > maxDay) continue;
+                int month = monthIndex(bounds, day[i]);
+                if (month < 0) continue;
+                counts[month][0]++;
+                if (attendedMask[status[i]]) counts[month][1]++;
+            }
+        });
+        return counts;
+    }
+
+    /** {records, attended} for one user with from ≤ day ≤ to. */
+    public long[] countAttendance(long userId, LocalDate from, LocalDate to, Collection<AttendanceStatus> attended) {
+        long[] counts = new long[2];
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        boolean[] attendedMask = statusMask(attended);
+        readLocked(() -> {
+            long[] users = attendance.userId;
+            int[] day = attendance.day;
+            byte[] status = attendance.status;
+            for (int i = 0, n = attendance.size; i < n; i++) {
+                if (users[i] != userId || day[i] < fromDay || day[i] > toDay) continue;
+                counts[0]++;
+                if (attendedMask[status[i]]) counts[1]++;
+            }
+        });
+        return counts;
+    }
+
+    // ----------------------------------------------------------------
+    // EMPLOYEE SCORECARDS
+    // ----------------------------------------------------------------
+
+    void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /** Whether the first load has finished, i.e. readers no longer wait for it. */
+    boolean isLoaded() {
+        return loaded.getCount() == 0;
+    }
+
+    /** Run read under the read lock: no change or ChangeListener call interleaves with it. */
+    <T> T readConsistent(Supplier<T> read) {
+        awaitLoaded();
+        lock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Scorecard totals of one employee (tasks assigned to them, their attendance). */
+    ScorecardTotals countScorecard(long userId, ScorecardTotals.Windows windows) {
+        ScorecardTotals totals = new ScorecardTotals(windows);
+        readLocked(() -> {
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                if (tasks.assigneeId[i] == userId) {
+                    totals.addTask(tasks.status[i], tasks.createdDay[i], 1);
+                }
+            }
+            for (int i = 0, n = attendance.size; i < n; i++) {
+                if (attendance.userId[i] == userId) {
+                    totals.addAttendance(attendance.day[i], attendance.status[i], 1);
+                }
+            }
+        });
+        return totals;
+    }
+
+    /**
+     * Scorecard totals of every assignee / attendee in one pass per table.
+     * The rows are split into chunks counted in parallel on the common
+     * fork-join pool, then merged; the caller's read lock keeps the arrays
+     * still while the workers read them.
+     */
+    Map<Long, ScorecardTotals> countScorecards(ScorecardTotals.Windows windows, int chunks) {
+        Map<Long, ScorecardTotals> merged = new HashMap<>();
+        readLocked(() -> IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> countScorecardChunk(windows, chunk, chunks))
+                .toList()
+                .forEach(partial -> partial.forEach((userId, totals) ->
+                        merged.computeIfAbsent(userId, key -> new ScorecardTotals(windows)).merge(totals))));
+        return merged;
+    }
+
+    private Map<Long, ScorecardTotals> countScorecardChunk(ScorecardTotals.Windows windows, int chunk, int chunks) {
+        Map<Long, ScorecardTotals> partial = new HashMap<>();
+        int taskFrom = (int) ((long) tasks.size * chunk / chunks);
+        int taskTo = (int) ((long) tasks.size * (chunk + 1) / chunks);
+        for (int i = taskFrom; i < taskTo; i++) {
+            if (tasks.assigneeId[i] == NONE) continue;
+            partial.computeIfAbsent(tasks.assigneeId[i], key -> new ScorecardTotals(windows))
+                    .addTask(tasks.status[i], tasks.createdDay[i], 1);
+        }
+        int attendanceFrom = (int) ((long) attendance.size * chunk / chunks);
+        int attendanceTo = (int) ((long) attendance.size * (chunk + 1) / chunks);
+        for (int i = attendanceFrom; i < attendanceTo; i++) {
+            partial.computeIfAbsent(attendance.userId[i], key -> new ScorecardTotals(windows))
+                    .addAttendance(attendance.day[i], attendance.status[i], 1);
+        }
+        return partial;
+    }
+
+    // ----------------------------------------------------------------
+    // ROW ITERATION (seeds AnalyticsSketches)
+    // ----------------------------------------------------------------
+
+    /** Visit every task row; department is the rollup bucket name. */
+    void forEachTask(TaskRowVisitor visitor) {
+        readLocked(() -> {
+            for (int i = 0, n = tasks.size; i < n; i++) {
+                visitor.visit(tasks.id[i], tasks.status[i], tasks.createdDay[i],
+                        tasks.creatorId[i], tasks.assigneeId[i], departments.names.get(tasks.department[i]));
+            }
+        });
+    }
+
+    /** Visit every attendance row. */
+    void forEachAttendance(AttendanceRowVisitor visitor) {
+        readLocked(() -> {
+            for (int i = 0, n = attendance.size; i < n; i++) {
+                visitor.visit(attendance.id[i], attendance.day[i], attendance.status[i]);
+            }
+        });
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Run a read under the read lock, waiting for the initial load first. */
+    private void readLocked(Runnable read) {
+        awaitLoaded();
+        lock.readLock().lock();
+        try {
+            read.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void awaitLoaded() {
+        try {
+            if (!loaded.await(loadWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Analytics snapshot is still loading, try again shortly.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the analytics snapshot.", ex);
+        }
+    }
+
+    private long[] ownerColumn(TaskScope scope) {
+        return switch (scope) {
+            case ALL         -> null;
+            case CREATED_BY  -> tasks.creatorId;
+            case ASSIGNED_TO -> tasks.assigneeId;
+        };
+    }
+
+    /** bounds[k] = first epoch day of month k; bounds[months] = first day after the window. */
+    static int[] monthBounds(LocalDate startMonth, int months) {
+        LocalDate first = startMonth.withDayOfMonth(1);
+        int[] bounds = new int[months + 1];
+        for (int k = 0; k <= months; k++) {
+            bounds[k] = (int) first.plusMonths(k).toEpochDay();
+        }
+        return bounds;
+    }
+
+    static int monthIndex(int[] bounds, int day) {
+        if (day == NO_DAY || day < bounds[0] || day >= bounds[bounds.length - 1]) {
+            return -1;
+        }
+        int month = 0;
+        while (day >= bounds[month + 1]) month++;
+        return month;
+    }
+
+    private static boolean[] statusMask(Collection<AttendanceStatus> statuses) {
+        boolean[] mask = new boolean[AttendanceStatus.values().length];
+        statuses.forEach(status -> mask[status.ordinal()] = true);
+        return mask;
+    }
+
+    private static long orNone(Long id) {
+        return id != null ? id : NONE;
+    }
+
+    /** Department bucket dictionary; codes are never reused. */
+    private static final class Departments {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        int code(String name) {
+            return codes.computeIfAbsent(name, key -> {
+                names.add(key);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    /** Row bookkeeping shared by both tables: id → row (primitive LongIntMap), growth, swap-remove. */
+    private abstract static class Columns {
+        int size;
+        long[] id = new long[0];
+        final LongIntMap rowById = new LongIntMap();
+
+        /** Row for id, appending (and growing every column) when it is new. */
+        int rowFor(long rowId) {
+            int row = rowById.get(rowId);
+            if (row != LongIntMap.MISSING) {
+                return row;
+            }
+            if (size == id.length) {
+                grow(Math.max(16, id.length * 2));
+            }
+            id[size] = rowId;
+            rowById.put(rowId, size);
+            return size++;
+        }
+
+        void remove(long rowId) {
+            int row = rowById.remove(rowId);
+            if (row == LongIntMap.MISSING) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                move(last, row);
+                id[row] = id[last];
+                rowById.put(id[row], row);
+            }
+        }
+
+        void clear() {
+            size = 0;
+            rowById.clear();
+        }
+
+        abstract void grow(int capacity);
+
+        abstract void move(int from, int to);
+    }
+
+    private static final class TaskColumns extends Columns {
+        byte[] status = new byte[0];
+        int[] createdDay = new int[0];
+        long[] creatorId = new long[0];
+        long[] assigneeId = new long[0];
+        int[] department = new int[0];
+
+        void upsert(long taskId, byte taskStatus, int day, long creator, long assignee, int departmentCode) {
+            int row = rowFor(taskId);
+            status[row] = taskStatus;
+            createdDay[row] = day;
+            creatorId[row] = creator;
+            assigneeId[row] = assignee;
+            department[row] = departmentCode;
+        }
+
+        @Override
+        void grow(int capacity) {
+            id = Arrays.copyOf(id, capacity);
+            status = Arrays.copyOf(status, capacity);
+            createdDay = Arrays.copyOf(createdDay, capacity);
+            creatorId = Arrays.copyOf(creatorId, capacity);
+            assigneeId = Arrays.copyOf(assigneeId, capacity);
+            department = Arrays.copyOf(department, capacity);
+        }
+
+        @Override
+        void move(int from, int to) {
+            status[to] = status[from];
+            createdDay[to] = createdDay[from];
+            creatorId[to] = creatorId[from];
+            assigneeId[to] = assigneeId[from];
+            department[to] = department[from];
+        }
+    }
+
+    private static final class AttendanceColumns extends Columns {
+        long[] userId = new long[0];
+        int[] day = new int[0];
+        byte[] status = new byte[0];
+        int[] department = new int[0];
+
+        void upsert(long recordId, long user, int epochDay, byte recordStatus, int departmentCode) {
+            int row = rowFor(recordId);
+            userId[row] = user;
+            day[row] = epochDay;
+            status[row] = recordStatus;
+            department[row] = departmentCode;
+        }
+
+        @Override
+        void grow(int capacity) {
+            id = Arrays.copyOf(id, capacity);
+            userId = Arrays.copyOf(userId, capacity);
+            day = Arrays.copyOf(day, capacity);
+            status = Arrays.copyOf(status, capacity);
+            department = Arrays.copyOf(department, capacity);
+        }
+
+        @Override
+        void move(int from, int to) {
+            userId[to] = userId[from];
+            day[to] = day[from];
+            status[to] = status[from];
+            department[to] = department[from];
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.swms.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swms.backend.dto.response.analytics.AnalyticsDeltaDto;
+import com.swms.backend.enums.Role;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AnalyticsStreamService — pushes live dashboard deltas over Server-Sent Events.
+ *
+ * FLOW:
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ 1. subscribe() registers an SseEmitter for the caller's scope:   │
+ * │      ADMIN → one shared scope, MANAGER / EMPLOYEE → per user     │
+ * │    and sends a full "snapshot" event.                            │
+ * │ 2. Task / attendance commits mark the affected scopes dirty:     │
+ * │      task       → ADMIN, MANAGER creator, EMPLOYEE assignee(s)   │
+ * │      attendance → ADMIN, EMPLOYEE owner                          │
+ * │ 3. After app.analytics.stream.coalesce-ms, each dirty scope is   │
+ * │    recomputed ONCE, diffed against the last payload pushed, and  │
+ * │    the resulting "delta" event is fanned out to every emitter    │
+ * │    of that scope.                                                │
+ * └──────────────────────────────────────────────────────────────────┘
+ *
+ * All per-scope state is touched only on the single stream thread, so
+ * snapshots and deltas for a scope are always produced in order.
+ * SseEmitter completes the request asynchronously: an open stream holds
+ * a socket, not a Tomcat worker thread.
+ *
+ * SENDING:
+ *   The stream thread never writes to a socket. Every event is queued on
+ *   its subscriber's outbox (at most app.analytics.stream.queue-capacity
+ *   events) and a small send pool drains each outbox in order, one
+ *   thread per subscriber at a time. A client that stops reading (full
+ *   TCP window) blocks only its own sender thread, and is dropped when
+ *     - its outbox fills up               → on the next enqueue
+ *     - a send outlives send-timeout-ms   → by the stall check
+ *   A dropped subscriber gets nothing more queued. The stall check also
+ *   adds a sender thread for as long as the stuck write lasts (until the
+ *   container's write timeout fails it), so stalled clients never eat
+ *   into the pool the healthy ones are served from. The emitter is
+ *   completed by whichever thread owns its writes: SseEmitter.complete()
+ *   waits for a send in flight.
+ */
+@Service
+public class AnalyticsStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsStreamService.class);
+
+    /** ADMIN dashboards are identical for every admin, so they share one scope. */
+    private record Scope(Role role, Long userId) {
+        static Scope of(AuthenticatedUser user) {
+            return user.is(Role.ADMIN)
+                    ? new Scope(Role.ADMIN, null)
+                    : new Scope(user.role(), user.id());
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, Scope scope, AuthenticatedUser caller, Outbox outbox) {}
+
+    /** Events waiting to be written to one subscriber; guarded by its own monitor. */
+    private static final class Outbox {
+        private final Deque<SseEmitter.SseEventBuilder> events = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        /** Dropped while a send was in flight: the drain thread completes the emitter. */
+        private boolean completePending;
+        /** The send in flight was counted as stalled and given a replacement thread. */
+        private boolean stalled;
+        /** System.nanoTime() when the send in flight started, 0 when idle. */
+        private volatile long sendingSince;
+    }
+
+    private final AnalyticsService analyticsService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final long timeoutMs;
+    private final long coalesceMs;
+    private final long sendTimeoutNanos;
+    private final int queueCapacity;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Set<Scope> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /** Last payload pushed per scope — only read / written on the stream thread. */
+    private final Map<Scope, JsonNode> lastPushed = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService streamThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analytics-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ThreadPoolExecutor sendPool;
+
+    public AnalyticsStreamService(AnalyticsService analyticsService,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.analytics.stream.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${app.analytics.stream.coalesce-ms:500}") long coalesceMs,
+                                  @Value("${app.analytics.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                                  @Value("${app.analytics.stream.send-threads:4}") int sendThreads,
+                                  @Value("${app.analytics.stream.send-timeout-ms:10000}") long sendTimeoutMs,
+                                  @Value("${app.analytics.stream.queue-capacity:32}") int queueCapacity) {
+        this.analyticsService = analyticsService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.timeoutMs = timeoutMs;
+        this.coalesceMs = coalesceMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.queueCapacity = queueCapacity;
+        AtomicInteger senders = new AtomicInteger();
+        this.sendPool = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "analytics-stream-send-" + senders.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        streamThread.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        streamThread.scheduleAtFixedRate(this::dropStalled, sendTimeoutMs, sendTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    // ----------------------------------------------------------------
+    // SUBSCRIBE
+    // ----------------------------------------------------------------
+
+    public SseEmitter subscribe(AuthenticatedUser caller) {
+        return subscribe(caller, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(AuthenticatedUser caller, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, Scope.of(caller), caller, new Outbox());
+
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> {
+            close(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(ex -> close(subscriber));
+
+        subscribers.add(subscriber);
+        streamThread.execute(() -> sendSnapshot(subscriber));
+        return emitter;
+    }
+
+    // ----------------------------------------------------------------
+    // CHANGE LISTENERS
+    // ----------------------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        markDirty(new Scope(Role.ADMIN, null));
+        event.creatorIds().forEach(id -> markDirty(new Scope(Role.MANAGER, id)));
+        event.assigneeIds().forEach(id -> markDirty(new Scope(Role.EMPLOYEE, id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        markDirty(new Scope(Role.ADMIN, null));
+        markDirty(new Scope(Role.EMPLOYEE, event.userId()));
+    }
+
+    private void markDirty(Scope scope) {
+        if (subscribers.stream().noneMatch(s -> s.scope().equals(scope))) {
+            return;
+        }
+        dirty.add(scope);
+        if (flushScheduled.compareAndSet(false, true)) {
+            streamThread.schedule(this::flush, coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // STREAM THREAD
+    // ----------------------------------------------------------------
+
+    private void sendSnapshot(Subscriber subscriber) {
+        try {
+            // Always reload (cache-backed) and bring existing subscribers of the scope up to it too
+            JsonNode payload = load(subscriber.scope(), subscriber.caller());
+            JsonNode previous = lastPushed.put(subscriber.scope(), payload);
+            if (previous != null) {
+                publishDelta(subscriber.scope(), diff(previous, payload), subscriber);
+            }
+            send(subscriber, "snapshot", payload);
+        } catch (RuntimeException ex) {
+            log.warn("[Stream] Snapshot failed for {}: {}", subscriber.scope(), ex.getMessage());
+            subscriber.emitter().completeWithError(ex);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        Set<Scope> scopes = new HashSet<>(dirty);
+        dirty.removeAll(scopes);
+
+        for (Scope scope : scopes) {
+            List<Subscriber> audience = subscribers.stream().filter(s -> s.scope().equals(scope)).toList();
+            if (audience.isEmpty()) {
+                lastPushed.remove(scope);
+                continue;
+            }
+            try {
+                JsonNode current = load(scope, audience.get(0).caller());
+                JsonNode previous = lastPushed.put(scope, current);
+                publishDelta(scope, diff(previous, current), null);
+            } catch (RuntimeException ex) {
+                log.warn("[Stream] Delta failed for {}: {}", scope, ex.getMessage());
+            }
+        }
+    }
+
+    private void publishDelta(Scope scope, AnalyticsDeltaDto delta, Subscriber except) {
+        if (delta.getChanged().isEmpty() && delta.getRemoved().isEmpty()) {
+            return;
+        }
+        subscribers.stream()
+                .filter(s -> s.scope().equals(scope) && s != except)
+                .forEach(s -> send(s, "delta", delta));
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("keep-alive")));
+    }
+
+    /** Drop every subscriber whose send in flight has outlived the send timeout. */
+    private void dropStalled() {
+        long now = System.nanoTime();
+        subscribers.forEach(subscriber -> {
+            Outbox outbox = subscriber.outbox();
+            long since = outbox.sendingSince;
+            if (since == 0 || now - since <= sendTimeoutNanos) {
+                return;
+            }
+            synchronized (outbox) {
+                if (outbox.stalled || outbox.sendingSince != since) {
+                    return;
+                }
+                outbox.stalled = true;
+            }
+            resizeSendPool(1);
+            drop(subscriber, "send timed out");
+        });
+    }
+
+    /** Compute the role's analytics payload (cache-backed) inside a read-only transaction. */
+    private JsonNode load(Scope scope, AuthenticatedUser caller) {
+        return readOnlyTx.execute(status -> objectMapper.valueToTree(switch (scope.role()) {
+            case ADMIN    -> analyticsService.getAdminAnalytics(caller);
+            case MANAGER  -> analyticsService.getManagerAnalytics(caller);
+            case EMPLOYEE -> analyticsService.getEmployeeAnalytics(caller);
+        }));
+    }
+
+    private void send(Subscriber subscriber, String name, Object payload) {
+        enqueue(subscriber, SseEmitter.event().name(name).data(payload));
+    }
+
+    // ----------------------------------------------------------------
+    // OUTBOXES
+    // ----------------------------------------------------------------
+
+    /** Queue event for subscriber and start draining its outbox; drops a subscriber whose outbox is full. */
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        Outbox outbox = subscriber.outbox();
+        synchronized (outbox) {
+            if (outbox.closed) {
+                return;
+            }
+            if (outbox.events.size() < queueCapacity) {
+                outbox.events.add(event);
+                if (!outbox.draining) {
+                    outbox.draining = true;
+                    sendPool.execute(() -> drain(subscriber));
+                }
+                return;
+            }
+        }
+        drop(subscriber, "outbox full");
+    }
+
+    /** Send pool: write the subscriber's queued events in order until its outbox is empty. */
+    private void drain(Subscriber subscriber) {
+        Outbox outbox = subscriber.outbox();
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            boolean complete = false;
+            synchronized (outbox) {
+                event = outbox.closed ? null : outbox.events.poll();
+                if (event == null) {
+                    outbox.draining = false;
+                    complete = outbox.completePending;
+                }
+            }
+            if (event == null) {
+                if (complete) {
+                    subscriber.emitter().complete();
+                }
+                return;
+            }
+            outbox.sendingSince = System.nanoTime();
+            try {
+                subscriber.emitter().send(event);
+            } catch (IOException | IllegalStateException ex) {
+                close(subscriber);
+            } finally {
+                boolean stalled;
+                synchronized (outbox) {
+                    outbox.sendingSince = 0;
+                    stalled = outbox.stalled;
+                    outbox.stalled = false;
+                }
+                if (stalled) {
+                    resizeSendPool(-1);
+                }
+            }
+        }
+    }
+
+    /** Forget the subscriber and discard whatever it still had queued. */
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        Outbox outbox = subscriber.outbox();
+        synchronized (outbox) {
+            outbox.closed = true;
+            outbox.events.clear();
+        }
+    }
+
+    /** Close a slow subscriber and end its response, now if idle or after the send in flight. */
+    private void drop(Subscriber subscriber, String reason) {
+        log.info("[Stream] Dropping {} subscriber: {}", subscriber.scope(), reason);
+        close(subscriber);
+        Outbox outbox = subscriber.outbox();
+        synchronized (outbox) {
+            if (outbox.draining) {
+                outbox.completePending = true;
+                return;
+            }
+        }
+        subscriber.emitter().complete();
+    }
+
+    /** Add or retire one sender thread; a stalled write must not hold a slot of the pool. */
+    private void resizeSendPool(int delta) {
+        synchronized (sendPool) {
+            int size = sendPool.getCorePoolSize() + delta;
+            if (delta > 0) {
+                sendPool.setMaximumPoolSize(size);
+                sendPool.setCorePoolSize(size);
+            } else {
+                sendPool.setCorePoolSize(size);
+                sendPool.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    /**
+     * Label-keyed diff of two analytics payloads. Every top-level field is a
+     * list of points with a "label"; changed / new points are sent whole.
+     */
+    private static AnalyticsDeltaDto diff(JsonNode previous, JsonNode current) {
+        Map<String, List<JsonNode>> changed = new LinkedHashMap<>();
+        Map<String, List<String>> removed = new LinkedHashMap<>();
+
+        Iterator<String> names = current.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            Map<String, JsonNode> before = byLabel(previous != null ? previous.get(name) : null);
+            List<JsonNode> changedPoints = new ArrayList<>();
+            for (JsonNode point : current.path(name)) {
+                String label = point.path("label").asText();
+                if (!point.equals(before.remove(label))) {
+                    changedPoints.add(point);
+                }
+            }
+            if (!changedPoints.isEmpty()) {
+                changed.put(name, changedPoints);
+            }
+            if (!before.isEmpty()) {
+                removed.put(name, new ArrayList<>(before.keySet()));
+            }
+        }
+        return AnalyticsDeltaDto.builder().changed(changed).removed(removed).build();
+    }
+
+    private static Map<String, JsonNode> byLabel(JsonNode series) {
+        Map<String, JsonNode> points = new LinkedHashMap<>();
+        if (series != null) {
+            series.forEach(point -> points.put(point.path("label").asText(), point));
+        }
+        return points;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streamThread.shutdownNow();
+        sendPool.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+}
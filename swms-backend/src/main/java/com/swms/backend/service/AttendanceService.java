@@ -6,10 +6,17 @@ import com.swms.backend.entity.Attendance;
 import com.swms.backend.entity.User;
 import com.swms.backend.enums.AttendanceStatus;
 import com.swms.backend.enums.Role;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.exception.ConflictException;
 import com.swms.backend.exception.ResourceNotFoundException;
 import com.swms.backend.repository.AttendanceRepository;
+import com.swms.backend.repository.AttendanceWriter;
+import com.swms.backend.security.AuthenticatedUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -28,6 +35,13 @@ import java.util.List;
  *  checkIn between 09:01–10:00   → LATE
  *  no checkIn by end of day      → ABSENT
  *  checkOut before 13:00         → HALF_DAY
+ *
+ * Check-in is a single INSERT … ON DUPLICATE KEY UPDATE (AttendanceWriter):
+ * a second record for the same user and day — sequential or concurrent —
+ * is a 409 Conflict, never a duplicate-key error.
+ *
+ * Writes adjust the daily attendance rollups (RollupService) in the same
+ * transaction as the attendance row and publish an AttendanceChangedEvent.
  */
 @Service
 public class AttendanceService {
@@ -37,49 +51,53 @@ public class AttendanceService {
     private static final LocalTime HALF_DAY_CUTOFF    = LocalTime.of(13, 0);
 
     private final AttendanceRepository attendanceRepository;
+    private final AttendanceWriter attendanceWriter;
     private final UserService userService;
+    private final RollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AttendanceService(AttendanceRepository attendanceRepository,
-                             UserService userService) {
+                             AttendanceWriter attendanceWriter,
+                             UserService userService,
+                             RollupService rollupService,
+                             ApplicationEventPublisher eventPublisher) {
         this.attendanceRepository = attendanceRepository;
+        this.attendanceWriter     = attendanceWriter;
         this.userService          = userService;
+        this.rollupService        = rollupService;
+        this.eventPublisher       = eventPublisher;
     }
 
     // ----------------------------------------------------------------
     // CREATE (check-in)
     // ----------------------------------------------------------------
 
-    public AttendanceResponse create(AttendanceRequest req, String callerEmail) {
-        User caller = userService.findByEmail(callerEmail);
-        User target = userService.findByEmail(
-                userService.getById(req.getUserId()).getEmail()
-        );
-
+    @Transactional
+    public AttendanceResponse create(AttendanceRequest req, AuthenticatedUser caller) {
         // Employees can only log their own attendance
-        if (caller.getRole() == Role.EMPLOYEE
-                && !caller.getId().equals(target.getId())) {
+        if (caller.is(Role.EMPLOYEE)
+                && !caller.id().equals(req.getUserId())) {
             throw new AccessDeniedException("You can only record your own attendance.");
         }
-
-        // Enforce one record per user per day
-        attendanceRepository.findByUserAndDate(target, req.getDate()).ifPresent(a -> {
-            throw new IllegalArgumentException(
-                    "Attendance already recorded for " + target.getName()
-                    + " on " + req.getDate());
-        });
-
-        AttendanceStatus status = resolveStatus(req);
+        // One primary-key read: 404 for an unknown user, name and department for the response and rollups
+        User target = userService.findById(req.getUserId());
 
         Attendance record = Attendance.builder()
                 .user(target)
                 .date(req.getDate())
                 .checkIn(req.getCheckIn())
                 .checkOut(req.getCheckOut())
-                .status(status)
+                .status(resolveStatus(req))
                 .notes(req.getNotes())
                 .build();
 
-        return toResponse(attendanceRepository.save(record));
+        // One record per user per day, enforced by uk_user_date in the same statement
+        if (!attendanceWriter.insertIfAbsent(record)) {
+            throw new ConflictException("Attendance already recorded for " + target.getName()
+                    + " on " + req.getDate() + ". Update the existing record instead.");
+        }
+        recordChange(null, AttendanceSnapshot.of(record));
+        return toResponse(record);
     }
 
     // ----------------------------------------------------------------
@@ -91,11 +109,9 @@ public class AttendanceService {
      *  ADMIN/MANAGER → all records
      *  EMPLOYEE      → only their own records
      */
-    public List<AttendanceResponse> getForUser(String callerEmail) {
-        User caller = userService.findByEmail(callerEmail);
-
-        if (caller.getRole() == Role.EMPLOYEE) {
-            return attendanceRepository.findByUser(caller)
+    public List<AttendanceResponse> getForUser(AuthenticatedUser caller) {
+        if (caller.is(Role.EMPLOYEE)) {
+            return attendanceRepository.findByUser(userService.getReference(caller.id()))
                     .stream().map(this::toResponse).toList();
         }
         return attendanceRepository.findAll()
@@ -111,7 +127,7 @@ public class AttendanceService {
     /** Range query — used for monthly/weekly reports. */
     public List<AttendanceResponse> getByUserAndDateRange(
             Long userId, LocalDate from, LocalDate to) {
-        User user = userService.findByEmail(userService.getById(userId).getEmail());
+        User user = userService.findById(userId);
         return attendanceRepository.findByUserAndDateBetween(user, from, to)
                 .stream().map(this::toResponse).toList();
     }
@@ -125,13 +141,14 @@ public class AttendanceService {
     // UPDATE (check-out or correction)
     // ----------------------------------------------------------------
 
-    public AttendanceResponse update(Long id, AttendanceRequest req, String callerEmail) {
+    @Transactional
+    public AttendanceResponse update(Long id, AttendanceRequest req, AuthenticatedUser caller) {
         Attendance record = findOrThrow(id);
-        User caller = userService.findByEmail(callerEmail);
+        AttendanceSnapshot before = AttendanceSnapshot.of(record);
 
         // Employee can only update their own record
-        if (caller.getRole() == Role.EMPLOYEE
-                && !record.getUser().getId().equals(caller.getId())) {
+        if (caller.is(Role.EMPLOYEE)
+                && !record.getUser().getId().equals(caller.id())) {
             throw new AccessDeniedException("You can only update your own attendance.");
         }
 
@@ -142,7 +159,9 @@ public class AttendanceService {
         // Recalculate status after any time change
         record.setStatus(req.getStatus() != null ? req.getStatus() : resolveStatus(req));
 
-        return toResponse(attendanceRepository.save(record));
+        Attendance saved = attendanceRepository.save(record);
+        recordChange(before, AttendanceSnapshot.of(saved));
+        return toResponse(saved);
     }
 
     // ----------------------------------------------------------------
@@ -150,8 +169,12 @@ public class AttendanceService {
     // ----------------------------------------------------------------
 
     /** Only ADMIN and MANAGER can delete records. */
+    @Transactional
     public void delete(Long id) {
-        attendanceRepository.delete(findOrThrow(id));
+        Attendance record = findOrThrow(id);
+        AttendanceSnapshot before = AttendanceSnapshot.of(record);
+        attendanceRepository.delete(record);
+        recordChange(before, null);
     }
 
     // ----------------------------------------------------------------
@@ -164,6 +187,12 @@ public class AttendanceService {
                         new ResourceNotFoundException("Attendance record not found: " + id));
     }
 
+    /** Adjust the rollups and notify listeners — called inside the write transaction. */
+    private void recordChange(AttendanceSnapshot before, AttendanceSnapshot after) {
+        rollupService.attendanceChanged(before, after);
+        eventPublisher.publishEvent(new AttendanceChangedEvent(before, after));
+    }
+
     /**
      * Derive status from checkIn / checkOut times when the client does not
      * supply an explicit status override.
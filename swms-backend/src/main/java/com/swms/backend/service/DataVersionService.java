@@ -0,0 +1,146 @@
+package com.swms.backend.service;
+
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataVersionService — monotonically increasing data versions for ETags.
+ *
+ * SCOPES (all bumped after commit, see the listeners below)
+ *   org          → every task / attendance write
+ *   department   → writes whose rollup department bucket is the name
+ *   user         → tasks the user created or is assigned to (before and
+ *                  after the write), the user's attendance
+ *   directory    → user-table writes (names, roles, departments appear in
+ *                  lists and admin totals); reported by UserService
+ *
+ * A user delete (UserDeletedEvent) bumps org and every department / user
+ * its cascaded tasks and attendance counted for, as their own deletes
+ * would have.
+ *
+ * An ETag is the epoch, the scope key and the version(s) it depends on,
+ * so it never collides across scopes, restarts (new epoch) or instances.
+ * Computing one touches no repository: the caller's id comes from the
+ * JWT principal (AuthenticatedUser).
+ *
+ * The listeners run last (LOWEST_PRECEDENCE), after AnalyticsSnapshot has
+ * applied the write and AnalyticsCache has dropped stale entries: a
+ * request that sees the new version is guaranteed to get the new data.
+ */
+@Service
+public class DataVersionService {
+
+    private volatile String epoch = newEpoch();
+    private final AtomicLong org = new AtomicLong();
+    private final AtomicLong directory = new AtomicLong();
+    private final Map<String, AtomicLong> departments = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> users = new ConcurrentHashMap<>();
+
+    // ----------------------------------------------------------------
+    // ETAGS
+    // ----------------------------------------------------------------
+
+    /** Whole-organisation data, e.g. the admin dashboard and unfiltered lists. */
+    public String orgEtag(boolean withDirectory, LocalDate day) {
+        return etag("o", org.get(), withDirectory, day);
+    }
+
+    /** Data filtered to one rollup department bucket. */
+    public String departmentEtag(String department, LocalDate day) {
+        return etag("d" + Integer.toHexString(department.hashCode()), version(departments, department), false, day);
+    }
+
+    /** Data filtered to one user's tasks / attendance. */
+    public String userEtag(long userId, boolean withDirectory, LocalDate day) {
+        return etag("u" + userId, version(users, userId), withDirectory, day);
+    }
+
+    // ----------------------------------------------------------------
+    // BUMPS
+    // ----------------------------------------------------------------
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        org.incrementAndGet();
+        for (TaskSnapshot task : new TaskSnapshot[] {event.before(), event.after()}) {
+            if (task != null) bump(departments, task.department());
+        }
+        event.creatorIds().forEach(id -> bump(users, id));
+        event.assigneeIds().forEach(id -> bump(users, id));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        org.incrementAndGet();
+        for (AttendanceSnapshot record : new AttendanceSnapshot[] {event.before(), event.after()}) {
+            if (record != null) bump(departments, record.department());
+        }
+        bump(users, event.userId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        org.incrementAndGet();
+        bump(users, event.userId());
+        for (TaskSnapshot task : event.tasks()) {
+            bump(departments, task.department());
+            bump(users, task.creatorId());
+            bump(users, task.assigneeId());
+        }
+        for (AttendanceSnapshot record : event.attendance()) {
+            bump(departments, record.department());
+        }
+    }
+
+    /** A user row was created, updated or deleted. */
+    public void directoryChanged() {
+        directory.incrementAndGet();
+    }
+
+    /** Data changed outside the write paths (rollup rebuild / snapshot reload): retire every ETag. */
+    public void resetAll() {
+        epoch = newEpoch();
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private String etag(String scope, long version, boolean withDirectory, LocalDate day) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch).append('-').append(scope).append('-').append(version);
+        if (withDirectory) etag.append("-").append(directory.get());
+        if (day != null) etag.append('-').append(day);
+        return etag.append('"').toString();
+    }
+
+    private static <K> long version(Map<K, AtomicLong> versions, K key) {
+        AtomicLong version = versions.get(key);
+        return version != null ? version.get() : 0L;
+    }
+
+    private static <K> void bump(Map<K, AtomicLong> versions, K key) {
+        if (key != null) {
+            versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private static String newEpoch() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}
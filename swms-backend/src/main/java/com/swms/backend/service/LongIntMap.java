@@ -0,0 +1,126 @@
+package com.swms.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * LongIntMap — long → int hash map over two primitive arrays, for the
+ * row-by-id index of AnalyticsSnapshot's columns.
+ *
+ *   keys    slot → key, or FREE
+ *   values  slot → value of the key in that slot
+ *
+ * Open addressing with linear probing; the table doubles past half full.
+ * remove() shifts the rest of the probe run back instead of leaving a
+ * tombstone, so lookups never walk over deleted slots and a table that
+ * sees constant insert / remove churn never needs a rebuild. No boxing
+ * and no per-entry object: a get, put or remove allocates nothing unless
+ * the table grows. Not thread-safe; AnalyticsSnapshot's lock guards it.
+ *
+ * Long.MIN_VALUE marks a free slot and can't be used as a key.
+ */
+final class LongIntMap {
+
+    /** Returned by get() and remove() for a missing key. */
+    static final int MISSING = -1;
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Value of key, or MISSING. */
+    int get(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : MISSING;
+    }
+
+    void put(long key, int value) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length / 2) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /** Remove key; returns its value, or MISSING. */
+    int remove(long key) {
+        int gap = slotOf(key);
+        if (keys[gap] != key) {
+            return MISSING;
+        }
+        int removed = values[gap];
+        // Shift back every later entry of the run whose home slot is at or before the gap
+        for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = home(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+        size--;
+        return removed;
+    }
+
+    /** Remove every key; the table keeps its capacity. */
+    void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Slot holding key, or the free slot ending its probe run. */
+    private int slotOf(long key) {
+        int slot = home(key);
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /** Fibonacci hashing: ids are sequential, so spread them over the table. */
+    private int home(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != FREE) {
+                int target = slotOf(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+}
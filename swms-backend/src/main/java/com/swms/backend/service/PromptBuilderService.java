@@ -7,6 +7,7 @@ import com.swms.backend.entity.User;
 import com.swms.backend.enums.AttendanceStatus;
 import com.swms.backend.enums.Role;
 import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.repository.ArchivedTaskRepository;
 import com.swms.backend.repository.AttendanceRepository;
 import com.swms.backend.repository.TaskRepository;
 import com.swms.backend.repository.UserRepository;
@@ -39,6 +40,9 @@ import java.util.Map;
  *   EMPLOYEE → only their own records.
  *   MANAGER  → their department's records.
  *   ADMIN    → aggregate statistics only (never raw PII dumps).
+ *
+ * Task lists come from the hot tasks table; closed tasks moved to
+ * tasks_archive (TaskArchiveService) only appear in the totals.
  */
 @Service
 public class PromptBuilderService {
@@ -46,15 +50,21 @@ public class PromptBuilderService {
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     private final TaskRepository       taskRepo;
+    private final ArchivedTaskRepository archivedTaskRepo;
     private final AttendanceRepository attendanceRepo;
     private final UserRepository       userRepo;
+    private final TaskDeadlineScheduler deadlineScheduler;
 
     public PromptBuilderService(TaskRepository taskRepo,
+                                ArchivedTaskRepository archivedTaskRepo,
                                 AttendanceRepository attendanceRepo,
-                                UserRepository userRepo) {
-        this.taskRepo       = taskRepo;
-        this.attendanceRepo = attendanceRepo;
-        this.userRepo       = userRepo;
+                                UserRepository userRepo,
+                                TaskDeadlineScheduler deadlineScheduler) {
+        this.taskRepo          = taskRepo;
+        this.archivedTaskRepo  = archivedTaskRepo;
+        this.attendanceRepo    = attendanceRepo;
+        this.userRepo          = userRepo;
+        this.deadlineScheduler = deadlineScheduler;
     }
 
     // ─────────────────────────────────────────────────────────────────────
@@ -175,6 +185,10 @@ public class PromptBuilderService {
                 sb.append("\n");
             });
         }
+        long archived = archivedTaskRepo.countByAssignedTo(user);
+        if (archived > 0) sb.append("  Older closed tasks (archived): ").append(archived).append("\n");
+        int overdue = deadlineScheduler.overdueAssignedTo(user.getId());
+        if (overdue > 0) sb.append("  ⚠ OVERDUE tasks: ").append(overdue).append("\n");
 
         // Attendance — last 30 days
         LocalDate today = LocalDate.now();
@@ -234,19 +248,18 @@ public class PromptBuilderService {
         List<Task> created = taskRepo.findByCreatedBy(manager);
         long todo       = created.stream().filter(t -> t.getStatus() == TaskStatus.TODO).count();
         long inProgress = created.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count();
-        long done       = created.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
+        long done       = created.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count()
+                + archivedTaskRepo.countByCreatedByAndStatus(manager, TaskStatus.COMPLETED);
+        long total      = created.size() + archivedTaskRepo.countByCreatedBy(manager);
 
-        sb.append("\nTASKS YOU CREATED (").append(created.size()).append(" total):\n");
+        sb.append("\nTASKS YOU CREATED (").append(total).append(" total):\n");
         sb.append("  TODO: ").append(todo)
           .append(" | IN_PROGRESS: ").append(inProgress)
           .append(" | COMPLETED: ").append(done).append("\n");
 
-        // Overdue tasks
+        // Overdue tasks (open, deadline passed) — kept live by the deadline scheduler
         LocalDate today = LocalDate.now();
-        long overdue = created.stream()
-                .filter(t -> t.getDeadline() != null && t.getDeadline().isBefore(today)
-                             && t.getStatus() != TaskStatus.COMPLETED)
-                .count();
+        int overdue = deadlineScheduler.overdueCreatedBy(manager.getId());
         if (overdue > 0) sb.append("  ⚠ OVERDUE tasks: ").append(overdue).append("\n");
 
         // Team tasks overview (tasks assigned to team members)
@@ -300,10 +313,11 @@ public class PromptBuilderService {
         sb.append("  Employees:      ").append(totalEmployees).append("\n\n");
 
         // Task statistics
-        long totalTasks  = taskRepo.count();
+        long totalTasks  = taskRepo.count() + archivedTaskRepo.count();
         long taskTodo    = taskRepo.countByStatus(TaskStatus.TODO);
         long taskIn      = taskRepo.countByStatus(TaskStatus.IN_PROGRESS);
-        long taskDone    = taskRepo.countByStatus(TaskStatus.COMPLETED);
+        long taskDone    = taskRepo.countByStatus(TaskStatus.COMPLETED)
+                + archivedTaskRepo.countByStatus(TaskStatus.COMPLETED);
 
         sb.append("TASK STATISTICS:\n");
         sb.append("  Total Tasks:    ").append(totalTasks).append("\n");
@@ -0,0 +1,185 @@
+package com.swms.backend.service;
+
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.repository.AttendanceDailyRollupRepository;
+import com.swms.backend.repository.TaskDailyRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * RollupService — keeps the daily rollup tables in step with tasks and attendance.
+ *
+ * USAGE FROM THE WRITE PATHS (same transaction as the entity write):
+ *   capture a snapshot before the change, then call
+ *   taskChanged(before, after) / attendanceChanged(before, after)
+ *   with null before on create and null after on delete
+ *   (tasksChanged / attendancesChanged(befores, afters) for bulk writes,
+ *   e.g. the tasks and attendance a user delete cascades to).
+ *
+ * An update only touches the rollups when the bucket (day / department /
+ * status) the row was in differs from the bucket it ends up in.
+ *
+ * rebuild() recomputes both tables from the base tables to repair drift
+ * (e.g. after a user changes department, or after bulk SQL imports).
+ */
+@Service
+public class RollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    /** Department bucket for tasks that have no assignee. */
+    public static final String NO_ASSIGNEE = "";
+
+    /** Department bucket for users whose department is null or blank. */
+    public static final String UNASSIGNED = "Unassigned";
+
+    private final TaskDailyRollupRepository taskRollupRepository;
+    private final AttendanceDailyRollupRepository attendanceRollupRepository;
+
+    public RollupService(TaskDailyRollupRepository taskRollupRepository,
+                         AttendanceDailyRollupRepository attendanceRollupRepository) {
+        this.taskRollupRepository       = taskRollupRepository;
+        this.attendanceRollupRepository = attendanceRollupRepository;
+    }
+
+    // ----------------------------------------------------------------
+    // INCREMENTAL MAINTENANCE
+    // ----------------------------------------------------------------
+
+    /**
+     * Apply one task write to the rollups.
+     * Pass null for before on create and null for after on delete.
+     */
+    public void taskChanged(TaskSnapshot before, TaskSnapshot after) {
+        TaskKey from = before != null ? TaskKey.of(before) : null;
+        TaskKey to   = after  != null ? TaskKey.of(after)  : null;
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) apply(from, -1);
+        if (to   != null) apply(to, 1);
+    }
+
+    /**
+     * Apply many task writes at once: before.get(i) → after.get(i), same null
+     * convention as above. Deltas are netted per bucket first, so a bulk write
+     * costs one upsert per touched bucket instead of one or two per task.
+     */
+    public void tasksChanged(List<TaskSnapshot> before, List<TaskSnapshot> after) {
+        Map<TaskKey, Long> deltas = new HashMap<>();
+        for (int i = 0; i < after.size(); i++) {
+            TaskKey from = before.get(i) != null ? TaskKey.of(before.get(i)) : null;
+            TaskKey to   = after.get(i)  != null ? TaskKey.of(after.get(i))  : null;
+            if (Objects.equals(from, to)) {
+                continue;
+            }
+            if (from != null) deltas.merge(from, -1L, Long::sum);
+            if (to   != null) deltas.merge(to, 1L, Long::sum);
+        }
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) apply(key, delta);
+        });
+    }
+
+    /** Apply one attendance write to the rollups (same null convention as above). */
+    public void attendanceChanged(AttendanceSnapshot before, AttendanceSnapshot after) {
+        AttendanceKey from = before != null ? AttendanceKey.of(before) : null;
+        AttendanceKey to   = after  != null ? AttendanceKey.of(after)  : null;
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) apply(from, -1);
+        if (to   != null) apply(to, 1);
+    }
+
+    /** Bulk form of attendanceChanged, netted per bucket like tasksChanged. */
+    public void attendancesChanged(List<AttendanceSnapshot> before, List<AttendanceSnapshot> after) {
+        Map<AttendanceKey, Long> deltas = new HashMap<>();
+        for (int i = 0; i < after.size(); i++) {
+            AttendanceKey from = before.get(i) != null ? AttendanceKey.of(before.get(i)) : null;
+            AttendanceKey to   = after.get(i)  != null ? AttendanceKey.of(after.get(i))  : null;
+            if (Objects.equals(from, to)) {
+                continue;
+            }
+            if (from != null) deltas.merge(from, -1L, Long::sum);
+            if (to   != null) deltas.merge(to, 1L, Long::sum);
+        }
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) apply(key, delta);
+        });
+    }
+
+    // ----------------------------------------------------------------
+    // REBUILD
+    // ----------------------------------------------------------------
+
+    /**
+     * Recompute both rollup tables from the base tables in one transaction.
+     *
+     * @return number of rollup rows written per table
+     */
+    @Transactional
+    public Map<String, Integer> rebuild() {
+        taskRollupRepository.deleteAllRows();
+        int taskRows = taskRollupRepository.rebuildFromTasks();
+
+        attendanceRollupRepository.deleteAllRows();
+        int attendanceRows = attendanceRollupRepository.rebuildFromAttendance();
+
+        log.info("RollupService: rebuilt {} task and {} attendance rollup row(s).", taskRows, attendanceRows);
+        return Map.of("taskRows", taskRows, "attendanceRows", attendanceRows);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Rollup bucket of one task. */
+    private record TaskKey(LocalDate day, String department, TaskStatus status) {
+        static TaskKey of(TaskSnapshot task) {
+            return new TaskKey(task.createdAt().toLocalDate(), task.department(), task.status());
+        }
+    }
+
+    /** Rollup bucket of one attendance record. */
+    private record AttendanceKey(LocalDate day, String department, AttendanceStatus status) {
+        static AttendanceKey of(AttendanceSnapshot record) {
+            return new AttendanceKey(record.date(), record.department(), record.status());
+        }
+    }
+
+    private void apply(TaskKey key, long delta) {
+        taskRollupRepository.increment(key.day(), key.department(), key.status().name(), delta);
+    }
+
+    private void apply(AttendanceKey key, long delta) {
+        attendanceRollupRepository.increment(key.day(), key.department(), key.status().name(), delta);
+    }
+
+    /** Department bucket of a task's assignee. Mirrors the CASE in rebuildFromTasks(). */
+    public static String taskDepartment(User assignee) {
+        return assignee == null ? NO_ASSIGNEE : userDepartment(assignee);
+    }
+
+    /** Department bucket of a user. Mirrors the CASE in rebuildFromAttendance(). */
+    public static String userDepartment(User user) {
+        return departmentBucket(user.getDepartment());
+    }
+
+    /** Department bucket of a raw users.department value. */
+    public static String departmentBucket(String department) {
+        return (department == null || department.isBlank()) ? UNASSIGNED : department;
+    }
+}
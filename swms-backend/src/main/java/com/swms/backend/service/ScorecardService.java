@@ -0,0 +1,270 @@
+package com.swms.backend.service;
+
+import com.swms.backend.entity.EmployeeScorecard;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.repository.EmployeeScorecardWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ScorecardService — precomputed employee dashboards plus today's deltas.
+ *
+ * NIGHTLY JOB (app.analytics.scorecard.cron, and once at startup)
+ *   1. Count a ScorecardTotals per employee from AnalyticsSnapshot in one
+ *      pass per table, split into parallel chunks across the cores.
+ *   2. Install them as the current scorecards, in the same read-locked
+ *      section as the count.
+ *   3. Upsert one employee_scorecard row each, in JDBC batches.
+ *
+ * DELTAS
+ *   As an AnalyticsSnapshot.ChangeListener every task / attendance change
+ *   is applied to the installed scorecards (−1 old state, +1 new state)
+ *   under the snapshot's write lock, so no change is missed or counted
+ *   twice around step 2.
+ *
+ * getEmployeeAnalytics reads the scorecard — O(1) instead of a scan of
+ * every row per request, which matters when all employees open their
+ * dashboard at 9am. Scorecards only serve the day they were computed
+ * for; before the job has run for today (or after a snapshot reload) the
+ * caller's totals are counted live.
+ *
+ * COLD START
+ *   Until AnalyticsSnapshot has finished its first load, an employee
+ *   with a row for today in employee_scorecard is served that row (one
+ *   primary-key read) instead of waiting for the load. It is as of the
+ *   job's last run, so writes made since are missing until the snapshot
+ *   is up.
+ */
+@Service
+public class ScorecardService implements AnalyticsSnapshot.ChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ScorecardService.class);
+
+    private final AnalyticsSnapshot snapshot;
+    private final EmployeeScorecardWriter scorecardWriter;
+    private final int batchSize;
+
+    // Replaced under the snapshot's read lock, mutated under its write lock
+    private volatile Scorecards scorecards;
+
+    private record Scorecards(ScorecardTotals.Windows windows, Map<Long, ScorecardTotals> byUser) {}
+
+    public ScorecardService(AnalyticsSnapshot snapshot,
+                            EmployeeScorecardWriter scorecardWriter,
+                            @Value("${app.analytics.scorecard.batch-size:500}") int batchSize) {
+        this.snapshot = snapshot;
+        this.scorecardWriter = scorecardWriter;
+        this.batchSize = batchSize;
+        snapshot.addChangeListener(this);
+    }
+
+    // ----------------------------------------------------------------
+    // READ
+    // ----------------------------------------------------------------
+
+    /** Current totals of one employee: today's scorecard with deltas merged, or a live count. */
+    ScorecardTotals totalsFor(long userId) {
+        LocalDate today = LocalDate.now();
+        if (!snapshot.isLoaded()) {
+            ScorecardTotals persisted = persisted(userId, today);
+            if (persisted != null) {
+                return persisted;
+            }
+        }
+        ScorecardTotals precomputed = snapshot.readConsistent(() -> {
+            Scorecards current = scorecards;
+            if (current == null || !current.windows().asOf().equals(today)) {
+                return null;
+            }
+            ScorecardTotals totals = current.byUser().get(userId);
+            return totals != null ? totals.copy() : new ScorecardTotals(current.windows());
+        });
+        if (precomputed != null) {
+            return precomputed;
+        }
+        return snapshot.countScorecard(userId, ScorecardTotals.Windows.of(today, AnalyticsService.ATTENDED_STATUSES));
+    }
+
+    // ----------------------------------------------------------------
+    // NIGHTLY JOB
+    // ----------------------------------------------------------------
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            refresh();
+        } catch (IllegalStateException ex) {
+            log.error("[Scorecard] Initial computation failed, employee dashboards are counted live: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.analytics.scorecard.cron:0 5 0 * * *}")
+    public void nightly() {
+        refresh();
+    }
+
+    /**
+     * Recompute every employee's scorecard for today, install it and persist it.
+     *
+     * @return number of scorecards computed
+     */
+    public int refresh() {
+        long started = System.nanoTime();
+        LocalDate asOf = LocalDate.now();
+        LocalDateTime computedAt = LocalDateTime.now();
+        ScorecardTotals.Windows windows = ScorecardTotals.Windows.of(asOf, AnalyticsService.ATTENDED_STATUSES);
+        int chunks = Runtime.getRuntime().availableProcessors();
+
+        List<EmployeeScorecard> rows = snapshot.readConsistent(() -> {
+            Map<Long, ScorecardTotals> byUser = snapshot.countScorecards(windows, chunks);
+            scorecards = new Scorecards(windows, new HashMap<>(byUser));
+            List<EmployeeScorecard> entities = new ArrayList<>(byUser.size());
+            byUser.forEach((userId, totals) -> entities.add(toEntity(userId, totals, computedAt)));
+            return entities;
+        });
+        long counted = System.nanoTime();
+
+        try {
+            scorecardWriter.upsertAll(rows, batchSize);
+        } catch (DataAccessException ex) {
+            // The installed scorecards keep serving; the table is refreshed on the next run
+            log.error("[Scorecard] Persisting {} scorecard(s) failed: {}", rows.size(), ex.getMessage());
+        }
+        log.info("[Scorecard] {} scorecard(s) for {}: counted in {} ms on {} chunk(s), written in {} ms",
+                rows.size(), asOf,
+                TimeUnit.NANOSECONDS.toMillis(counted - started), chunks,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - counted));
+        return rows.size();
+    }
+
+    // ----------------------------------------------------------------
+    // DELTAS (AnalyticsSnapshot write lock held)
+    // ----------------------------------------------------------------
+
+    @Override
+    public void taskChanged(TaskSnapshot before, TaskSnapshot after) {
+        Scorecards current = scorecards;
+        if (current == null) {
+            return;
+        }
+        if (before != null && before.assigneeId() != null) {
+            totals(current, before.assigneeId()).addTask((byte) before.status().ordinal(), day(before), -1);
+        }
+        if (after != null && after.assigneeId() != null) {
+            totals(current, after.assigneeId()).addTask((byte) after.status().ordinal(), day(after), 1);
+        }
+    }
+
+    @Override
+    public void attendanceChanged(AttendanceSnapshot before, AttendanceSnapshot after) {
+        Scorecards current = scorecards;
+        if (current == null) {
+            return;
+        }
+        if (before != null) {
+            totals(current, before.userId()).addAttendance((int) before.date().toEpochDay(), (byte) before.status().ordinal(), -1);
+        }
+        if (after != null) {
+            totals(current, after.userId()).addAttendance((int) after.date().toEpochDay(), (byte) after.status().ordinal(), 1);
+        }
+    }
+
+    /** The snapshot now reflects the base tables, not the installed scorecards; count live until refresh(). */
+    @Override
+    public void reloaded() {
+        scorecards = null;
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Today's employee_scorecard row of the user, or null when there is none or it can't be read. */
+    private ScorecardTotals persisted(long userId, LocalDate today) {
+        try {
+            return scorecardWriter.find(userId)
+                    .filter(row -> row.getAsOf().equals(today))
+                    .map(row -> fromEntity(row, ScorecardTotals.Windows.of(today, AnalyticsService.ATTENDED_STATUSES)))
+                    .orElse(null);
+        } catch (DataAccessException ex) {
+            log.warn("[Scorecard] Reading the stored scorecard of user {} failed: {}", userId, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static ScorecardTotals totals(Scorecards current, long userId) {
+        return current.byUser().computeIfAbsent(userId, key -> new ScorecardTotals(current.windows()));
+    }
+
+    private static int day(TaskSnapshot task) {
+        return task.createdAt() != null ? (int) task.createdAt().toLocalDate().toEpochDay() : AnalyticsSnapshot.NO_DAY;
+    }
+
+    private static EmployeeScorecard toEntity(long userId, ScorecardTotals totals, LocalDateTime computedAt) {
+        return EmployeeScorecard.builder()
+                .userId(userId)
+                .asOf(totals.windows.asOf())
+                .computedAt(computedAt)
+                .taskStatusCounts(join(totals.statusCounts))
+                .completedLast30(totals.completedLast30)
+                .attendanceLast30Total(totals.attendanceLast30[0])
+                .attendanceLast30Attended(totals.attendanceLast30[1])
+                .weeklyCompleted(join(totals.weeklyCompleted))
+                .monthlyAttendanceTotal(join(Arrays.stream(totals.monthlyAttendance).mapToLong(month -> month[0]).toArray()))
+                .monthlyAttendanceAttended(join(Arrays.stream(totals.monthlyAttendance).mapToLong(month -> month[1]).toArray()))
+                .build();
+    }
+
+    /** Inverse of toEntity; null when the row's series don't have today's shape (e.g. TaskStatus changed). */
+    private static ScorecardTotals fromEntity(EmployeeScorecard row, ScorecardTotals.Windows windows) {
+        ScorecardTotals totals = new ScorecardTotals(windows);
+        long[] statusCounts = split(row.getTaskStatusCounts());
+        long[] weeklyCompleted = split(row.getWeeklyCompleted());
+        long[] monthTotal = split(row.getMonthlyAttendanceTotal());
+        long[] monthAttended = split(row.getMonthlyAttendanceAttended());
+        if (statusCounts.length != totals.statusCounts.length
+                || weeklyCompleted.length != ScorecardTotals.WEEKS
+                || monthTotal.length != ScorecardTotals.MONTHS
+                || monthAttended.length != ScorecardTotals.MONTHS) {
+            return null;
+        }
+        System.arraycopy(statusCounts, 0, totals.statusCounts, 0, statusCounts.length);
+        System.arraycopy(weeklyCompleted, 0, totals.weeklyCompleted, 0, weeklyCompleted.length);
+        for (int month = 0; month < ScorecardTotals.MONTHS; month++) {
+            totals.monthlyAttendance[month][0] = monthTotal[month];
+            totals.monthlyAttendance[month][1] = monthAttended[month];
+        }
+        totals.completedLast30 = row.getCompletedLast30();
+        totals.attendanceLast30[0] = row.getAttendanceLast30Total();
+        totals.attendanceLast30[1] = row.getAttendanceLast30Attended();
+        return totals;
+    }
+
+    private static long[] split(String counts) {
+        return counts.isEmpty() ? new long[0] : Arrays.stream(counts.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+
+    private static String join(long[] counts) {
+        return Arrays.stream(counts).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,116 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * ScorecardTotals — the counters behind one employee dashboard.
+ *
+ *   statusCounts       assigned tasks per TaskStatus ordinal (all time)
+ *   completedLast30    COMPLETED tasks created on or after asOf − 30
+ *   attendanceLast30   {records, attended} with asOf − 30 ≤ day ≤ asOf
+ *   weeklyCompleted    COMPLETED tasks per 7-day bucket from asOf − 5 weeks
+ *   monthlyAttendance  {records, attended} per month from asOf − 5 months
+ *
+ * Every counter is a plain sum over rows, so totals built from disjoint
+ * row ranges merge by addition and a row change is applied as −1 for the
+ * old state and +1 for the new one (see ScorecardService). Not
+ * thread-safe; AnalyticsSnapshot's lock guards every instance in use.
+ */
+final class ScorecardTotals {
+
+    static final int WEEKS = 6;
+    static final int MONTHS = 6;
+
+    private static final byte COMPLETED = (byte) TaskStatus.COMPLETED.ordinal();
+
+    final Windows windows;
+    final long[] statusCounts = new long[TaskStatus.values().length];
+    long completedLast30;
+    final long[] attendanceLast30 = new long[2];
+    final long[] weeklyCompleted = new long[WEEKS];
+    final long[][] monthlyAttendance = new long[MONTHS][2];
+
+    /** Day windows of a scorecard, fixed for its asOf date. */
+    record Windows(LocalDate asOf,
+                   LocalDate monthStart,
+                   int last30FromDay,
+                   int asOfDay,
+                   int weekFromDay,
+                   int[] monthBounds,
+                   int pulseMaxDay,
+                   boolean[] attendedMask) {
+
+        static Windows of(LocalDate asOf, Collection<AttendanceStatus> attended) {
+            LocalDate weekStart = asOf.minusWeeks(WEEKS - 1);
+            LocalDate monthStart = asOf.minusMonths(MONTHS - 1).withDayOfMonth(1);
+            boolean[] mask = new boolean[AttendanceStatus.values().length];
+            attended.forEach(status -> mask[status.ordinal()] = true);
+            return new Windows(asOf,
+                    monthStart,
+                    (int) asOf.minusDays(30).toEpochDay(),
+                    (int) asOf.toEpochDay(),
+                    (int) weekStart.toEpochDay(),
+                    AnalyticsSnapshot.monthBounds(monthStart, MONTHS),
+                    (int) asOf.plusDays(1).toEpochDay(),
+                    mask);
+        }
+    }
+
+    ScorecardTotals(Windows windows) {
+        this.windows = windows;
+    }
+
+    /** Count one task row (sign +1) or take it back out (sign −1). */
+    void addTask(byte status, int createdDay, int sign) {
+        statusCounts[status] += sign;
+        if (status != COMPLETED || createdDay == AnalyticsSnapshot.NO_DAY) {
+            return;
+        }
+        if (createdDay >= windows.last30FromDay()) {
+            completedLast30 += sign;
+        }
+        int week = Math.floorDiv(createdDay - windows.weekFromDay(), 7);
+        if (week >= 0 && week < WEEKS) {
+            weeklyCompleted[week] += sign;
+        }
+    }
+
+    /** Count one attendance row (sign +1) or take it back out (sign −1). */
+    void addAttendance(int day, byte status, int sign) {
+        boolean attended = windows.attendedMask()[status];
+        if (day >= windows.last30FromDay() && day <= windows.asOfDay()) {
+            attendanceLast30[0] += sign;
+            if (attended) attendanceLast30[1] += sign;
+        }
+        if (day <= windows.pulseMaxDay()) {
+            int month = AnalyticsSnapshot.monthIndex(windows.monthBounds(), day);
+            if (month >= 0) {
+                monthlyAttendance[month][0] += sign;
+                if (attended) monthlyAttendance[month][1] += sign;
+            }
+        }
+    }
+
+    /** Add other's counters (same windows) into this one. */
+    void merge(ScorecardTotals other) {
+        for (int i = 0; i < statusCounts.length; i++) statusCounts[i] += other.statusCounts[i];
+        completedLast30 += other.completedLast30;
+        attendanceLast30[0] += other.attendanceLast30[0];
+        attendanceLast30[1] += other.attendanceLast30[1];
+        for (int i = 0; i < WEEKS; i++) weeklyCompleted[i] += other.weeklyCompleted[i];
+        for (int i = 0; i < MONTHS; i++) {
+            monthlyAttendance[i][0] += other.monthlyAttendance[i][0];
+            monthlyAttendance[i][1] += other.monthlyAttendance[i][1];
+        }
+    }
+
+    ScorecardTotals copy() {
+        ScorecardTotals copy = new ScorecardTotals(windows);
+        copy.merge(this);
+        return copy;
+    }
+}
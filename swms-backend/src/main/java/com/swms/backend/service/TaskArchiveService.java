@@ -0,0 +1,100 @@
+package com.swms.backend.service;
+
+import com.swms.backend.event.TasksArchivedEvent;
+import com.swms.backend.repository.TaskArchiveWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskArchiveService — hot / cold split of the tasks table.
+ *
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ tasks          open tasks + recently closed ones (hot: every     │
+ * │                list, board, search and CRUD path reads it)       │
+ * │ tasks_archive  COMPLETED / CANCELLED tasks not updated for       │
+ * │                app.tasks.archive.after-days (cold: read only     │
+ * │                with ?includeArchived=true)                       │
+ * └──────────────────────────────────────────────────────────────────┘
+ *
+ * app.tasks.archive.cron moves them in chunks of chunk-size tasks, one
+ * short transaction each (see TaskArchiveWriter), so no lock is held for
+ * the whole run and the hot table stays small enough to live in the
+ * buffer pool.
+ *
+ * Archived tasks are still tasks: the daily rollups, the analytics
+ * snapshot and the scorecards keep counting them (their rebuilds read
+ * both tables), and the change feed records nothing.
+ */
+@Service
+public class TaskArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private final TaskArchiveWriter archiveWriter;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final long afterDays;
+    private final int chunkSize;
+
+    public TaskArchiveService(TaskArchiveWriter archiveWriter,
+                              DataVersionService dataVersionService,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.tasks.archive.enabled:true}") boolean enabled,
+                              @Value("${app.tasks.archive.after-days:90}") long afterDays,
+                              @Value("${app.tasks.archive.chunk-size:1000}") int chunkSize) {
+        this.archiveWriter      = archiveWriter;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher     = eventPublisher;
+        this.tx                 = new TransactionTemplate(transactionManager);
+        this.enabled            = enabled;
+        this.afterDays          = afterDays;
+        this.chunkSize          = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.tasks.archive.cron:0 45 0 * * *}")
+    public void nightlyArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Move every closed task not updated for after-days to tasks_archive.
+     *
+     * @return number of tasks moved
+     */
+    public int archive() {
+        long started = System.nanoTime();
+        LocalDateTime closedBefore = LocalDateTime.now().minusDays(afterDays);
+        int archived = 0;
+        List<Long> chunk;
+        do {
+            chunk = tx.execute(status -> archiveWriter.archiveChunk(closedBefore, chunkSize));
+            if (!chunk.isEmpty()) {
+                archived += chunk.size();
+                eventPublisher.publishEvent(new TasksArchivedEvent(chunk));
+            }
+        } while (chunk.size() == chunkSize);
+
+        if (archived > 0) {
+            // Lists without ?includeArchived=true lost rows no write path reported
+            dataVersionService.resetAll();
+        }
+        log.info("[Archive] Moved {} closed task(s) updated before {} to tasks_archive in {} ms",
+                archived, closedBefore.toLocalDate(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return archived;
+    }
+}
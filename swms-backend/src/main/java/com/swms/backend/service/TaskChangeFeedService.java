@@ -0,0 +1,368 @@
+package com.swms.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swms.backend.dto.response.TaskChangeResponse;
+import com.swms.backend.dto.response.TaskChangesResponse;
+import com.swms.backend.entity.TaskEvent;
+import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskEventType;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.repository.TaskEventConsumerRepository;
+import com.swms.backend.repository.TaskEventRepository;
+import com.swms.backend.repository.TaskEventWriter;
+import com.swms.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * TaskChangeFeedService — the task_events outbox and the change feed read from it.
+ *
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ WRITE   TaskService calls append() last in every task write      │
+ * │         transaction: one event per task, AUTO_INCREMENT seq      │
+ * │ READ    GET /api/tasks/changes?since= returns the next events    │
+ * │         up to the committed watermark (TaskEventWriter):         │
+ * │           ADMIN / MANAGER → all tasks                            │
+ * │           EMPLOYEE        → tasks they are / were assigned       │
+ * │         With nothing new and waitMs > 0 the request is parked    │
+ * │         (DeferredResult — no worker thread held) until a commit  │
+ * │         concerns the caller or the wait runs out.                │
+ * │ ACK     named consumers (BI sync, notification sender) ack       │
+ * │         cumulatively and may resume with ?consumer= alone        │
+ * │ CLEANUP app.tasks.changes.cleanup-cron:                          │
+ * │           compaction — drop events superseded by a later event   │
+ * │             of the same task, once older than compact-after-     │
+ * │             hours and acked by every consumer                    │
+ * │           retention — drop everything older than retention-days  │
+ * │             (readers behind that point are told to resync)       │
+ * └──────────────────────────────────────────────────────────────────┘
+ *
+ * Parked requests are re-read on the single feed thread, at most once
+ * per app.tasks.changes.coalesce-ms however many tasks a commit touched,
+ * and again while events above the watermark wait for a gap to close.
+ */
+@Service
+public class TaskChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeedService.class);
+
+    private record Waiter(DeferredResult<TaskChangesResponse> result, AuthenticatedUser caller, long since, int limit) {}
+
+    private final TaskEventWriter eventWriter;
+    private final TaskEventRepository eventRepository;
+    private final TaskEventConsumerRepository consumerRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final long maxWaitMs;
+    private final long coalesceMs;
+    private final long compactAfterHours;
+    private final long retentionDays;
+    private final int deleteChunk;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final Set<Waiter> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final ScheduledExecutorService feedThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TaskChangeFeedService(TaskEventWriter eventWriter,
+                                 TaskEventRepository eventRepository,
+                                 TaskEventConsumerRepository consumerRepository,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.tasks.changes.default-limit:100}") int defaultLimit,
+                                 @Value("${app.tasks.changes.max-limit:1000}") int maxLimit,
+                                 @Value("${app.tasks.changes.max-wait-ms:30000}") long maxWaitMs,
+                                 @Value("${app.tasks.changes.coalesce-ms:100}") long coalesceMs,
+                                 @Value("${app.tasks.changes.compact-after-hours:24}") long compactAfterHours,
+                                 @Value("${app.tasks.changes.retention-days:30}") long retentionDays,
+                                 @Value("${app.tasks.changes.delete-chunk:1000}") int deleteChunk) {
+        this.eventWriter        = eventWriter;
+        this.eventRepository    = eventRepository;
+        this.consumerRepository = consumerRepository;
+        this.entityManager      = entityManager;
+        this.objectMapper       = objectMapper;
+        this.tx                 = new TransactionTemplate(transactionManager);
+        this.defaultLimit       = defaultLimit;
+        this.maxLimit           = maxLimit;
+        this.maxWaitMs          = maxWaitMs;
+        this.coalesceMs         = coalesceMs;
+        this.compactAfterHours  = compactAfterHours;
+        this.retentionDays      = retentionDays;
+        this.deleteChunk        = deleteChunk;
+    }
+
+    // ----------------------------------------------------------------
+    // WRITE (inside the task write transaction)
+    // ----------------------------------------------------------------
+
+    /** Record one task write; same null convention as RollupService.taskChanged. */
+    public void append(TaskSnapshot before, TaskSnapshot after) {
+        append(Collections.singletonList(before), Collections.singletonList(after));
+    }
+
+    /** Record many task writes: before.get(i) → after.get(i), seqs in list order. */
+    public void append(List<TaskSnapshot> before, List<TaskSnapshot> after) {
+        // Pending task DML goes first, so seqs are taken as close to commit as possible (see TaskEventWriter)
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEvent> events = new ArrayList<>(after.size());
+        for (int i = 0; i < after.size(); i++) {
+            events.add(event(before.get(i), after.get(i), now));
+        }
+        eventWriter.appendAll(events);
+    }
+
+    // ----------------------------------------------------------------
+    // READ
+    // ----------------------------------------------------------------
+
+    /**
+     * Changes after since visible to the caller, oldest first.
+     *
+     * @param since    last seq the caller has; null → the consumer's acked seq, or 0
+     * @param consumer name of an acknowledging consumer (used only when since is null)
+     * @param waitMs   how long to wait for a change when there is none yet (capped)
+     */
+    public DeferredResult<TaskChangesResponse> changes(AuthenticatedUser caller, Long since, String consumer,
+                                                       Integer limit, Long waitMs) {
+        if (since != null && since < 0) {
+            throw new IllegalArgumentException("'since' must not be negative.");
+        }
+        int size = limit == null ? defaultLimit : limit;
+        if (size < 1) {
+            throw new IllegalArgumentException("'limit' must be at least 1.");
+        }
+        size = Math.min(size, maxLimit);
+        long from = since != null ? since
+                : consumer != null ? consumerRepository.findById(consumer.trim()).map(c -> c.getAckedSeq()).orElse(0L)
+                : 0L;
+        long wait = waitMs == null ? 0 : Math.min(Math.max(waitMs, 0), maxWaitMs);
+
+        TaskChangesResponse now = read(caller, from, size, eventWriter.committedThrough());
+        if (!now.getChanges().isEmpty() || now.isResync() || wait == 0) {
+            DeferredResult<TaskChangesResponse> done = new DeferredResult<>();
+            done.setResult(now);
+            return done;
+        }
+
+        DeferredResult<TaskChangesResponse> result = new DeferredResult<>(wait, () -> now);
+        Waiter waiter = new Waiter(result, caller, from, size);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // A commit may have landed between the read above and registering
+        wake(waiter);
+        return result;
+    }
+
+    /** Move consumer's acknowledged position forward to seq (covers every change up to it). */
+    @Transactional
+    public void acknowledge(String consumer, long seq) {
+        long last = eventWriter.committedThrough();
+        if (seq > last) {
+            throw new IllegalArgumentException("Seq " + seq + " has not been committed yet (last is " + last + ").");
+        }
+        consumerRepository.acknowledge(consumer.trim(), seq, LocalDateTime.now());
+    }
+
+    // ----------------------------------------------------------------
+    // LONG POLL
+    // ----------------------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        Set<Long> assignees = event.assigneeIds();
+        for (Waiter waiter : waiters) {
+            if (!waiter.caller().is(Role.EMPLOYEE) || assignees.contains(waiter.caller().id())) {
+                wake(waiter);
+            }
+        }
+    }
+
+    private void wake(Waiter waiter) {
+        pending.add(waiter);
+        if (drainScheduled.compareAndSet(false, true)) {
+            feedThread.schedule(this::drain, coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Feed thread: answer every woken waiter that now has something to read. */
+    private void drain() {
+        drainScheduled.set(false);
+        long through = eventWriter.committedThrough();
+        List<Waiter> unanswered = new ArrayList<>();
+        for (Iterator<Waiter> it = pending.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            it.remove();
+            if (waiter.result().isSetOrExpired()) {
+                continue;
+            }
+            try {
+                TaskChangesResponse response = read(waiter.caller(), waiter.since(), waiter.limit(), through);
+                if (!response.getChanges().isEmpty() || response.isResync()) {
+                    waiter.result().setResult(response);
+                } else {
+                    unanswered.add(waiter);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("[Changes] Re-read failed for {}: {}", waiter.caller().email(), ex.getMessage());
+                waiter.result().setErrorResult(ex);
+            }
+        }
+        // Events above the watermark wait for an older seq to commit or settle: look again shortly
+        if (!unanswered.isEmpty() && eventWriter.newestSeq() > through) {
+            unanswered.forEach(this::wake);
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // CLEANUP
+    // ----------------------------------------------------------------
+
+    @Scheduled(cron = "${app.tasks.changes.cleanup-cron:0 30 0 * * *}")
+    public void nightlyCleanUp() {
+        cleanUp();
+    }
+
+    /**
+     * Compact, then apply retention, each in chunked transactions.
+     *
+     * @return number of events removed by each step
+     */
+    public Map<String, Integer> cleanUp() {
+        LocalDateTime now = LocalDateTime.now();
+        int compacted = 0;
+        int purged = 0;
+
+        Long compactBound = eventRepository.findLastSeqBefore(now.minusHours(compactAfterHours));
+        if (compactBound != null) {
+            Long acked = consumerRepository.findMinAckedSeq();
+            long bound = acked != null ? Math.min(compactBound, acked) : compactBound;
+            List<Long> superseded;
+            while (!(superseded = eventRepository.findSuperseded(bound, deleteChunk)).isEmpty()) {
+                List<Long> chunk = superseded;
+                compacted += tx.execute(status -> eventRepository.deleteBySeqs(chunk));
+            }
+        }
+
+        Long retentionBound = eventRepository.findLastSeqBefore(now.minusDays(retentionDays));
+        if (retentionBound != null) {
+            // Recorded first, so no reader can miss a deleted event without being told to resync
+            tx.executeWithoutResult(status -> eventWriter.markPurgedThrough(retentionBound));
+            int deleted;
+            do {
+                deleted = tx.execute(status -> eventRepository.deleteThrough(retentionBound, deleteChunk));
+                purged += deleted;
+            } while (deleted == deleteChunk);
+        }
+
+        log.info("[Changes] Compacted {} and purged {} task event(s).", compacted, purged);
+        return Map.of("compacted", compacted, "purged", purged);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Changes after since up to the committed watermark through. */
+    private TaskChangesResponse read(AuthenticatedUser caller, long since, int size, long through) {
+        if (since < eventWriter.purgedThrough()) {
+            // Changes after since are gone: start over from a full read
+            return TaskChangesResponse.builder()
+                    .changes(List.of())
+                    .nextSince(through)
+                    .resync(true)
+                    .build();
+        }
+
+        PageRequest page = PageRequest.of(0, size + 1);
+        boolean employee = caller.is(Role.EMPLOYEE);
+        List<TaskEvent> rows = employee
+                ? eventRepository.findForAssignee(since, through, caller.id(), page)
+                : eventRepository.findBetween(since, through, page);
+        boolean more = rows.size() > size;
+        if (more) {
+            rows = rows.subList(0, size);
+        }
+
+        return TaskChangesResponse.builder()
+                .changes(rows.stream().map(row -> TaskChangeResponse.builder()
+                        .seq(row.getSeq())
+                        .taskId(row.getTaskId())
+                        .type(row.getType().name())
+                        .at(row.getCreatedAt())
+                        // The previous assignee learns the task moved away, not its new state
+                        .task(!employee || caller.id().equals(row.getAssigneeId()) ? row.getPayload() : null)
+                        .build()).toList())
+                .nextSince(rows.isEmpty() ? since : rows.get(rows.size() - 1).getSeq())
+                .hasMore(more)
+                .build();
+    }
+
+    private TaskEvent event(TaskSnapshot before, TaskSnapshot after, LocalDateTime now) {
+        TaskSnapshot task = after != null ? after : before;
+        TaskEventType type = before == null ? TaskEventType.CREATED
+                : after == null ? TaskEventType.DELETED
+                : TaskEventType.UPDATED;
+        boolean reassigned = before != null && after != null && !Objects.equals(before.assigneeId(), after.assigneeId());
+        return TaskEvent.builder()
+                .taskId(task.id())
+                .type(type)
+                .assigneeId(task.assigneeId())
+                .previousAssigneeId(reassigned ? before.assigneeId() : null)
+                .payload(after != null ? json(after) : null)
+                .createdAt(now)
+                .build();
+    }
+
+    private String json(TaskSnapshot task) {
+        try {
+            return objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialise task " + task.id() + " for the change feed.", ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        feedThread.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.TaskSort;
+import com.swms.backend.repository.projection.TaskListRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * TaskCursor — position in the (sort key, id) order of GET /api/tasks,
+ * plus the direction to read in from there (forward = towards nextCursor).
+ *
+ * Sent to clients as an opaque URL-safe token ("f|DEADLINE|2025-12-31|42",
+ * Base64; an empty value is a null key) so the format can change without
+ * breaking them.
+ */
+record TaskCursor(TaskSort sort, Object value, long id, boolean forward) {
+
+    static TaskCursor at(TaskListRow task, TaskSort sort, boolean forward) {
+        Object value = switch (sort) {
+            case CREATED_AT -> task.createdAt();
+            case DEADLINE   -> task.deadline();
+            case UPDATED_AT -> task.updatedAt();
+        };
+        return new TaskCursor(sort, value, task.id(), forward);
+    }
+
+    String encode() {
+        String raw = (forward ? "f" : "b") + "|" + sort.name() + "|" + (value != null ? value : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @param sort the sort of the current request; a cursor from another sort has no position in it */
+    static TaskCursor decode(String token, TaskSort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        if (parts.length != 4 || !(parts[0].equals("f") || parts[0].equals("b"))) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        if (!parts[1].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor was issued for sort=" + parts[1] + "; start again without a cursor.");
+        }
+        try {
+            Object value = parts[2].isEmpty() ? null : switch (sort) {
+                case DEADLINE -> LocalDate.parse(parts[2]);
+                case CREATED_AT, UPDATED_AT -> LocalDateTime.parse(parts[2]);
+            };
+            return new TaskCursor(sort, value, Long.parseLong(parts[3]), parts[0].equals("f"));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskOverdueEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskDeadlineScheduler — live overdue tracking without scanning tasks.
+ *
+ * LAYOUT
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ queue    open tasks not yet overdue, earliest deadline first     │
+ * │ pending  task id → its live queue entry                          │
+ * │ overdue  task id → entry of each open task past its deadline     │
+ * │ counts   creator id / assignee id → overdue tasks (O(1) reads)   │
+ * └──────────────────────────────────────────────────────────────────┘
+ *  open     → TODO or IN_PROGRESS with a deadline
+ *  overdue  → open and deadline before today (as GET /api/tasks?overdue=true)
+ *
+ * TIMING
+ *  Deadlines are dates, so tasks only fall due when the day changes:
+ *  app.tasks.deadlines.cron pops the queue head while it is before the
+ *  new day and publishes one TaskOverdueEvent per task. An edit that
+ *  moves an open task straight past its deadline publishes it too.
+ *
+ * EXACTLY ONCE
+ *  tasks.overdue_announced_for holds the deadline a task was last
+ *  announced for. Each announcement first claims it with a conditional
+ *  UPDATE on the primary pool, in its own transaction (the listeners run
+ *  after commit), and publishes only when the claim changed the row:
+ *
+ *    UPDATE tasks SET overdue_announced_for = :deadline
+ *     WHERE id = :id
+ *       AND (overdue_announced_for IS NULL OR overdue_announced_for <> :deadline)
+ *
+ *  A task whose deadline moves is announced again for the new one. A
+ *  claim that fails leaves the task unmarked for the next reload.
+ *
+ * LIFECYCLE
+ *  • Loaded from tasks once the application is ready, on the analytics
+ *    pool like TaskSearchIndex. Overdue tasks without a marker for their
+ *    deadline — ones that fell due while the app was down, or before the
+ *    first cron run after a restart — are announced then.
+ *  • Kept current from TaskChangedEvent after commit: a changed task is
+ *    dropped and re-added, so replays are harmless. Dropped queue entries
+ *    are skipped when popped (pending no longer points at them).
+ *  • Tasks deleted with their user are dropped on UserDeletedEvent, so
+ *    they neither stay counted nor fall due later.
+ *
+ * The counts are per JVM, like TaskSearchIndex; the markers are shared,
+ * so with several backend instances a task is still announced once.
+ */
+@Component
+public class TaskDeadlineScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDeadlineScheduler.class);
+
+    /** Rebuild the queue once it holds this many more dropped entries than live ones. */
+    private static final int STALE_SLACK = 1024;
+
+    private record Deadline(long taskId, LocalDate deadline, Long creatorId, Long assigneeId) {}
+
+    private static final Comparator<Deadline> EARLIEST_FIRST = Comparator
+            .comparing(Deadline::deadline)
+            .thenComparingLong(Deadline::taskId);
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate primaryJdbc;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Guarded by this
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>(EARLIEST_FIRST);
+    private final Map<Long, Deadline> pending = new HashMap<>();
+    private final Map<Long, Deadline> overdue = new HashMap<>();
+    private LocalDate today = LocalDate.now();
+
+    private final Map<Long, Integer> overdueByCreator = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> overdueByAssignee = new ConcurrentHashMap<>();
+    private volatile int overdueTotal;
+
+    public TaskDeadlineScheduler(@Qualifier("analyticsDataSource") DataSource analyticsDataSource,
+                                 JdbcTemplate primaryJdbc,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.jdbc = new JdbcTemplate(analyticsDataSource);
+        this.jdbc.setFetchSize(1000);
+        this.primaryJdbc    = primaryJdbc;
+        this.tx             = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+    }
+
+    // ----------------------------------------------------------------
+    // LOAD
+    // ----------------------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (DataAccessException ex) {
+            log.error("[Deadlines] Initial load failed, overdue counts start empty until restart: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Replace the tracked deadlines with the open tasks in tasks, then
+     * announce the overdue ones not yet announced for their deadline.
+     */
+    public void reload() {
+        List<Deadline> unannounced = new ArrayList<>();
+        synchronized (this) {
+            long started = System.nanoTime();
+            queue.clear();
+            pending.clear();
+            overdue.clear();
+            overdueByCreator.clear();
+            overdueByAssignee.clear();
+            overdueTotal = 0;
+            today = LocalDate.now();
+            jdbc.query("SELECT id, created_by_id, assigned_to_id, deadline, overdue_announced_for FROM tasks "
+                            + "WHERE deadline IS NOT NULL AND status IN ('TODO', 'IN_PROGRESS')",
+                    rs -> {
+                        Deadline deadline = new Deadline(rs.getLong("id"), rs.getDate("deadline").toLocalDate(),
+                                rs.getObject("created_by_id", Long.class),
+                                rs.getObject("assigned_to_id", Long.class));
+                        Date announcedFor = rs.getDate("overdue_announced_for");
+                        if (track(deadline)
+                                && (announcedFor == null || !announcedFor.toLocalDate().equals(deadline.deadline()))) {
+                            unannounced.add(deadline);
+                        }
+                    });
+            log.info("[Deadlines] Tracking {} open task(s), {} overdue ({} unannounced), in {} ms",
+                    pending.size() + overdue.size(), overdue.size(), unannounced.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        publish(unannounced);
+    }
+
+    // ----------------------------------------------------------------
+    // WRITE-PATH LISTENER
+    // ----------------------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot after = event.after();
+        Deadline announce = null;
+        synchronized (this) {
+            boolean wasOverdue = untrack((after != null ? after : event.before()).id());
+            if (after != null && after.deadline() != null && isOpen(after.status())) {
+                Deadline deadline = new Deadline(after.id(), after.deadline(), after.creatorId(), after.assigneeId());
+                if (track(deadline) && !wasOverdue) {
+                    announce = deadline;
+                }
+            }
+        }
+        if (announce != null) {
+            publish(List.of(announce));
+        }
+    }
+
+    /** The tasks deleted with a user (assigned or created) publish no TaskChangedEvent of their own. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        event.taskIds().forEach(this::untrack);
+    }
+
+    // ----------------------------------------------------------------
+    // TIMER
+    // ----------------------------------------------------------------
+
+    @Scheduled(cron = "${app.tasks.deadlines.cron:1 0 0 * * *}")
+    public void onNewDay() {
+        advanceTo(LocalDate.now());
+    }
+
+    /**
+     * Move to day: every tracked task whose deadline is before it becomes
+     * overdue and is announced once.
+     *
+     * @return number of tasks that became overdue
+     */
+    public int advanceTo(LocalDate day) {
+        List<Deadline> passed = new ArrayList<>();
+        synchronized (this) {
+            if (day.isAfter(today)) {
+                today = day;
+            }
+            while (!queue.isEmpty() && queue.peek().deadline().isBefore(today)) {
+                Deadline head = queue.poll();
+                if (pending.get(head.taskId()) != head) {
+                    continue;
+                }
+                pending.remove(head.taskId());
+                markOverdue(head);
+                passed.add(head);
+            }
+        }
+        if (!passed.isEmpty()) {
+            log.info("[Deadlines] {} task(s) became overdue on {}", passed.size(), day);
+            publish(passed);
+        }
+        return passed.size();
+    }
+
+    // ----------------------------------------------------------------
+    // READS — O(1), no locking
+    // ----------------------------------------------------------------
+
+    /** Overdue tasks created by the user (a manager's or admin's delegated work). */
+    public int overdueCreatedBy(long userId) {
+        return overdueByCreator.getOrDefault(userId, 0);
+    }
+
+    /** Overdue tasks assigned to the user. */
+    public int overdueAssignedTo(long userId) {
+        return overdueByAssignee.getOrDefault(userId, 0);
+    }
+
+    /** Overdue tasks across the organisation. */
+    public int overdueTotal() {
+        return overdueTotal;
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS (caller holds this)
+    // ----------------------------------------------------------------
+
+    /** Queue deadline, or count it straight away when it has passed; returns true in the latter case. */
+    private boolean track(Deadline deadline) {
+        if (deadline.deadline().isBefore(today)) {
+            markOverdue(deadline);
+            return true;
+        }
+        pending.put(deadline.taskId(), deadline);
+        queue.add(deadline);
+        if (queue.size() > pending.size() + STALE_SLACK) {
+            queue.clear();
+            queue.addAll(pending.values());
+        }
+        return false;
+    }
+
+    /** Stop tracking a task; returns whether it was overdue. */
+    private boolean untrack(long taskId) {
+        pending.remove(taskId);
+        Deadline gone = overdue.remove(taskId);
+        if (gone == null) {
+            return false;
+        }
+        count(gone, -1);
+        return true;
+    }
+
+    private void markOverdue(Deadline deadline) {
+        overdue.put(deadline.taskId(), deadline);
+        count(deadline, 1);
+    }
+
+    private void count(Deadline deadline, int delta) {
+        overdueTotal += delta;
+        adjust(overdueByCreator, deadline.creatorId(), delta);
+        adjust(overdueByAssignee, deadline.assigneeId(), delta);
+    }
+
+    private static void adjust(Map<Long, Integer> counts, Long userId, int delta) {
+        if (userId != null) {
+            counts.compute(userId, (id, n) -> {
+                int updated = (n != null ? n : 0) + delta;
+                return updated != 0 ? updated : null;
+            });
+        }
+    }
+
+    private static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.TODO || status == TaskStatus.IN_PROGRESS;
+    }
+
+    // ----------------------------------------------------------------
+    // ANNOUNCE (caller does not hold this)
+    // ----------------------------------------------------------------
+
+    /** Claim each deadline's marker and publish the ones this call claimed. */
+    private void publish(List<Deadline> deadlines) {
+        for (Deadline d : deadlines) {
+            if (claim(d)) {
+                eventPublisher.publishEvent(new TaskOverdueEvent(d.taskId(), d.creatorId(), d.assigneeId(), d.deadline()));
+            }
+        }
+    }
+
+    /** True when the task had no marker for this deadline and now has one (see EXACTLY ONCE). */
+    private boolean claim(Deadline d) {
+        Date deadline = Date.valueOf(d.deadline());
+        try {
+            Integer updated = tx.execute(status -> primaryJdbc.update(
+                    "UPDATE tasks SET overdue_announced_for = ? "
+                            + "WHERE id = ? AND (overdue_announced_for IS NULL OR overdue_announced_for <> ?)",
+                    deadline, d.taskId(), deadline));
+            return updated != null && updated == 1;
+        } catch (DataAccessException ex) {
+            log.warn("[Deadlines] Could not mark task {} announced, leaving it to the next reload: {}",
+                    d.taskId(), ex.getMessage());
+            return false;
+        }
+    }
+}
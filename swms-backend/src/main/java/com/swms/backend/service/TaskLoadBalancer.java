@@ -0,0 +1,309 @@
+package com.swms.backend.service;
+
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import com.swms.backend.exception.ConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskLoadBalancer — picks the least-loaded employee of a department for
+ * POST /api/tasks with "autoAssign": true.
+ *
+ * LAYOUT
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ loads     user id → open / due-soon task counts, reserved weight │
+ * │ byDept    department → TreeSet of (score, user id), lowest first │
+ * │           (EMPLOYEE users only)                                  │
+ * │ open      task id → (assignee id, deadline) of every open task   │
+ * └──────────────────────────────────────────────────────────────────┘
+ *  open      → TODO or IN_PROGRESS, as TaskDeadlineScheduler
+ *  score     → open tasks + due-soon-weight × open tasks due within
+ *              due-soon-days (overdue included) + reserved weight
+ *
+ * A pick takes the first entry of the department's set; any change of a
+ * user's score moves that one entry (remove + add), so picks and updates
+ * are O(log n) with no query per candidate. A sorted set rather than a
+ * PriorityQueue because scores go down as well as up.
+ *
+ * LIFECYCLE
+ *  • Loaded once the application is ready, on the analytics pool like
+ *    TaskDeadlineScheduler, and again at app.tasks.auto-assign.refresh-cron
+ *    (start of each day, when "due soon" moves).
+ *  • Kept current from TaskChangedEvent after commit (a changed task is
+ *    dropped and re-added, so replays are harmless), from UserService for
+ *    new and edited users, and from UserDeletedEvent for a deleted user
+ *    and the tasks deleted with them (assigned or created).
+ *  • A pick reserves the new task's weight on the chosen employee until
+ *    the creating transaction ends, by which time the committed task is
+ *    counted instead: a bulk create spreads its tasks, and concurrent
+ *    creates see each other's picks.
+ *
+ * Per JVM, like TaskDeadlineScheduler: with several backend instances
+ * each only sees its own picks before they commit.
+ */
+@Component
+public class TaskLoadBalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskLoadBalancer.class);
+
+    private record Slot(long score, long userId) {}
+
+    private record OpenTask(long assigneeId, LocalDate deadline) {}
+
+    private static final Comparator<Slot> LEAST_LOADED = Comparator
+            .comparingLong(Slot::score)
+            .thenComparingLong(Slot::userId);
+
+    /** Load of one user; department is null unless they are an EMPLOYEE eligible for picks. */
+    private static final class Load {
+        String department;
+        int open;
+        int dueSoon;
+        long reserved;
+        Slot slot;
+    }
+
+    private final JdbcTemplate jdbc;
+    private final int dueSoonDays;
+    private final int dueSoonWeight;
+
+    // Guarded by this
+    private final Map<Long, Load> loads = new HashMap<>();
+    private final Map<String, NavigableSet<Slot>> byDept = new HashMap<>();
+    private final Map<Long, OpenTask> open = new HashMap<>();
+    private LocalDate today = LocalDate.now();
+
+    public TaskLoadBalancer(@Qualifier("analyticsDataSource") DataSource analyticsDataSource,
+                            @Value("${app.tasks.auto-assign.due-soon-days:7}") int dueSoonDays,
+                            @Value("${app.tasks.auto-assign.due-soon-weight:1}") int dueSoonWeight) {
+        this.jdbc = new JdbcTemplate(analyticsDataSource);
+        this.jdbc.setFetchSize(1000);
+        this.dueSoonDays   = dueSoonDays;
+        this.dueSoonWeight = dueSoonWeight;
+    }
+
+    // ----------------------------------------------------------------
+    // LOAD
+    // ----------------------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (DataAccessException ex) {
+            log.error("[Balancer] Initial load failed, auto-assign finds no employees until reload: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.tasks.auto-assign.refresh-cron:2 0 0 * * *}")
+    public void onNewDay() {
+        reload();
+    }
+
+    /** Replace the tracked loads with the employees in users and the open tasks in tasks. */
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        Map<Long, Long> reserved = new HashMap<>();
+        loads.forEach((userId, load) -> {
+            if (load.reserved != 0) {
+                reserved.put(userId, load.reserved);
+            }
+        });
+        loads.clear();
+        byDept.clear();
+        open.clear();
+        today = LocalDate.now();
+
+        jdbc.query("SELECT id, department FROM users WHERE role = 'EMPLOYEE'", rs -> {
+            load(rs.getLong("id")).department = department(rs.getString("department"));
+        });
+        jdbc.query("SELECT id, assigned_to_id, deadline FROM tasks "
+                        + "WHERE assigned_to_id IS NOT NULL AND status IN ('TODO', 'IN_PROGRESS')",
+                rs -> {
+                    Date deadline = rs.getDate("deadline");
+                    OpenTask task = new OpenTask(rs.getLong("assigned_to_id"),
+                            deadline != null ? deadline.toLocalDate() : null);
+                    open.put(rs.getLong("id"), task);
+                    count(load(task.assigneeId()), task.deadline(), 1);
+                });
+        // Picks still in flight keep their reservations
+        reserved.forEach((userId, weight) -> load(userId).reserved = weight);
+        loads.forEach((userId, load) -> place(userId, load));
+
+        log.info("[Balancer] Tracking {} employee(s) in {} department(s), {} open task(s), in {} ms",
+                byDept.values().stream().mapToInt(NavigableSet::size).sum(), byDept.size(), open.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // ----------------------------------------------------------------
+    // PICK
+    // ----------------------------------------------------------------
+
+    /**
+     * The least-loaded EMPLOYEE of department (ties → lowest id). Inside a
+     * transaction the new task's weight is reserved on them until it ends.
+     *
+     * @throws ConflictException when the department has no employees
+     */
+    public synchronized long pick(String department, LocalDate deadline) {
+        NavigableSet<Slot> candidates = byDept.get(department(department));
+        if (candidates == null || candidates.isEmpty()) {
+            throw new ConflictException("No employees in department '" + department + "' to assign the task to.");
+        }
+        long userId = candidates.first().userId();
+        long weight = weight(deadline);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            reserve(userId, weight);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    reserve(userId, -weight);
+                }
+            });
+        }
+        return userId;
+    }
+
+    /** Current score of a user (0 when unknown). */
+    public synchronized long score(long userId) {
+        Load load = loads.get(userId);
+        return load != null ? score(load) : 0;
+    }
+
+    // ----------------------------------------------------------------
+    // WRITE-PATH LISTENERS
+    // ----------------------------------------------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot after = event.after();
+        long taskId = (after != null ? after : event.before()).id();
+        OpenTask gone = open.remove(taskId);
+        if (gone != null) {
+            adjust(gone.assigneeId(), gone.deadline(), -1);
+        }
+        if (after != null && after.assigneeId() != null && isOpen(after.status())) {
+            open.put(taskId, new OpenTask(after.assigneeId(), after.deadline()));
+            adjust(after.assigneeId(), after.deadline(), 1);
+        }
+    }
+
+    /** A user was created or edited (UserService): role or department may have changed. */
+    public synchronized void userChanged(User user) {
+        Load load = load(user.getId());
+        unplace(load);
+        load.department = user.getRole() == Role.EMPLOYEE ? department(user.getDepartment()) : null;
+        place(user.getId(), load);
+    }
+
+    /**
+     * A user was deleted, and with them every task they were assigned or
+     * created: the event lists those ids, so only they are looked at.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        for (Long taskId : event.taskIds()) {
+            OpenTask gone = open.remove(taskId);
+            if (gone != null) {
+                adjust(gone.assigneeId(), gone.deadline(), -1);
+            }
+        }
+        Load load = loads.remove(event.userId());
+        if (load != null) {
+            unplace(load);
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS (caller holds this, except reserve)
+    // ----------------------------------------------------------------
+
+    private synchronized void reserve(long userId, long weight) {
+        Load load = load(userId);
+        unplace(load);
+        load.reserved += weight;
+        place(userId, load);
+    }
+
+    private void adjust(long userId, LocalDate deadline, int delta) {
+        Load load = load(userId);
+        unplace(load);
+        count(load, deadline, delta);
+        place(userId, load);
+    }
+
+    private void count(Load load, LocalDate deadline, int delta) {
+        load.open += delta;
+        if (isDueSoon(deadline)) {
+            load.dueSoon += delta;
+        }
+    }
+
+    private Load load(long userId) {
+        return loads.computeIfAbsent(userId, id -> new Load());
+    }
+
+    /** Put the user's slot (at their current score) in their department's set, if they have one. */
+    private void place(long userId, Load load) {
+        if (load.department == null) {
+            load.slot = null;
+            return;
+        }
+        load.slot = new Slot(score(load), userId);
+        byDept.computeIfAbsent(load.department, key -> new TreeSet<>(LEAST_LOADED)).add(load.slot);
+    }
+
+    private void unplace(Load load) {
+        if (load.slot != null) {
+            byDept.get(load.department).remove(load.slot);
+            load.slot = null;
+        }
+    }
+
+    private long score(Load load) {
+        return load.open + (long) dueSoonWeight * load.dueSoon + load.reserved;
+    }
+
+    private long weight(LocalDate deadline) {
+        return 1 + (isDueSoon(deadline) ? dueSoonWeight : 0);
+    }
+
+    private boolean isDueSoon(LocalDate deadline) {
+        return deadline != null && !deadline.isAfter(today.plusDays(dueSoonDays));
+    }
+
+    private static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.TODO || status == TaskStatus.IN_PROGRESS;
+    }
+
+    /** Departments match trimmed; blank is none. */
+    private static String department(String department) {
+        return department == null || department.isBlank() ? null : department.trim();
+    }
+}
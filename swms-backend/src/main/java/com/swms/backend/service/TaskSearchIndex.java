@@ -0,0 +1,392 @@
+package com.swms.backend.service;
+
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.TasksArchivedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TaskSearchIndex — in-process inverted index over task titles and descriptions.
+ *
+ * LAYOUT
+ * ┌──────────────────────────────────────────────────────────────────┐
+ * │ terms  TreeMap term → Postings (task ids ascending │ weight)     │
+ * │ docs   task id → (assignee id, distinct terms, weighted length)  │
+ * └──────────────────────────────────────────────────────────────────┘
+ *  term    → lower-cased run of letters / digits, MIN_TERM … MAX_TERM chars
+ *  weight  → TITLE_WEIGHT × occurrences in the title + occurrences in
+ *            the description
+ *
+ * SEARCH
+ *  Each query word is a term; the last one also matches as a prefix
+ *  (search as you type), expanded to at most app.tasks.search.max-expansions
+ *  of the most common matching terms. Matches are ranked by BM25 over the
+ *  weights, best first (newest first on ties), and a task scores a query
+ *  word once even when several prefix expansions hit it. A search touches
+ *  only the postings of the query's terms.
+ *
+ * LIFECYCLE
+ *  • Built from a streamed scan of tasks once the application is ready
+ *    (after DataSeeder), on the analytics pool like AnalyticsSnapshot
+ *    (cursor fetch there, so rows arrive fetch-size at a time).
+ *  • Kept current from TaskChangedEvent after commit. A task is
+ *    re-tokenised only when its text changed; replays are harmless.
+ *  • Covers tasks only, not tasks_archive: archived tasks are dropped
+ *    on TasksArchivedEvent.
+ *
+ * Per JVM, like AnalyticsSnapshot: with several backend instances each
+ * would only see its own writes between restarts.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    static final int MIN_TERM = 2;
+    static final int MAX_TERM = 40;
+    static final int TITLE_WEIGHT = 3;
+
+    /** BM25 term-frequency saturation and length normalisation. */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Assignee filter value that matches every task (and the assignee id of unassigned tasks). */
+    public static final long ANY_ASSIGNEE = 0L;
+
+    /** Ranked task ids, plus how many tasks matched in total. */
+    public record Matches(List<Long> ids, int total) {}
+
+    private final JdbcTemplate jdbc;
+    private final int maxExpansions;
+    private final long loadWaitMs;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    // Guarded by lock
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+
+    public TaskSearchIndex(@Qualifier("analyticsDataSource") DataSource analyticsDataSource,
+                           @Value("${app.tasks.search.max-expansions:50}") int maxExpansions,
+                           @Value("${app.analytics.snapshot.load-wait-ms:30000}") long loadWaitMs) {
+        this.jdbc = new JdbcTemplate(analyticsDataSource);
+        this.jdbc.setFetchSize(1000);
+        this.maxExpansions = maxExpansions;
+        this.loadWaitMs = loadWaitMs;
+    }
+
+    // ----------------------------------------------------------------
+    // LOAD
+    // ----------------------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (DataAccessException ex) {
+            log.error("[Search] Initial load failed, search starts empty until restart: {}", ex.getMessage());
+        }
+    }
+
+    /** Replace the index with the current contents of tasks. */
+    public void reload() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docs.clear();
+            totalLength = 0;
+            jdbc.query("SELECT id, title, description, assigned_to_id FROM tasks",
+                    rs -> {
+                        put(rs.getLong("id"), rs.getLong("assigned_to_id"),
+                                rs.getString("title"), rs.getString("description"));
+                    });
+            log.info("[Search] Indexed {} task(s), {} term(s) in {} ms",
+                    docs.size(), terms.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } finally {
+            lock.writeLock().unlock();
+            loaded.countDown();
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // WRITE-PATH LISTENER
+    // ----------------------------------------------------------------
+
+    // Before DataVersionService publishes a new ETag version, so a search never pairs it with stale hits
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        lock.writeLock().lock();
+        try {
+            if (after == null) {
+                remove(before.id());
+                return;
+            }
+            long assigneeId = after.assigneeId() != null ? after.assigneeId() : ANY_ASSIGNEE;
+            Doc doc = docs.get(after.id());
+            if (doc != null && before != null
+                    && Objects.equals(before.title(), after.title())
+                    && Objects.equals(before.description(), after.description())) {
+                docs.put(after.id(), new Doc(assigneeId, doc.terms(), doc.length()));
+            } else {
+                put(after.id(), assigneeId, after.title(), after.description());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onTasksArchived(TasksArchivedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.taskIds().forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // SEARCH
+    // ----------------------------------------------------------------
+
+    /**
+     * Up to limit task ids ranked by relevance to query.
+     *
+     * @param assigneeId only tasks assigned to this user, or ANY_ASSIGNEE
+     * @throws IllegalArgumentException when query has no letters or digits
+     */
+    public Matches search(String query, long assigneeId, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(terms(query)));
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("'q' must contain a word of at least " + MIN_TERM + " letters or digits.");
+        }
+        // "fix log" → "log" is still being typed; "fix log " → it is complete
+        boolean lastIsPrefix = trailingRun(query) >= MIN_TERM;
+
+        awaitLoaded();
+        lock.readLock().lock();
+        try {
+            if (docs.isEmpty()) {
+                return new Matches(List.of(), 0);
+            }
+            double averageLength = (double) totalLength / docs.size();
+            Map<Long, double[]> scores = new HashMap<>();
+            for (int w = 0; w < words.size(); w++) {
+                List<Postings> lists = w == words.size() - 1 && lastIsPrefix
+                        ? expansions(words.get(w))
+                        : exact(words.get(w));
+                scoreWord(lists, assigneeId, averageLength, scores);
+            }
+
+            Comparator<Map.Entry<Long, double[]>> rank = Comparator
+                    .<Map.Entry<Long, double[]>>comparingDouble(e -> e.getValue()[0])
+                    .thenComparingLong(Map.Entry::getKey);
+            PriorityQueue<Map.Entry<Long, double[]>> top = new PriorityQueue<>(limit + 1, rank);
+            for (Map.Entry<Long, double[]> entry : scores.entrySet()) {
+                top.add(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = top.poll().getKey();
+            }
+            return new Matches(List.of(ids), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Index state of one task. */
+    private record Doc(long assigneeId, String[] terms, int length) {}
+
+    /** (Re)index one task. Must hold the write lock. */
+    private void put(long id, long assigneeId, String title, String description) {
+        remove(id);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        int length = 0;
+        for (String term : terms(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : terms(description)) {
+            weights.merge(term, 1, Integer::sum);
+            length++;
+        }
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).put(id, weight));
+        docs.put(id, new Doc(assigneeId, weights.keySet().toArray(String[]::new), length));
+        totalLength += length;
+    }
+
+    /** Drop one task from the index. Must hold the write lock. */
+    private void remove(long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms()) {
+            Postings postings = terms.get(term);
+            postings.remove(id);
+            if (postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        totalLength -= doc.length();
+    }
+
+    private List<Postings> exact(String word) {
+        Postings postings = terms.get(word);
+        return postings != null ? List.of(postings) : List.of();
+    }
+
+    /** Postings of the most common terms starting with prefix (the exact term always included). */
+    private List<Postings> expansions(String prefix) {
+        List<Postings> all = new ArrayList<>(terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+        if (all.size() <= maxExpansions) {
+            return all;
+        }
+        Postings exact = terms.get(prefix);
+        all.sort(Comparator.comparingInt((Postings p) -> p.size).reversed());
+        List<Postings> kept = new ArrayList<>(all.subList(0, maxExpansions));
+        if (exact != null && !kept.contains(exact)) {
+            kept.set(maxExpansions - 1, exact);
+        }
+        return kept;
+    }
+
+    /** Add one query word's BM25 score to every visible task it matches (best expansion only). */
+    private void scoreWord(List<Postings> lists, long assigneeId, double averageLength, Map<Long, double[]> scores) {
+        int total = docs.size();
+        Map<Long, Double> best = new HashMap<>();
+        for (Postings postings : lists) {
+            double idf = Math.log(1 + (total - postings.size + 0.5) / (postings.size + 0.5));
+            for (int i = 0; i < postings.size; i++) {
+                long id = postings.ids[i];
+                Doc doc = docs.get(id);
+                if (assigneeId != ANY_ASSIGNEE && doc.assigneeId() != assigneeId) {
+                    continue;
+                }
+                double weight = postings.weights[i];
+                double score = idf * weight * (K1 + 1)
+                        / (weight + K1 * (1 - B + B * doc.length() / averageLength));
+                best.merge(id, score, Math::max);
+            }
+        }
+        best.forEach((id, score) -> scores.computeIfAbsent(id, k -> new double[1])[0] += score);
+    }
+
+    /** Every term occurrence in text, in order. */
+    static List<String> terms(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> all = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TERM) {
+                    all.add(text.substring(start, Math.min(i, start + MAX_TERM)).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return all;
+    }
+
+    /** Length of the run of letters / digits that text ends with. */
+    private static int trailingRun(String text) {
+        int start = text.length();
+        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start--;
+        }
+        return text.length() - start;
+    }
+
+    private void awaitLoaded() {
+        try {
+            if (!loaded.await(loadWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Task search index is still loading, try again shortly.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the task search index.", ex);
+        }
+    }
+
+    /** Task ids containing one term, ascending, with their weights. */
+    private static final class Postings {
+        long[] ids = new long[2];
+        int[] weights = new int[2];
+        int size;
+
+        void put(long id, int weight) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                weights[at] = weight;
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(weights, at, weights, at + 1, size - at);
+            ids[at] = id;
+            weights[at] = weight;
+            size++;
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(weights, at + 1, weights, at, size - at - 1);
+            size--;
+        }
+    }
+}
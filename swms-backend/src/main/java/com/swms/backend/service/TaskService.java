@@ -1,17 +1,49 @@
 package com.swms.backend.service;
 
+import com.swms.backend.dto.request.BulkTaskUpdateRequest;
+import com.swms.backend.dto.request.TaskQueryRequest;
 import com.swms.backend.dto.request.TaskRequest;
+import com.swms.backend.dto.request.TaskStatusRequest;
+import com.swms.backend.dto.response.TaskBoardColumn;
+import com.swms.backend.dto.response.TaskBoardResponse;
+import com.swms.backend.dto.response.TaskPageResponse;
 import com.swms.backend.dto.response.TaskResponse;
+import com.swms.backend.dto.response.TaskSearchResponse;
 import com.swms.backend.entity.Task;
 import com.swms.backend.entity.User;
 import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskSort;
 import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.exception.ConflictException;
 import com.swms.backend.exception.ResourceNotFoundException;
+import com.swms.backend.repository.TaskBoardQueries;
+import com.swms.backend.repository.TaskQueries;
 import com.swms.backend.repository.TaskRepository;
+import com.swms.backend.repository.projection.TaskListRow;
+import com.swms.backend.repository.projection.TaskStatusRow;
+import com.swms.backend.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * TaskService — business logic for Task CRUD.
@@ -20,16 +52,58 @@ import java.util.List;
  *  ADMIN   → full access to all tasks
  *  MANAGER → create tasks, view all tasks, update / delete own tasks
  *  EMPLOYEE → view only tasks assigned to them, update status of own tasks
+ *
+ * Every write also adjusts the daily task rollups (RollupService) inside
+ * the same transaction, so dashboard aggregates never see a half-applied write,
+ * appends one task_events row per task to the change feed (TaskChangeFeedService),
+ * and publishes a TaskChangedEvent for caches and live views.
  */
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskQueries taskQueries;
+    private final TaskBoardQueries boardQueries;
+    private final TaskSearchIndex searchIndex;
+    private final TaskLoadBalancer loadBalancer;
     private final UserService userService;
+    private final RollupService rollupService;
+    private final TaskChangeFeedService changeFeed;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBulkSize;
+    private final int defaultBoardSize;
+    private final int maxBoardSize;
 
-    public TaskService(TaskRepository taskRepository, UserService userService) {
-        this.taskRepository = taskRepository;
-        this.userService    = userService;
+    public TaskService(TaskRepository taskRepository,
+                       TaskQueries taskQueries,
+                       TaskBoardQueries boardQueries,
+                       TaskSearchIndex searchIndex,
+                       TaskLoadBalancer loadBalancer,
+                       UserService userService,
+                       RollupService rollupService,
+                       TaskChangeFeedService changeFeed,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${app.tasks.page.default-size:50}") int defaultPageSize,
+                       @Value("${app.tasks.page.max-size:200}") int maxPageSize,
+                       @Value("${app.tasks.bulk.max-size:5000}") int maxBulkSize,
+                       @Value("${app.tasks.board.default-per-status:20}") int defaultBoardSize,
+                       @Value("${app.tasks.board.max-per-status:100}") int maxBoardSize) {
+        this.taskRepository   = taskRepository;
+        this.taskQueries      = taskQueries;
+        this.boardQueries     = boardQueries;
+        this.searchIndex      = searchIndex;
+        this.loadBalancer     = loadBalancer;
+        this.userService      = userService;
+        this.rollupService    = rollupService;
+        this.changeFeed       = changeFeed;
+        this.eventPublisher   = eventPublisher;
+        this.defaultPageSize  = defaultPageSize;
+        this.maxPageSize      = maxPageSize;
+        this.maxBulkSize      = maxBulkSize;
+        this.defaultBoardSize = defaultBoardSize;
+        this.maxBoardSize     = maxBoardSize;
     }
 
     // ----------------------------------------------------------------
@@ -37,27 +111,62 @@ public class TaskService {
     // ----------------------------------------------------------------
 
     /**
-     * Create a new task.
+     * Create a new task, assigned to req.assignedToId or — with
+     * req.autoAssign — to the least-loaded employee of req.department
+     * (default: the creator's).
      *
-     * @param req         validated TaskRequest payload
-     * @param creatorEmail email of the authenticated user (from JWT)
+     * @param req     validated TaskRequest payload
+     * @param creator the authenticated user (from JWT)
      */
-    public TaskResponse create(TaskRequest req, String creatorEmail) {
-        User creator    = userService.findByEmail(creatorEmail);
-        User assignedTo = userService.findByEmail(
-                userService.getById(req.getAssignedToId()).getEmail()
-        );
+    @Transactional
+    public TaskResponse create(TaskRequest req, AuthenticatedUser creator) {
+        User assignedTo = userService.findById(assigneeId(req, creator));
 
         Task task = Task.builder()
                 .title(req.getTitle())
                 .description(req.getDescription())
                 .status(req.getStatus() != null ? req.getStatus() : TaskStatus.TODO)
                 .assignedTo(assignedTo)
-                .createdBy(creator)
+                .createdBy(userService.getReference(creator.id()))
                 .deadline(req.getDeadline())
                 .build();
 
-        return toResponse(taskRepository.save(task));
+        Task saved = taskRepository.save(task);
+        recordChange(null, TaskSnapshot.of(saved));
+        return toResponse(saved);
+    }
+
+    /**
+     * Create many tasks in one transaction (sprint planning imports).
+     *
+     * Assignees are resolved in one IN query, and the inserts reach the
+     * database as JDBC batches of hibernate.jdbc.batch_size rows (Task ids
+     * are pre-allocated, see Task). Rollups are adjusted once per bucket.
+     */
+    @Transactional
+    public List<TaskResponse> createAll(List<TaskRequest> reqs, AuthenticatedUser caller) {
+        checkBulkSize(reqs.size());
+        User creator = userService.getReference(caller.id());
+        // Each auto-assigned task counts towards the next pick
+        List<Long> assigneeIds = reqs.stream().map(req -> assigneeId(req, caller)).toList();
+        Map<Long, User> assignees = userService.findAllById(assigneeIds);
+
+        List<Task> tasks = IntStream.range(0, reqs.size())
+                .mapToObj(i -> Task.builder()
+                        .title(reqs.get(i).getTitle())
+                        .description(reqs.get(i).getDescription())
+                        .status(reqs.get(i).getStatus() != null ? reqs.get(i).getStatus() : TaskStatus.TODO)
+                        .assignedTo(assignees.get(assigneeIds.get(i)))
+                        .createdBy(creator)
+                        .deadline(reqs.get(i).getDeadline())
+                        .build())
+                .toList();
+        List<Task> saved = taskRepository.saveAll(tasks);
+        taskRepository.flush();
+
+        List<TaskSnapshot> after = saved.stream().map(TaskSnapshot::of).toList();
+        recordChanges(Collections.nCopies(after.size(), null), after);
+        return saved.stream().map(this::toResponse).toList();
     }
 
     // ----------------------------------------------------------------
@@ -65,29 +174,161 @@ public class TaskService {
     // ----------------------------------------------------------------
 
     /**
-     * Return tasks visible to the caller based on their role:
+     * One page of the tasks visible to the caller that match the query,
+     * in (query.sort, id) order — newest first by default:
      *  ADMIN/MANAGER → all tasks
      *  EMPLOYEE      → only tasks assigned to them
+     *
+     * nextCursor continues in query.direction, prevCursor goes back; both
+     * are null at the ends and only valid with the same sort.
+     */
+    public TaskPageResponse getForUser(AuthenticatedUser caller, TaskQueryRequest query) {
+        Long assigneeId = query.getAssignedToId();
+        if (caller.is(Role.EMPLOYEE)) {
+            if (assigneeId != null && !assigneeId.equals(caller.id())) {
+                throw new AccessDeniedException("You can only view your own tasks.");
+            }
+            assigneeId = caller.id();
+        }
+        if (query.getDeadlineFrom() != null && query.getDeadlineTo() != null
+                && query.getDeadlineFrom().isAfter(query.getDeadlineTo())) {
+            throw new IllegalArgumentException("'deadlineFrom' must not be after 'deadlineTo'.");
+        }
+
+        int size = query.getLimit() == null ? defaultPageSize : query.getLimit();
+        if (size < 1) {
+            throw new IllegalArgumentException("'limit' must be at least 1.");
+        }
+        size = Math.min(size, maxPageSize);
+
+        TaskSort sort = query.getSort() != null ? query.getSort() : TaskSort.CREATED_AT;
+        boolean descending = query.getDirection() != Sort.Direction.ASC;
+        String department = query.getDepartment() == null || query.getDepartment().isBlank()
+                ? null : query.getDepartment().trim();
+        TaskQueries.Filter filter = new TaskQueries.Filter(assigneeId, query.getCreatedById(), query.getStatus(),
+                department, query.getDeadlineFrom(), query.getDeadlineTo(), query.isOverdue(), LocalDate.now());
+
+        String cursor = query.getCursor();
+        TaskCursor position = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor, sort);
+        boolean forward = position == null || position.forward();
+
+        // One extra row tells whether another page follows in this direction
+        List<TaskListRow> rows = new ArrayList<>(taskQueries.findPage(filter, sort, descending != forward,
+                position != null ? position.value() : null,
+                position != null ? position.id() : null,
+                size + 1, query.isDescription(), query.isIncludeArchived()));
+        boolean more = rows.size() > size;
+        if (more) {
+            rows = rows.subList(0, size);
+        }
+        if (!forward) {
+            Collections.reverse(rows);
+        }
+
+        // Reading back, the cursor row itself lies ahead; reading on, anything behind exists past page 1
+        boolean hasNext = !forward || more;
+        boolean hasPrev = forward ? position != null : more;
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!rows.isEmpty()) {
+            if (hasNext) nextCursor = TaskCursor.at(rows.get(rows.size() - 1), sort, true).encode();
+            if (hasPrev) prevCursor = TaskCursor.at(rows.get(0), sort, false).encode();
+        }
+
+        return TaskPageResponse.builder()
+                .items(rows.stream().map(this::toResponse).toList())
+                .limit(size)
+                .nextCursor(nextCursor)
+                .prevCursor(prevCursor)
+                .build();
+    }
+
+    /**
+     * Status board of the tasks visible to the caller (same rules as
+     * getForUser), optionally narrowed to one assignee / creator: every
+     * status with its total and its first limit tasks by deadline, from
+     * one windowed query.
      */
-    public List<TaskResponse> getForUser(String callerEmail) {
-        User caller = userService.findByEmail(callerEmail);
+    public TaskBoardResponse getBoard(AuthenticatedUser caller, Long assignedToId, Long createdById, Integer limit) {
+        if (caller.is(Role.EMPLOYEE)) {
+            if (assignedToId != null && !assignedToId.equals(caller.id())) {
+                throw new AccessDeniedException("You can only view your own tasks.");
+            }
+            assignedToId = caller.id();
+        }
+        int size = limit == null ? defaultBoardSize : limit;
+        if (size < 1) {
+            throw new IllegalArgumentException("'limit' must be at least 1.");
+        }
+        size = Math.min(size, maxBoardSize);
 
-        if (caller.getRole() == Role.EMPLOYEE) {
-            return taskRepository.findByAssignedTo(caller)
-                    .stream().map(this::toResponse).toList();
+        TaskBoardQueries.Board board = boardQueries.findBoard(assignedToId, createdById, size);
+        return TaskBoardResponse.builder()
+                .columns(board.columns().entrySet().stream()
+                        .map(column -> TaskBoardColumn.builder()
+                                .status(column.getKey().name())
+                                .total(board.totals().get(column.getKey()))
+                                .tasks(column.getValue().stream().map(this::toResponse).toList())
+                                .build())
+                        .toList())
+                .limit(size)
+                .build();
+    }
+
+    /**
+     * Tasks visible to the caller (same rules as getForUser) whose title or
+     * description match q, best match first — served from TaskSearchIndex,
+     * then loaded in one IN query (descriptions only when withDescription).
+     */
+    public TaskSearchResponse search(AuthenticatedUser caller, String q, Integer limit, boolean withDescription) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("'q' must not be blank.");
+        }
+        int size = limit == null ? defaultPageSize : limit;
+        if (size < 1) {
+            throw new IllegalArgumentException("'limit' must be at least 1.");
         }
-        return taskRepository.findAll()
-                .stream().map(this::toResponse).toList();
+        size = Math.min(size, maxPageSize);
+
+        long assigneeId = caller.is(Role.EMPLOYEE) ? caller.id() : TaskSearchIndex.ANY_ASSIGNEE;
+        TaskSearchIndex.Matches matches = searchIndex.search(q, assigneeId, size);
+
+        // The index trails commits slightly, so re-check what the rows say now
+        Map<Long, TaskListRow> rows = taskQueries.findByIds(matches.ids(), withDescription).stream()
+                .collect(Collectors.toMap(TaskListRow::id, Function.identity()));
+        List<TaskResponse> items = matches.ids().stream()
+                .map(rows::get)
+                .filter(task -> task != null && (assigneeId == TaskSearchIndex.ANY_ASSIGNEE
+                        || Objects.equals(task.assignedToId(), assigneeId)))
+                .map(this::toResponse)
+                .toList();
+
+        return TaskSearchResponse.builder()
+                .query(q)
+                .items(items)
+                .limit(size)
+                .total(matches.total())
+                .build();
     }
 
-    /** Single task by id — any authenticated user may call, service filters below. */
-    public TaskResponse getById(Long id, String callerEmail) {
-        Task task   = findOrThrow(id);
-        User caller = userService.findByEmail(callerEmail);
+    /** One task; with includeArchived a task moved to tasks_archive is found too. */
+    public TaskResponse getById(Long id, AuthenticatedUser caller, boolean includeArchived) {
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task == null && includeArchived) {
+            TaskListRow archived = taskQueries.findArchived(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + id));
+            if (caller.is(Role.EMPLOYEE) && !caller.id().equals(archived.assignedToId())) {
+                throw new AccessDeniedException("You do not have access to this task.");
+            }
+            return toResponse(archived);
+        }
+        if (task == null) {
+            throw new ResourceNotFoundException("Task not found: " + id);
+        }
 
         // Employees can only see their own tasks
-        if (caller.getRole() == Role.EMPLOYEE
-                && !task.getAssignedTo().getId().equals(caller.getId())) {
+        if (caller.is(Role.EMPLOYEE)
+                && !task.getAssignedTo().getId().equals(caller.id())) {
             throw new AccessDeniedException("You do not have access to this task.");
         }
 
@@ -103,17 +344,21 @@ public class TaskService {
      * EMPLOYEE can only update the STATUS field of tasks assigned to them.
      * MANAGER/ADMIN can update everything.
      */
-    public TaskResponse update(Long id, TaskRequest req, String callerEmail) {
-        Task task   = findOrThrow(id);
-        User caller = userService.findByEmail(callerEmail);
+    @Transactional
+    public TaskResponse update(Long id, TaskRequest req, AuthenticatedUser caller) {
+        if (req.isAutoAssign()) {
+            throw new IllegalArgumentException("'autoAssign' applies to new tasks only.");
+        }
+        Task task = findOrThrow(id);
+        TaskSnapshot before = TaskSnapshot.of(task);
 
-        if (caller.getRole() == Role.EMPLOYEE) {
+        if (caller.is(Role.EMPLOYEE)) {
             // Employee can only change their own task's status
-            if (!task.getAssignedTo().getId().equals(caller.getId())) {
+            if (!task.getAssignedTo().getId().equals(caller.id())) {
                 throw new AccessDeniedException("You can only update tasks assigned to you.");
             }
             if (req.getStatus() != null) task.setStatus(req.getStatus());
-            return toResponse(taskRepository.save(task));
+            return saveUpdated(task, before);
         }
 
         // MANAGER / ADMIN — full update
@@ -123,13 +368,114 @@ public class TaskService {
         if (req.getDeadline()    != null) task.setDeadline(req.getDeadline());
 
         if (req.getAssignedToId() != null) {
-            User newAssignee = userService.findByEmail(
-                    userService.getById(req.getAssignedToId()).getEmail()
-            );
-            task.setAssignedTo(newAssignee);
+            task.setAssignedTo(userService.findById(req.getAssignedToId()));
         }
 
-        return toResponse(taskRepository.save(task));
+        return saveUpdated(task, before);
+    }
+
+    /**
+     * Apply many partial updates in one transaction — MANAGER / ADMIN only,
+     * with the same field rules as a full update.
+     *
+     * The tasks and any new assignees are each loaded in one IN query; the
+     * dirty rows are flushed as JDBC batches of UPDATEs.
+     */
+    @Transactional
+    public List<TaskResponse> updateAll(List<BulkTaskUpdateRequest.Item> items, AuthenticatedUser caller) {
+        checkBulkSize(items.size());
+        if (caller.is(Role.EMPLOYEE)) {
+            throw new AccessDeniedException("Only managers and admins can update tasks in bulk.");
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (BulkTaskUpdateRequest.Item item : items) {
+            if (!ids.add(item.getId())) {
+                throw new IllegalArgumentException("Task " + item.getId() + " appears more than once.");
+            }
+        }
+        Map<Long, Task> tasks = taskRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        if (tasks.size() < ids.size()) {
+            ids.removeAll(tasks.keySet());
+            throw new ResourceNotFoundException("Task(s) not found: " + new TreeSet<>(ids));
+        }
+        Map<Long, User> assignees = userService.findAllById(items.stream()
+                .map(BulkTaskUpdateRequest.Item::getAssignedToId)
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<TaskSnapshot> before = new ArrayList<>(items.size());
+        List<Task> updated = new ArrayList<>(items.size());
+        for (BulkTaskUpdateRequest.Item item : items) {
+            Task task = tasks.get(item.getId());
+            before.add(TaskSnapshot.of(task));
+            if (item.getTitle()        != null) task.setTitle(item.getTitle());
+            if (item.getDescription()  != null) task.setDescription(item.getDescription());
+            if (item.getStatus()       != null) task.setStatus(item.getStatus());
+            if (item.getDeadline()     != null) task.setDeadline(item.getDeadline());
+            if (item.getAssignedToId() != null) task.setAssignedTo(assignees.get(item.getAssignedToId()));
+            updated.add(task);
+        }
+        taskRepository.flush();
+
+        recordChanges(before, updated.stream().map(TaskSnapshot::of).toList());
+        return updated.stream().map(this::toResponse).toList();
+    }
+
+    /**
+     * Status-only transition, e.g. an employee moving TODO → IN_PROGRESS.
+     *
+     * Reads the task (with its users, for the response and the rollups) in
+     * one SELECT, then writes with a single conditional UPDATE … WHERE id = ?
+     * AND version = ? (AND assignee = ? for employees); no entity is
+     * loaded or merged. A stale version — or losing a race for the same
+     * version — is a ConflictException (409).
+     *
+     * EMPLOYEE callers may only move tasks assigned to them.
+     */
+    @Transactional
+    public TaskResponse updateStatus(Long id, TaskStatusRequest req, AuthenticatedUser caller) {
+        boolean assigneeOnly = caller.is(Role.EMPLOYEE);
+        TaskStatusRow row = taskRepository.findStatusRow(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + id));
+        if (assigneeOnly && !caller.id().equals(row.getAssigneeId())) {
+            throw new AccessDeniedException("You can only update tasks assigned to you.");
+        }
+        if (row.getVersion() != req.getVersion()) {
+            throw staleVersion(id, req.getVersion());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = taskRepository.updateStatusIfVersion(id, req.getVersion(),
+                assigneeOnly ? row.getAssigneeId() : null, req.getStatus(), now);
+        if (updated == 0) {
+            throw staleVersion(id, req.getVersion());
+        }
+
+        String department = row.getAssigneeId() == null
+                ? RollupService.NO_ASSIGNEE
+                : RollupService.departmentBucket(row.getAssigneeDepartment());
+        recordChange(
+                new TaskSnapshot(id, row.getStatus(), row.getCreatorId(), row.getAssigneeId(), department, row.getCreatedAt(),
+                        row.getTitle(), row.getDescription(), row.getDeadline()),
+                new TaskSnapshot(id, req.getStatus(), row.getCreatorId(), row.getAssigneeId(), department, row.getCreatedAt(),
+                        row.getTitle(), row.getDescription(), row.getDeadline()));
+
+        return TaskResponse.builder()
+                .id(id)
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .status(req.getStatus().name())
+                .assignedToId(row.getAssigneeId())
+                .assignedToName(row.getAssigneeName())
+                .createdById(row.getCreatorId())
+                .createdByName(row.getCreatorName())
+                .deadline(row.getDeadline())
+                .version(req.getVersion() + 1)
+                .createdAt(row.getCreatedAt())
+                .updatedAt(now)
+                .build();
     }
 
     // ----------------------------------------------------------------
@@ -137,29 +483,101 @@ public class TaskService {
     // ----------------------------------------------------------------
 
     /** Delete a task — ADMIN or the MANAGER who created it. */
-    public void delete(Long id, String callerEmail) {
-        Task task   = findOrThrow(id);
-        User caller = userService.findByEmail(callerEmail);
+    @Transactional
+    public void delete(Long id, AuthenticatedUser caller) {
+        Task task = findOrThrow(id);
 
-        boolean isAdmin   = caller.getRole() == Role.ADMIN;
-        boolean isCreator = task.getCreatedBy().getId().equals(caller.getId());
+        boolean isAdmin   = caller.is(Role.ADMIN);
+        boolean isCreator = task.getCreatedBy().getId().equals(caller.id());
 
         if (!isAdmin && !isCreator) {
             throw new AccessDeniedException("Only the creator or an admin can delete this task.");
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         taskRepository.delete(task);
+        recordChange(before, null);
     }
 
     // ----------------------------------------------------------------
     // HELPERS
     // ----------------------------------------------------------------
 
+    /** Persist an updated task and record the before → after change (flushed, so the response has the new version). */
+    private TaskResponse saveUpdated(Task task, TaskSnapshot before) {
+        Task saved = taskRepository.saveAndFlush(task);
+        recordChange(before, TaskSnapshot.of(saved));
+        return toResponse(saved);
+    }
+
+    /** Adjust the rollups, append to the change feed and notify listeners — called inside the write transaction. */
+    private void recordChange(TaskSnapshot before, TaskSnapshot after) {
+        rollupService.taskChanged(before, after);
+        changeFeed.append(before, after);
+        eventPublisher.publishEvent(new TaskChangedEvent(before, after));
+    }
+
+    /** Bulk form of recordChange: rollups netted per bucket, then one event per task. */
+    private void recordChanges(List<TaskSnapshot> before, List<TaskSnapshot> after) {
+        rollupService.tasksChanged(before, after);
+        changeFeed.append(before, after);
+        for (int i = 0; i < after.size(); i++) {
+            eventPublisher.publishEvent(new TaskChangedEvent(before.get(i), after.get(i)));
+        }
+    }
+
+    /** req.assignedToId, or the employee TaskLoadBalancer picks when req.autoAssign is set. */
+    private Long assigneeId(TaskRequest req, AuthenticatedUser caller) {
+        if (!req.isAutoAssign()) {
+            if (req.getAssignedToId() == null) {
+                throw new IllegalArgumentException("Assigned user id is required");
+            }
+            return req.getAssignedToId();
+        }
+        if (req.getAssignedToId() != null) {
+            throw new IllegalArgumentException("Give either 'assignedToId' or 'autoAssign', not both.");
+        }
+        String department = req.getDepartment() != null && !req.getDepartment().isBlank()
+                ? req.getDepartment() : caller.department();
+        if (department == null || department.isBlank()) {
+            throw new IllegalArgumentException("'department' is required to auto-assign.");
+        }
+        return loadBalancer.pick(department, req.getDeadline());
+    }
+
+    private static ConflictException staleVersion(Long id, long version) {
+        return new ConflictException("Task " + id + " has changed since version " + version + ". Reload it and try again.");
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " tasks per bulk request.");
+        }
+    }
+
     private Task findOrThrow(Long id) {
         return taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + id));
     }
 
+    /** Map a list row → TaskResponse DTO (description as selected). */
+    public TaskResponse toResponse(TaskListRow row) {
+        return TaskResponse.builder()
+                .id(row.id())
+                .title(row.title())
+                .description(row.description())
+                .status(row.status().name())
+                .assignedToId(row.assignedToId())
+                .assignedToName(row.assignedToName())
+                .createdById(row.createdById())
+                .createdByName(row.createdByName())
+                .deadline(row.deadline())
+                .version(row.version())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
     /** Map Task entity → TaskResponse DTO (no circular references). */
     public TaskResponse toResponse(Task task) {
         return TaskResponse.builder()
@@ -172,6 +590,7 @@ public class TaskService {
                 .createdById(task.getCreatedBy() != null ? task.getCreatedBy().getId() : null)
                 .createdByName(task.getCreatedBy() != null ? task.getCreatedBy().getName() : null)
                 .deadline(task.getDeadline())
+                .version(task.getVersion())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .build();
@@ -6,14 +6,29 @@ import com.swms.backend.dto.request.ResetPasswordRequest;
 import com.swms.backend.dto.response.UserResponse;
 import com.swms.backend.entity.User;
 import com.swms.backend.enums.Role;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
 import com.swms.backend.exception.ResourceNotFoundException;
+import com.swms.backend.repository.ArchivedTaskRepository;
 import com.swms.backend.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * UserService — business logic for User management.
@@ -22,11 +37,33 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
-        this.userRepository  = userRepository;
-        this.passwordEncoder = passwordEncoder;
+    private final DataVersionService dataVersionService;
+    private final AnalyticsCache analyticsCache;
+    private final TaskLoadBalancer loadBalancer;
+    private final TaskChangeFeedService changeFeed;
+    private final RollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserService(UserRepository userRepository,
+                       ArchivedTaskRepository archivedTaskRepository,
+                       PasswordEncoder passwordEncoder,
+                       DataVersionService dataVersionService,
+                       AnalyticsCache analyticsCache,
+                       TaskLoadBalancer loadBalancer,
+                       TaskChangeFeedService changeFeed,
+                       RollupService rollupService,
+                       ApplicationEventPublisher eventPublisher) {
+        this.userRepository         = userRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.passwordEncoder        = passwordEncoder;
+        this.dataVersionService     = dataVersionService;
+        this.analyticsCache         = analyticsCache;
+        this.loadBalancer           = loadBalancer;
+        this.changeFeed             = changeFeed;
+        this.rollupService          = rollupService;
+        this.eventPublisher         = eventPublisher;
     }
 
     // ----------------------------------------------------------------
@@ -46,7 +83,11 @@ public class UserService {
                 .role(req.getRole() != null ? req.getRole() : Role.EMPLOYEE)
                 .build();
 
-        return toResponse(userRepository.save(user));
+        User created = userRepository.save(user);
+        loadBalancer.userChanged(created);
+        UserResponse saved = toResponse(created);
+        directoryChanged();
+        return saved;
     }
 
     // ----------------------------------------------------------------
@@ -61,6 +102,27 @@ public class UserService {
         return toResponse(findOrThrow(id));
     }
 
+    public User findById(Long id) {
+        return findOrThrow(id);
+    }
+
+    /** Lazy proxy for a user known to exist (e.g. the caller, as a foreign key) — no SELECT. */
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    /** Users by id in one IN query; any unknown id is a 404. */
+    public Map<Long, User> findAllById(Collection<Long> ids) {
+        Set<Long> wanted = new HashSet<>(ids);
+        Map<Long, User> users = userRepository.findAllById(wanted).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        wanted.removeAll(users.keySet());
+        if (!wanted.isEmpty()) {
+            throw new ResourceNotFoundException("User(s) not found with id: " + new TreeSet<>(wanted));
+        }
+        return users;
+    }
+
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
@@ -75,15 +137,35 @@ public class UserService {
         if (req.getName()       != null) user.setName(req.getName());
         if (req.getDepartment() != null) user.setDepartment(req.getDepartment());
         if (req.getRole()       != null) user.setRole(req.getRole());
-        return toResponse(userRepository.save(user));
+        User updated = userRepository.save(user);
+        loadBalancer.userChanged(updated);
+        UserResponse saved = toResponse(updated);
+        directoryChanged();
+        return saved;
     }
 
     // ----------------------------------------------------------------
     // DELETE
     // ----------------------------------------------------------------
 
+    @Transactional
     public void delete(Long id) {
-        userRepository.delete(findOrThrow(id));
+        User user = findOrThrow(id);
+        // Deleted by the cascade below, without going through TaskService: record them here
+        List<TaskSnapshot> tasks = Stream.concat(user.getAssignedTasks().stream(), user.getCreatedTasks().stream())
+                .distinct()
+                .map(TaskSnapshot::of)
+                .toList();
+        List<AttendanceSnapshot> attendance = user.getAttendanceRecords().stream().map(AttendanceSnapshot::of).toList();
+        List<TaskSnapshot> gone = Collections.nCopies(tasks.size(), null);
+        rollupService.tasksChanged(tasks, gone);
+        rollupService.attendancesChanged(attendance, Collections.nCopies(attendance.size(), null));
+        changeFeed.append(tasks, gone);
+        // The cascade covers tasks and attendance; archived tasks reference the user too
+        archivedTaskRepository.deleteByUser(id);
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserDeletedEvent(id, tasks, attendance));
+        directoryChanged();
     }
 
     // ----------------------------------------------------------------
@@ -146,6 +228,12 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    /** Names, roles and departments feed task lists and admin totals: retire their ETags / cache entries. */
+    private void directoryChanged() {
+        dataVersionService.directoryChanged();
+        analyticsCache.invalidate(Role.ADMIN);
+    }
+
     public UserResponse toResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -0,0 +1,120 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.Attendance;
+import com.swms.backend.entity.Task;
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EntityGraphStatementCountTest — the list finders fetch the users their
+ * callers read (names, departments) in the same statement: one SQL
+ * statement per call, however many distinct users the rows reference.
+ *
+ * Counted with Hibernate statistics on H2, after clearing the persistence
+ * context so no user is already loaded.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+class EntityGraphStatementCountTest {
+
+    private static final int MANAGERS = 3;
+    private static final int EMPLOYEES = 8;
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 4);
+
+    @Autowired TaskRepository taskRepository;
+    @Autowired AttendanceRepository attendanceRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired EntityManager entityManager;
+
+    private final List<User> managers = new ArrayList<>();
+    private final List<User> employees = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < MANAGERS; i++) {
+            managers.add(userRepository.save(user("manager" + i, Role.MANAGER)));
+        }
+        for (int i = 0; i < EMPLOYEES; i++) {
+            User employee = userRepository.save(user("employee" + i, Role.EMPLOYEE));
+            employees.add(employee);
+            for (int t = 0; t < MANAGERS; t++) {
+                taskRepository.save(Task.builder().title("Task " + i + "." + t)
+                        .createdBy(managers.get(t)).assignedTo(employee).build());
+            }
+            for (int d = 0; d < 2; d++) {
+                attendanceRepository.save(Attendance.builder().user(employee).date(DAY.plusDays(d))
+                        .status(AttendanceStatus.PRESENT).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void taskFindersLoadBothUsersInOneStatement() {
+        assertThat(statementsFor(() -> names(taskRepository.findAll()))).isEqualTo(1);
+        assertThat(statementsFor(() -> names(taskRepository.findByCreatedBy(managers.get(0))))).isEqualTo(1);
+        assertThat(statementsFor(() -> names(taskRepository.findByAssignedTo(employees.get(0))))).isEqualTo(1);
+    }
+
+    @Test
+    void attendanceFindersLoadTheUserInOneStatement() {
+        assertThat(statementsFor(() -> userNames(attendanceRepository.findAll()))).isEqualTo(1);
+        assertThat(statementsFor(() -> userNames(attendanceRepository.findByDate(DAY)))).isEqualTo(1);
+        assertThat(statementsFor(() -> userNames(attendanceRepository.findByDateBetween(DAY, DAY.plusDays(1)))))
+                .isEqualTo(1);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Statements prepared while read runs; the rows must reference several users. */
+    private long statementsFor(Supplier<Integer> read) {
+        entityManager.clear();
+        statistics.clear();
+        int distinctUsers = read.get();
+        assertThat(distinctUsers).isGreaterThan(1);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /** Touch what TaskService.toResponse reads; returns the number of distinct users seen. */
+    private static int names(List<Task> tasks) {
+        assertThat(tasks).isNotEmpty();
+        return (int) tasks.stream()
+                .flatMap(task -> Stream.of(task.getAssignedTo(), task.getCreatedBy()))
+                .map(user -> user.getName() + user.getDepartment())
+                .distinct()
+                .count();
+    }
+
+    /** Touch what AttendanceService.toResponse reads; returns the number of distinct users seen. */
+    private static int userNames(List<Attendance> records) {
+        assertThat(records).isNotEmpty();
+        return (int) records.stream().map(record -> record.getUser().getName()).distinct().count();
+    }
+
+    private static User user(String name, Role role) {
+        return User.builder().name(name).email(name + "@swms.test").password("x").role(role)
+                .department(name.startsWith("manager") ? "Sales" : "Sales " + name).build();
+    }
+}
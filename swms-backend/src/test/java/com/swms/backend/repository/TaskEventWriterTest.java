@@ -0,0 +1,62 @@
+package com.swms.backend.repository;
+
+import com.swms.backend.entity.TaskEvent;
+import com.swms.backend.enums.TaskEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TaskEventWriterTest — the committed watermark stops below a missing seq
+ * until the event above it is older than the gap grace, on H2.
+ */
+@DataJpaTest(properties = "app.tasks.changes.gap-grace-ms=60000")
+@ActiveProfiles("h2")
+@Import(TaskEventWriter.class)
+class TaskEventWriterTest {
+
+    @Autowired TaskEventWriter writer;
+    @Autowired JdbcTemplate jdbc;
+
+    @Test
+    void watermarkStopsBelowAYoungGap() {
+        writer.appendAll(List.of(event(1), event(2), event(3), event(4)));
+        long first = writer.newestSeq() - 3;
+        assertThat(writer.committedThrough()).isEqualTo(first + 3);
+
+        // first + 1 missing, e.g. its transaction has not committed yet
+        jdbc.update("DELETE FROM task_events WHERE seq = ?", first + 1);
+        assertThat(writer.committedThrough()).isEqualTo(first);
+        assertThat(writer.newestSeq()).isEqualTo(first + 3);
+
+        // The event above it is past the grace: the gap is settled
+        jdbc.update("UPDATE task_events SET created_at = ? WHERE seq = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)), first + 2);
+        assertThat(writer.committedThrough()).isEqualTo(first + 3);
+    }
+
+    @Test
+    void watermarkCoversPurgedEvents() {
+        writer.appendAll(List.of(event(1), event(2)));
+        long newest = writer.newestSeq();
+        writer.markPurgedThrough(newest);
+        jdbc.update("DELETE FROM task_events");
+
+        assertThat(writer.committedThrough()).isEqualTo(newest);
+        assertThat(writer.purgedThrough()).isEqualTo(newest);
+    }
+
+    private static TaskEvent event(long taskId) {
+        return TaskEvent.builder().taskId(taskId).type(TaskEventType.CREATED).assigneeId(7L)
+                .payload("{}").createdAt(LocalDateTime.now()).build();
+    }
+}
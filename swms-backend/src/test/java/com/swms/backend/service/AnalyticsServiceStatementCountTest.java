@@ -0,0 +1,142 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.repository.AnalyticsQueries;
+import com.swms.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * AnalyticsServiceStatementCountTest — each dashboard call issues a fixed
+ * number of SQL statements, however many tasks / attendance rows exist.
+ *
+ * The JDBC connection is a mock that returns empty result sets, so every
+ * statement the analytics path prepares is counted at the driver boundary.
+ * The caller comes from the JWT principal, so no user lookup is made.
+ */
+class AnalyticsServiceStatementCountTest {
+
+    private static final long MANAGER_ID = 1L;
+    private static final long EMPLOYEE_ID = 2L;
+    private static final long ADMIN_ID = 3L;
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private static final AuthenticatedUser MANAGER = new AuthenticatedUser(MANAGER_ID, "manager@swms.test", Role.MANAGER, "Engineering");
+    private static final AuthenticatedUser EMPLOYEE = new AuthenticatedUser(EMPLOYEE_ID, "employee@swms.test", Role.EMPLOYEE, "Engineering");
+    private static final AuthenticatedUser ADMIN = new AuthenticatedUser(ADMIN_ID, "admin@swms.test", Role.ADMIN, null);
+
+    private Connection connection;
+    private AnalyticsSnapshot snapshot;
+    private AnalyticsQueryExecutor queryExecutor;
+    private AnalyticsCache analyticsCache;
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        snapshot = new AnalyticsSnapshot(dataSource, 1000);
+        snapshot.reload();
+        queryExecutor = new AnalyticsQueryExecutor(false, 1);
+        analyticsCache = new AnalyticsCache(100, 300);
+        ScorecardService scorecardService = new ScorecardService(snapshot, null, 500);
+        AnalyticsSketches sketches = new AnalyticsSketches(snapshot, false, 10, 2048, 4, 4096);
+        analyticsService = new AnalyticsService(snapshot, sketches, scorecardService, new AnalyticsQueries(dataSource),
+                queryExecutor, analyticsCache, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryExecutor.shutdown();
+    }
+
+    @Test
+    void managerAnalyticsIssueNoStatements() {
+        seed(0, 10);
+        int small = statementsFor(() -> analyticsService.getManagerAnalytics(MANAGER));
+        seed(10, 2_000);
+        int large = statementsFor(() -> analyticsService.getManagerAnalytics(MANAGER));
+
+        assertThat(small).isZero();
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void employeeAnalyticsIssueNoStatements() {
+        seed(0, 10);
+        int small = statementsFor(() -> analyticsService.getEmployeeAnalytics(EMPLOYEE));
+        seed(10, 2_000);
+        int large = statementsFor(() -> analyticsService.getEmployeeAnalytics(EMPLOYEE));
+
+        assertThat(small).isZero();
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void adminAnalyticsIssueOnlyTheUserAggregates() {
+        seed(0, 10);
+        int small = statementsFor(() -> analyticsService.getAdminAnalytics(ADMIN));
+        seed(10, 2_000);
+        int large = statementsFor(() -> analyticsService.getAdminAnalytics(ADMIN));
+
+        // countUsersByRole + countUsersByDepartment
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** Feed tasks [from, to) created by the manager and assigned to the employee, plus one attendance row each. */
+    private void seed(int from, int to) {
+        TaskStatus[] statuses = TaskStatus.values();
+        AttendanceStatus[] attendanceStatuses = AttendanceStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = from; i < to; i++) {
+            snapshot.onTaskChanged(new TaskChangedEvent(null, new TaskSnapshot(
+                    (long) i + 1, statuses[i % statuses.length], MANAGER_ID, EMPLOYEE_ID,
+                    "Engineering", now.minusDays(i % 60), "Task " + i, null, null)));
+            snapshot.onAttendanceChanged(new AttendanceChangedEvent(null, new AttendanceSnapshot(
+                    (long) i + 1, EMPLOYEE_ID, "Engineering", LocalDate.now().minusDays(i % 60),
+                    attendanceStatuses[i % attendanceStatuses.length])));
+        }
+    }
+
+    /** Statements opened on the mocked connection while running call (cache cleared first). */
+    private int statementsFor(Runnable call) {
+        for (Role role : Role.values()) {
+            analyticsCache.invalidate(role);
+        }
+        clearInvocations(connection);
+        call.run();
+        return (int) mockingDetails(connection).getInvocations().stream()
+                .map(Invocation::getMethod)
+                .filter(method -> STATEMENT_METHODS.contains(method.getName()))
+                .count();
+    }
+}
@@ -0,0 +1,143 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AnalyticsSketchesTest — sketch estimates stay within the error bound
+ * they report, both when built from the snapshot and after deltas.
+ */
+class AnalyticsSketchesTest {
+
+    private static final long MANAGER_ID = 1L;
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "HR", "Sales"};
+
+    private AnalyticsSnapshot snapshot;
+    private AnalyticsSketches sketches;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        snapshot = new AnalyticsSnapshot(dataSource, 1000);
+        snapshot.reload();
+        sketches = new AnalyticsSketches(snapshot, true, 10, 2048, 4, 1024);
+    }
+
+    @Test
+    void teamSizeIsWithinReportedBound() {
+        addTasks(1, 6_000, 3_000);
+        assertTeamSizeWithinBound(3_000);
+
+        // Built on the read above; these arrive as deltas
+        addTasks(6_001, 8_000, 4_000);
+        assertTeamSizeWithinBound(4_000);
+    }
+
+    @Test
+    void departmentCountsNeverUndercountAndStayWithinBound() {
+        addTasks(1, 5_000, 500);
+        sketches.departmentCompletion();
+        for (long id = 1; id <= 1_000; id++) {
+            snapshot.onTaskChanged(new TaskChangedEvent(task(id, 500), null));
+        }
+
+        Map<String, long[]> exact = snapshot.countCompletionByDepartment(AnalyticsSnapshot.TaskScope.ALL, AnalyticsSnapshot.NONE);
+        AnalyticsSketches.Estimate<Map<String, long[]>> estimate = sketches.departmentCompletion();
+
+        assertThat(estimate.value()).containsOnlyKeys(exact.keySet());
+        exact.forEach((department, counts) -> {
+            long[] estimated = estimate.value().get(department);
+            for (int kind = 0; kind < 2; kind++) {
+                assertThat(estimated[kind]).isBetween(counts[kind], counts[kind] + (long) estimate.error());
+            }
+        });
+    }
+
+    @Test
+    void attendanceRateIsWithinReportedBound() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1).minusMonths(1);
+        addAttendance(monthStart, 1, 40_000);
+        sketches.teamSize(MANAGER_ID);  // builds the sketches; the rest arrive as deltas
+        addAttendance(monthStart, 40_001, 50_000);
+
+        long[][] exact = snapshot.countAttendancePerMonth(AnalyticsSnapshot.NONE, monthStart, 1,
+                monthStart.plusMonths(1), AnalyticsService.ATTENDED_STATUSES);
+        AnalyticsSketches.Estimate<long[][]> estimate = sketches.attendancePerMonth(monthStart, 1,
+                monthStart.plusMonths(1), AnalyticsService.ATTENDED_STATUSES);
+
+        double exactRate = exact[0][1] * 100.0 / exact[0][0];
+        double estimatedRate = estimate.value()[0][1] * 100.0 / estimate.value()[0][0];
+        assertThat(estimate.error()).isPositive();
+        // The bound holds 95% of the time; twice it (~4 sigma) keeps the unseeded sample from flaking
+        assertThat(estimatedRate).isCloseTo(exactRate, within(2 * estimate.error()));
+        assertThat(estimate.value()[0][0]).isEqualTo(exact[0][0]);
+    }
+
+    @Test
+    void smallMonthsAreCountedExactly() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        addAttendance(monthStart, 1, 500);
+
+        long[][] exact = snapshot.countAttendancePerMonth(AnalyticsSnapshot.NONE, monthStart, 1,
+                monthStart.plusMonths(1), AnalyticsService.ATTENDED_STATUSES);
+        AnalyticsSketches.Estimate<long[][]> estimate = sketches.attendancePerMonth(monthStart, 1,
+                monthStart.plusMonths(1), AnalyticsService.ATTENDED_STATUSES);
+
+        assertThat(estimate.value()[0]).containsExactly(exact[0]);
+        assertThat(estimate.error()).isZero();
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private void assertTeamSizeWithinBound(int exact) {
+        AnalyticsSketches.Estimate<Integer> estimate = sketches.teamSize(MANAGER_ID);
+        assertThat(snapshot.countDistinctAssignees(AnalyticsSnapshot.TaskScope.CREATED_BY, MANAGER_ID)).isEqualTo(exact);
+        assertThat((double) estimate.value()).isCloseTo(exact, within(exact * estimate.error() / 100));
+    }
+
+    /** Tasks [from, to] created by the manager, assigned round-robin to employees 1000 … 1000 + assignees − 1. */
+    private void addTasks(long from, long to, int assignees) {
+        for (long id = from; id <= to; id++) {
+            snapshot.onTaskChanged(new TaskChangedEvent(null, task(id, assignees)));
+        }
+    }
+
+    private static TaskSnapshot task(long id, int assignees) {
+        TaskStatus[] statuses = TaskStatus.values();
+        long assignee = 1_000 + (id - 1) % assignees;
+        return new TaskSnapshot(id, statuses[(int) (id % statuses.length)], MANAGER_ID, assignee,
+                DEPARTMENTS[(int) (assignee % DEPARTMENTS.length)], LocalDateTime.now().minusDays(id % 90), "Task " + id, null, null);
+    }
+
+    private void addAttendance(LocalDate monthStart, long from, long to) {
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        for (long id = from; id <= to; id++) {
+            snapshot.onAttendanceChanged(new AttendanceChangedEvent(null, new AttendanceSnapshot(
+                    id, 1_000 + id % 300, "Engineering", monthStart.plusDays(id % 28),
+                    statuses[(int) (id * 7 % statuses.length)])));
+        }
+    }
+}
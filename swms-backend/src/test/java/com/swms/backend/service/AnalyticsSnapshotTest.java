@@ -0,0 +1,93 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AnalyticsSnapshotTest — a user delete takes the tasks and attendance it
+ * cascaded to out of the snapshot and tells the ChangeListeners.
+ */
+class AnalyticsSnapshotTest {
+
+    private static final long MANAGER = 1L;
+    private static final long ALICE = 10L;
+    private static final long BOB = 11L;
+
+    private final LocalDate today = LocalDate.now();
+    private final List<String> told = new ArrayList<>();
+    private AnalyticsSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+        snapshot = new AnalyticsSnapshot(dataSource, 1000);
+        snapshot.reload();
+        snapshot.addChangeListener(new AnalyticsSnapshot.ChangeListener() {
+            @Override
+            public void taskChanged(TaskSnapshot before, TaskSnapshot after) {
+                if (after == null) told.add("task " + before.id() + " deleted");
+            }
+
+            @Override
+            public void attendanceChanged(AttendanceSnapshot before, AttendanceSnapshot after) {
+                if (after == null) told.add("attendance " + before.id() + " deleted");
+            }
+
+            @Override
+            public void reloaded() {
+            }
+        });
+    }
+
+    @Test
+    void userDeleteRemovesCascadedRowsAndTellsListeners() {
+        TaskSnapshot alicesTask = task(1, ALICE);
+        TaskSnapshot bobsTask = task(2, BOB);
+        AttendanceSnapshot alicePresent = attendance(5, ALICE);
+        snapshot.onTaskChanged(new TaskChangedEvent(null, alicesTask));
+        snapshot.onTaskChanged(new TaskChangedEvent(null, bobsTask));
+        snapshot.onAttendanceChanged(new AttendanceChangedEvent(null, alicePresent));
+        snapshot.onAttendanceChanged(new AttendanceChangedEvent(null, attendance(6, BOB)));
+
+        snapshot.onUserDeleted(new UserDeletedEvent(ALICE, List.of(alicesTask), List.of(alicePresent)));
+
+        assertThat(told).containsExactly("task 1 deleted", "attendance 5 deleted");
+        assertThat(snapshot.countTasksByStatus(AnalyticsSnapshot.TaskScope.ALL, 0)[TaskStatus.TODO.ordinal()])
+                .isEqualTo(1);
+        assertThat(snapshot.countTasksByStatus(AnalyticsSnapshot.TaskScope.ASSIGNED_TO, ALICE)).containsOnly(0);
+        assertThat(snapshot.countAttendance()).isEqualTo(1);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private TaskSnapshot task(long id, long assignee) {
+        return new TaskSnapshot(id, TaskStatus.TODO, MANAGER, assignee, "Sales", LocalDateTime.now(), "Task " + id, null, null);
+    }
+
+    private AttendanceSnapshot attendance(long id, long user) {
+        return new AttendanceSnapshot(id, user, "Sales", today, AttendanceStatus.PRESENT);
+    }
+}
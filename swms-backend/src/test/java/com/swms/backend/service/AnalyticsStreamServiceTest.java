@@ -0,0 +1,148 @@
+package com.swms.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swms.backend.dto.response.analytics.AdminAnalyticsResponse;
+import com.swms.backend.dto.response.analytics.LabelValueDto;
+import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AnalyticsStreamServiceTest — a dashboard whose client stopped reading
+ * is dropped without holding up the others, whether its send stalls or
+ * its outbox fills up.
+ */
+class AnalyticsStreamServiceTest {
+
+    private static final AuthenticatedUser ADMIN = new AuthenticatedUser(1L, "admin@swms.test", Role.ADMIN, "Ops");
+
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+    private final AtomicInteger version = new AtomicInteger();
+    private AnalyticsStreamService stream;
+
+    @BeforeEach
+    void setUp() {
+        // Every load differs from the last, so every flush has a delta to send
+        when(analyticsService.getAdminAnalytics(any())).thenAnswer(invocation -> AdminAnalyticsResponse.builder()
+                .usersByRole(List.of(new LabelValueDto("ADMIN", version.incrementAndGet()))).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void stalledSendIsDroppedAndDoesNotHoldUpOthers() throws Exception {
+        // One sender thread: the stalled write takes it until the stall check adds another
+        stream = service(1, 200, 32);
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+
+        stream.subscribe(ADMIN, stalled);
+        assertThat(stalled.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        stream.subscribe(ADMIN, healthy);
+        assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        stream.onTaskChanged(taskChanged());
+        assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        // Completed once the stuck write gives up, not by the stall check itself
+        assertThat(stalled.completed.getCount()).isEqualTo(1);
+        stalled.release.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stalled.sends.get()).isEqualTo(1);
+    }
+
+    @Test
+    void fullOutboxIsDropped() throws Exception {
+        stream = service(2, 60_000, 2);
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+
+        stream.subscribe(ADMIN, stalled);
+        assertThat(stalled.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        stream.subscribe(ADMIN, healthy);
+        assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        // Healthy's snapshot queued a delta for stalled; two more overflow its outbox of 2
+        for (int i = 0; i < 2; i++) {
+            stream.onTaskChanged(taskChanged());
+            assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+        }
+
+        stalled.release.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stalled.sends.get()).isEqualTo(1);
+
+        // Later deltas still reach the healthy subscriber
+        stream.onTaskChanged(taskChanged());
+        assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private AnalyticsStreamService service(int sendThreads, long sendTimeoutMs, int queueCapacity) {
+        return new AnalyticsStreamService(analyticsService, new ObjectMapper(), mock(PlatformTransactionManager.class),
+                1_800_000, 10, 3600, sendThreads, sendTimeoutMs, queueCapacity);
+    }
+
+    private static TaskChangedEvent taskChanged() {
+        return new TaskChangedEvent(null, new TaskSnapshot(1L, TaskStatus.TODO, 2L, 3L, "Ops",
+                LocalDateTime.now(), "Task", null, null));
+    }
+
+    /** A client that stopped reading: its first send blocks until released. */
+    private static final class StalledEmitter extends SseEmitter {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final AtomicInteger sends = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sends.incrementAndGet();
+            sending.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        final LinkedBlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder);
+        }
+    }
+}
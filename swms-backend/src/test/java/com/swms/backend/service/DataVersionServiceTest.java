@@ -0,0 +1,40 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DataVersionServiceTest — a user delete retires the ETags of everyone its
+ * cascaded tasks counted for: their creator, assignee and department.
+ */
+class DataVersionServiceTest {
+
+    private static final long MANAGER = 1L;
+    private static final long ALICE = 10L;
+    private static final long BOB = 11L;
+
+    @Test
+    void userDeleteBumpsCreatorsAssigneesAndDepartments() {
+        DataVersionService versions = new DataVersionService();
+        String manager = versions.userEtag(MANAGER, false, null);
+        String bob = versions.userEtag(BOB, false, null);
+        String sales = versions.departmentEtag("Sales", null);
+        String legal = versions.departmentEtag("Legal", null);
+
+        TaskSnapshot task = new TaskSnapshot(7L, TaskStatus.TODO, MANAGER, ALICE, "Sales", LocalDateTime.now(),
+                "Task 7", null, null);
+        versions.onUserDeleted(new UserDeletedEvent(ALICE, List.of(task), List.of()));
+
+        assertThat(versions.userEtag(MANAGER, false, null)).isNotEqualTo(manager);
+        assertThat(versions.departmentEtag("Sales", null)).isNotEqualTo(sales);
+        assertThat(versions.userEtag(BOB, false, null)).isEqualTo(bob);
+        assertThat(versions.departmentEtag("Legal", null)).isEqualTo(legal);
+    }
+}
@@ -0,0 +1,62 @@
+package com.swms.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LongIntMapTest — puts, overwrites and backward-shift removes agree with
+ * a HashMap, across growth and long probe runs.
+ */
+class LongIntMapTest {
+
+    @Test
+    void putGetAndRemove() {
+        LongIntMap map = new LongIntMap();
+        map.put(7, 0);
+        map.put(8, 1);
+        map.put(7, 2);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(7)).isEqualTo(2);
+        assertThat(map.get(9)).isEqualTo(LongIntMap.MISSING);
+
+        assertThat(map.remove(7)).isEqualTo(2);
+        assertThat(map.remove(7)).isEqualTo(LongIntMap.MISSING);
+        assertThat(map.get(8)).isEqualTo(1);
+        assertThat(map.size()).isEqualTo(1);
+
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.get(8)).isEqualTo(LongIntMap.MISSING);
+    }
+
+    @Test
+    void matchesHashMapUnderRandomChurn() {
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range: long probe runs and many removes of present keys
+            long key = random.nextInt(5_000) + 1;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed != null ? removed : LongIntMap.MISSING);
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key <= 5_001; key++) {
+            Integer value = expected.get(key);
+            assertThat(map.get(key)).isEqualTo(value != null ? value : LongIntMap.MISSING);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.swms.backend.service;
+
+import com.swms.backend.entity.EmployeeScorecard;
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.repository.EmployeeScorecardWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ScorecardServiceTest — the persisted employee_scorecard row serves a
+ * cold start (snapshot not loaded yet) with the totals it was written from.
+ */
+class ScorecardServiceTest {
+
+    private static final long MANAGER = 1L;
+    private static final long ALICE = 10L;
+    private static final long BOB = 11L;
+
+    private final LocalDate today = LocalDate.now();
+
+    private DataSource dataSource;
+    private EmployeeScorecardWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+        writer = mock(EmployeeScorecardWriter.class);
+    }
+
+    @Test
+    void coldStartServesTodaysStoredScorecard() {
+        AnalyticsSnapshot loaded = new AnalyticsSnapshot(dataSource, 1000);
+        loaded.reload();
+        seed(loaded);
+        ScorecardService running = new ScorecardService(loaded, writer, 500);
+        running.refresh();
+        ScorecardTotals expected = running.totalsFor(ALICE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmployeeScorecard>> rows = ArgumentCaptor.forClass(List.class);
+        verify(writer).upsertAll(rows.capture(), anyInt());
+        EmployeeScorecard alice = rows.getValue().stream().filter(row -> row.getUserId() == ALICE).findFirst().orElseThrow();
+        when(writer.find(ALICE)).thenReturn(Optional.of(alice));
+
+        // A restarted instance whose snapshot is still loading
+        ScorecardService restarted = new ScorecardService(new AnalyticsSnapshot(dataSource, 10), writer, 500);
+        ScorecardTotals served = restarted.totalsFor(ALICE);
+
+        assertThat(served.statusCounts).containsExactly(expected.statusCounts);
+        assertThat(served.completedLast30).isEqualTo(expected.completedLast30).isPositive();
+        assertThat(served.attendanceLast30).containsExactly(expected.attendanceLast30);
+        assertThat(served.weeklyCompleted).containsExactly(expected.weeklyCompleted);
+        assertThat(served.monthlyAttendance).isDeepEqualTo(expected.monthlyAttendance);
+    }
+
+    @Test
+    void storedScorecardOfAnotherDayIsNotServed() {
+        when(writer.find(anyLong())).thenReturn(Optional.of(EmployeeScorecard.builder()
+                .userId(ALICE).asOf(today.minusDays(1)).computedAt(LocalDateTime.now())
+                .taskStatusCounts("1,0,0,0").completedLast30(0).attendanceLast30Total(0).attendanceLast30Attended(0)
+                .weeklyCompleted("0,0,0,0,0,0").monthlyAttendanceTotal("0,0,0,0,0,0")
+                .monthlyAttendanceAttended("0,0,0,0,0,0").build()));
+
+        ScorecardService restarted = new ScorecardService(new AnalyticsSnapshot(dataSource, 10), writer, 500);
+
+        // Falls through to the live count, which waits for the snapshot
+        assertThatThrownBy(() -> restarted.totalsFor(ALICE)).isInstanceOf(IllegalStateException.class);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private void seed(AnalyticsSnapshot snapshot) {
+        TaskStatus[] statuses = TaskStatus.values();
+        for (long id = 1; id <= 40; id++) {
+            long assignee = id % 2 == 0 ? ALICE : BOB;
+            snapshot.onTaskChanged(new TaskChangedEvent(null, new TaskSnapshot(id, statuses[(int) (id % statuses.length)],
+                    MANAGER, assignee, "Sales", LocalDateTime.now().minusDays(id), "Task " + id, null, null)));
+        }
+        AttendanceStatus[] attendance = AttendanceStatus.values();
+        for (long id = 1; id <= 60; id++) {
+            snapshot.onAttendanceChanged(new AttendanceChangedEvent(null, new AttendanceSnapshot(
+                    id, ALICE, "Sales", today.minusDays(id * 3), attendance[(int) (id % attendance.length)])));
+        }
+    }
+}
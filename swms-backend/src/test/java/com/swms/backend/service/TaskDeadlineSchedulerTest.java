@@ -0,0 +1,204 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskOverdueEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * TaskDeadlineSchedulerTest — day changes, write-path maintenance and
+ * exactly-once announcement of overdue tasks.
+ */
+class TaskDeadlineSchedulerTest {
+
+    private static final long MANAGER = 1L;
+    private static final long ALICE = 10L;
+    private static final long BOB = 11L;
+
+    private final LocalDate today = LocalDate.now();
+    private final List<TaskOverdueEvent> announced = new ArrayList<>();
+    /** tasks.overdue_announced_for, as the claim UPDATE leaves it. */
+    private final Map<Long, LocalDate> markers = new HashMap<>();
+
+    private Connection connection;
+    private TaskDeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        scheduler = newScheduler();
+        scheduler.reload();
+    }
+
+    @Test
+    void tasksBecomeOverdueOnceWhenTheirDayPasses() {
+        create(1, ALICE, TaskStatus.TODO, today);
+        create(2, BOB, TaskStatus.IN_PROGRESS, today.plusDays(1));
+        create(3, ALICE, TaskStatus.TODO, today.plusDays(5));
+
+        assertThat(scheduler.advanceTo(today.plusDays(1))).isEqualTo(1);
+        assertThat(scheduler.advanceTo(today.plusDays(1))).isZero();
+        assertThat(scheduler.advanceTo(today.plusDays(2))).isEqualTo(1);
+
+        assertThat(announced).extracting(TaskOverdueEvent::taskId).containsExactly(1L, 2L);
+        assertThat(scheduler.overdueAssignedTo(ALICE)).isEqualTo(1);
+        assertThat(scheduler.overdueAssignedTo(BOB)).isEqualTo(1);
+        assertThat(scheduler.overdueCreatedBy(MANAGER)).isEqualTo(2);
+        assertThat(scheduler.overdueTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void closingOrMovingTheDeadlineStopsTracking() {
+        TaskSnapshot done = create(1, ALICE, TaskStatus.TODO, today);
+        TaskSnapshot moved = create(2, ALICE, TaskStatus.TODO, today);
+        update(done, task(1, ALICE, TaskStatus.COMPLETED, today));
+        update(moved, task(2, ALICE, TaskStatus.TODO, today.plusDays(3)));
+
+        assertThat(scheduler.advanceTo(today.plusDays(1))).isZero();
+        assertThat(scheduler.advanceTo(today.plusDays(4))).isEqualTo(1);
+        assertThat(announced).extracting(TaskOverdueEvent::taskId).containsExactly(2L);
+    }
+
+    @Test
+    void overdueCountsFollowReassignmentAndDeletion() {
+        TaskSnapshot task = create(1, ALICE, TaskStatus.TODO, today);
+        scheduler.advanceTo(today.plusDays(1));
+
+        TaskSnapshot reassigned = task(1, BOB, TaskStatus.IN_PROGRESS, today);
+        update(task, reassigned);
+        assertThat(scheduler.overdueAssignedTo(ALICE)).isZero();
+        assertThat(scheduler.overdueAssignedTo(BOB)).isEqualTo(1);
+        // Still overdue — not announced a second time
+        assertThat(announced).hasSize(1);
+
+        scheduler.onTaskChanged(new TaskChangedEvent(reassigned, null));
+        assertThat(scheduler.overdueAssignedTo(BOB)).isZero();
+        assertThat(scheduler.overdueTotal()).isZero();
+    }
+
+    @Test
+    void tasksDeletedWithTheirUserAreDropped() {
+        create(1, ALICE, TaskStatus.TODO, today);
+        create(2, BOB, TaskStatus.TODO, today.plusDays(2));
+        create(3, BOB, TaskStatus.TODO, today);
+        scheduler.advanceTo(today.plusDays(1));
+        announced.clear();
+
+        // The manager created all three; only 1 and 2 were still theirs when deleted
+        scheduler.onUserDeleted(new UserDeletedEvent(MANAGER,
+                List.of(task(1, ALICE, TaskStatus.TODO, today), task(2, BOB, TaskStatus.TODO, today.plusDays(2))), List.of()));
+
+        assertThat(scheduler.overdueCreatedBy(MANAGER)).isEqualTo(1);
+        assertThat(scheduler.overdueAssignedTo(ALICE)).isZero();
+        assertThat(scheduler.advanceTo(today.plusDays(5))).isZero();
+        assertThat(announced).isEmpty();
+    }
+
+    @Test
+    void taskCreatedPastItsDeadlineIsAnnouncedImmediately() {
+        create(1, ALICE, TaskStatus.TODO, today.minusDays(2));
+
+        assertThat(announced).extracting(TaskOverdueEvent::taskId).containsExactly(1L);
+        assertThat(scheduler.overdueAssignedTo(ALICE)).isEqualTo(1);
+    }
+
+    @Test
+    void reloadAnnouncesOverdueTasksWithoutAMarkerForTheirDeadline() throws Exception {
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.next()).thenReturn(true, true, true, true, false);
+        when(rows.getLong("id")).thenReturn(1L, 2L, 3L, 4L);
+        when(rows.getObject("created_by_id", Long.class)).thenReturn(MANAGER);
+        when(rows.getObject("assigned_to_id", Long.class)).thenReturn(ALICE);
+        when(rows.getDate("deadline")).thenReturn(
+                date(today.minusDays(3)), date(today.minusDays(3)), date(today.minusDays(1)), date(today.plusDays(1)));
+        // 1 fell due while nobody was running, 2 was announced, 3 was announced for an earlier deadline
+        when(rows.getDate("overdue_announced_for")).thenReturn(
+                null, date(today.minusDays(3)), date(today.minusDays(5)), null);
+        when(connection.createStatement().executeQuery(anyString())).thenReturn(rows);
+        markers.put(2L, today.minusDays(3));
+        markers.put(3L, today.minusDays(5));
+
+        scheduler.reload();
+
+        assertThat(announced).extracting(TaskOverdueEvent::taskId).containsExactly(1L, 3L);
+        assertThat(markers).containsEntry(1L, today.minusDays(3)).containsEntry(3L, today.minusDays(1));
+        assertThat(scheduler.overdueTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void anotherInstanceDoesNotAnnounceAClaimedTask() throws Exception {
+        TaskDeadlineScheduler other = newScheduler();
+        create(1, ALICE, TaskStatus.TODO, today);
+        other.onTaskChanged(new TaskChangedEvent(null, task(1, ALICE, TaskStatus.TODO, today)));
+
+        scheduler.advanceTo(today.plusDays(1));
+        other.advanceTo(today.plusDays(1));
+
+        assertThat(announced).extracting(TaskOverdueEvent::taskId).containsExactly(1L);
+        assertThat(other.overdueTotal()).isEqualTo(1);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    /** A scheduler reading through connection and claiming against markers. */
+    private TaskDeadlineScheduler newScheduler() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        JdbcTemplate primaryJdbc = mock(JdbcTemplate.class);
+        when(primaryJdbc.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            LocalDate deadline = invocation.<Date>getArgument(1).toLocalDate();
+            long taskId = invocation.getArgument(2);
+            return Objects.equals(markers.put(taskId, deadline), deadline) ? 0 : 1;
+        });
+
+        ApplicationEventPublisher publisher = event -> announced.add((TaskOverdueEvent) event);
+        return new TaskDeadlineScheduler(dataSource, primaryJdbc, mock(PlatformTransactionManager.class), publisher);
+    }
+
+    private static Date date(LocalDate day) {
+        return Date.valueOf(day);
+    }
+
+    private TaskSnapshot create(long id, long assigneeId, TaskStatus status, LocalDate deadline) {
+        TaskSnapshot task = task(id, assigneeId, status, deadline);
+        scheduler.onTaskChanged(new TaskChangedEvent(null, task));
+        return task;
+    }
+
+    private void update(TaskSnapshot before, TaskSnapshot after) {
+        scheduler.onTaskChanged(new TaskChangedEvent(before, after));
+    }
+
+    private static TaskSnapshot task(long id, long assigneeId, TaskStatus status, LocalDate deadline) {
+        return new TaskSnapshot(id, status, MANAGER, assigneeId, "Engineering", LocalDateTime.now(),
+                "Task " + id, null, deadline);
+    }
+}
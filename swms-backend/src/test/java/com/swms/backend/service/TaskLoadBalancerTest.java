@@ -0,0 +1,166 @@
+package com.swms.backend.service;
+
+import com.swms.backend.entity.User;
+import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import com.swms.backend.exception.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * TaskLoadBalancerTest — least-loaded picks, deadline weighting,
+ * in-flight reservations, directory changes and user deletes.
+ */
+class TaskLoadBalancerTest {
+
+    private static final long MANAGER = 1L;
+    private static final long ALICE = 10L;
+    private static final long BOB = 11L;
+    private static final long CAROL = 12L;
+
+    private final LocalDate today = LocalDate.now();
+
+    private TaskLoadBalancer balancer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        balancer = new TaskLoadBalancer(dataSource, 7, 1);
+        balancer.reload();
+        balancer.userChanged(user(ALICE, Role.EMPLOYEE, "Sales"));
+        balancer.userChanged(user(BOB, Role.EMPLOYEE, "Sales"));
+        balancer.userChanged(user(CAROL, Role.EMPLOYEE, "Engineering"));
+        balancer.userChanged(user(MANAGER, Role.MANAGER, "Sales"));
+    }
+
+    @Test
+    void picksTheLeastLoadedEmployeeOfTheDepartment() {
+        assertThat(balancer.pick("Sales", null)).isEqualTo(ALICE);
+
+        create(1, ALICE, TaskStatus.TODO, null);
+        assertThat(balancer.pick("Sales", null)).isEqualTo(BOB);
+
+        create(2, BOB, TaskStatus.IN_PROGRESS, null);
+        create(3, BOB, TaskStatus.TODO, null);
+        assertThat(balancer.pick("Sales", null)).isEqualTo(ALICE);
+        assertThat(balancer.pick(" Engineering ", null)).isEqualTo(CAROL);
+    }
+
+    @Test
+    void tasksDueSoonWeighMore() {
+        create(1, ALICE, TaskStatus.TODO, today.plusDays(30));
+        create(2, BOB, TaskStatus.TODO, today.plusDays(2));
+
+        assertThat(balancer.score(ALICE)).isEqualTo(1);
+        assertThat(balancer.score(BOB)).isEqualTo(2);
+        assertThat(balancer.pick("Sales", null)).isEqualTo(ALICE);
+    }
+
+    @Test
+    void closingReassigningOrDeletingMovesTheLoad() {
+        TaskSnapshot task = create(1, ALICE, TaskStatus.TODO, null);
+        TaskSnapshot moved = task(1, BOB, TaskStatus.TODO, null);
+        update(task, moved);
+        assertThat(balancer.score(ALICE)).isZero();
+        assertThat(balancer.score(BOB)).isEqualTo(1);
+
+        TaskSnapshot done = task(1, BOB, TaskStatus.COMPLETED, null);
+        update(moved, done);
+        assertThat(balancer.score(BOB)).isZero();
+
+        TaskSnapshot other = create(2, ALICE, TaskStatus.TODO, null);
+        balancer.onTaskChanged(new TaskChangedEvent(other, null));
+        assertThat(balancer.score(ALICE)).isZero();
+    }
+
+    @Test
+    void picksInsideATransactionAreReservedUntilItEnds() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(balancer.pick("Sales", today)).isEqualTo(ALICE);
+            assertThat(balancer.pick("Sales", null)).isEqualTo(BOB);
+            assertThat(balancer.pick("Sales", null)).isEqualTo(BOB);
+            assertThat(balancer.score(ALICE)).isEqualTo(2);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(balancer.score(ALICE)).isZero();
+        assertThat(balancer.score(BOB)).isZero();
+    }
+
+    @Test
+    void onlyEmployeesOfTheDepartmentAreEligible() {
+        balancer.userChanged(user(ALICE, Role.EMPLOYEE, "Engineering"));
+        balancer.userChanged(user(BOB, Role.MANAGER, "Sales"));
+
+        assertThatThrownBy(() -> balancer.pick("Sales", null)).isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> balancer.pick("Legal", null)).isInstanceOf(ConflictException.class);
+
+        create(1, CAROL, TaskStatus.TODO, null);
+        assertThat(balancer.pick("Engineering", null)).isEqualTo(ALICE);
+
+        balancer.onUserDeleted(new UserDeletedEvent(ALICE, List.of(), List.of()));
+        assertThat(balancer.pick("Engineering", null)).isEqualTo(CAROL);
+    }
+
+    @Test
+    void deletingAUserDropsTheTasksDeletedWithThem() {
+        create(1, ALICE, TaskStatus.TODO, null);
+        create(2, BOB, TaskStatus.TODO, today);
+        create(3, BOB, TaskStatus.IN_PROGRESS, null);
+
+        // The manager created all three; only 1 and 2 were still theirs when deleted
+        balancer.onUserDeleted(new UserDeletedEvent(MANAGER,
+                List.of(task(1, ALICE, TaskStatus.TODO, null), task(2, BOB, TaskStatus.TODO, today)), List.of()));
+
+        assertThat(balancer.score(ALICE)).isZero();
+        assertThat(balancer.score(BOB)).isEqualTo(1);
+        assertThat(balancer.pick("Sales", null)).isEqualTo(ALICE);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private TaskSnapshot create(long id, long assigneeId, TaskStatus status, LocalDate deadline) {
+        TaskSnapshot task = task(id, assigneeId, status, deadline);
+        balancer.onTaskChanged(new TaskChangedEvent(null, task));
+        return task;
+    }
+
+    private void update(TaskSnapshot before, TaskSnapshot after) {
+        balancer.onTaskChanged(new TaskChangedEvent(before, after));
+    }
+
+    private static TaskSnapshot task(long id, long assigneeId, TaskStatus status, LocalDate deadline) {
+        return new TaskSnapshot(id, status, MANAGER, assigneeId, "Sales", LocalDateTime.now(),
+                "Task " + id, null, deadline);
+    }
+
+    private static User user(long id, Role role, String department) {
+        return User.builder().id(id).name("User " + id).role(role).department(department).build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.swms.backend.service;
+
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * TaskSearchIndexTest — ranking, prefix matching, visibility and
+ * write-path maintenance of the inverted index.
+ */
+class TaskSearchIndexTest {
+
+    private static final long ALICE = 10L;
+    private static final long BOB = 11L;
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        index = new TaskSearchIndex(dataSource, 50, 1000);
+        index.reload();
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        create(1, ALICE, "Update onboarding docs", "Mention the login page");
+        create(2, ALICE, "Fix login timeout", "Session expires too early");
+        create(3, BOB, "Quarterly report", "Numbers for finance");
+
+        TaskSearchIndex.Matches matches = index.search("login ", TaskSearchIndex.ANY_ASSIGNEE, 10);
+
+        assertThat(matches.ids()).containsExactly(2L, 1L);
+        assertThat(matches.total()).isEqualTo(2);
+    }
+
+    @Test
+    void lastWordMatchesAsPrefixUntilFollowedBySpace() {
+        create(1, ALICE, "Fix login timeout", null);
+        create(2, ALICE, "Logistics planning", null);
+
+        assertThat(index.search("log", TaskSearchIndex.ANY_ASSIGNEE, 10).ids()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("log ", TaskSearchIndex.ANY_ASSIGNEE, 10).ids()).isEmpty();
+        assertThat(index.search("timeout lo", TaskSearchIndex.ANY_ASSIGNEE, 10).ids()).first().isEqualTo(1L);
+    }
+
+    @Test
+    void assigneeFilterHidesOtherUsersTasks() {
+        create(1, ALICE, "Fix login timeout", null);
+        create(2, BOB, "Fix login redirect", null);
+
+        assertThat(index.search("login", BOB, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    void updatesAndDeletesAreReflected() {
+        TaskSnapshot created = create(1, ALICE, "Fix login timeout", null);
+
+        TaskSnapshot renamed = task(1, BOB, "Rotate certificates", null);
+        index.onTaskChanged(new TaskChangedEvent(created, renamed));
+        assertThat(index.search("login", TaskSearchIndex.ANY_ASSIGNEE, 10).ids()).isEmpty();
+        assertThat(index.search("certificates", BOB, 10).ids()).containsExactly(1L);
+
+        // Reassigned without a text change
+        TaskSnapshot reassigned = task(1, ALICE, "Rotate certificates", null);
+        index.onTaskChanged(new TaskChangedEvent(renamed, reassigned));
+        assertThat(index.search("certificates", BOB, 10).ids()).isEmpty();
+        assertThat(index.search("certificates", ALICE, 10).ids()).containsExactly(1L);
+
+        index.onTaskChanged(new TaskChangedEvent(reassigned, null));
+        assertThat(index.search("rotate", TaskSearchIndex.ANY_ASSIGNEE, 10).total()).isZero();
+    }
+
+    @Test
+    void limitKeepsBestMatchesNewestFirstOnTies() {
+        for (long id = 1; id <= 20; id++) {
+            create(id, ALICE, "Weekly sync", null);
+        }
+
+        assertThat(index.search("weekly", TaskSearchIndex.ANY_ASSIGNEE, 3).ids()).containsExactly(20L, 19L, 18L);
+        assertThat(index.search("weekly", TaskSearchIndex.ANY_ASSIGNEE, 3).total()).isEqualTo(20);
+    }
+
+    @Test
+    void queryWithoutTermsIsRejected() {
+        assertThatThrownBy(() -> index.search("? !", TaskSearchIndex.ANY_ASSIGNEE, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private TaskSnapshot create(long id, long assigneeId, String title, String description) {
+        TaskSnapshot task = task(id, assigneeId, title, description);
+        index.onTaskChanged(new TaskChangedEvent(null, task));
+        return task;
+    }
+
+    private static TaskSnapshot task(long id, long assigneeId, String title, String description) {
+        return new TaskSnapshot(id, TaskStatus.TODO, 1L, assigneeId, "Engineering", LocalDateTime.now(),
+                title, description, null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.swms.backend.service;
+
+import com.swms.backend.entity.Attendance;
+import com.swms.backend.entity.AttendanceDailyRollup;
+import com.swms.backend.entity.Task;
+import com.swms.backend.entity.TaskDailyRollup;
+import com.swms.backend.entity.User;
+import com.swms.backend.entity.TaskEvent;
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskEventType;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.event.UserDeletedEvent;
+import com.swms.backend.repository.ArchivedTaskRepository;
+import com.swms.backend.repository.AttendanceDailyRollupRepository;
+import com.swms.backend.repository.AttendanceRepository;
+import com.swms.backend.repository.TaskDailyRollupRepository;
+import com.swms.backend.repository.TaskEventRepository;
+import com.swms.backend.repository.TaskEventWriter;
+import com.swms.backend.repository.TaskRepository;
+import com.swms.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * UserServiceTest — deleting a user also removes what references them,
+ * on H2 with the real foreign keys, and reports the tasks deleted with
+ * them to the change feed, the rollups and listeners.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import({UserService.class, TaskChangeFeedService.class, TaskEventWriter.class, RollupService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@RecordApplicationEvents
+class UserServiceTest {
+
+    @MockitoBean PasswordEncoder passwordEncoder;
+    @MockitoBean DataVersionService dataVersionService;
+    @MockitoBean AnalyticsCache analyticsCache;
+    @MockitoBean TaskLoadBalancer loadBalancer;
+
+    @Autowired UserService userService;
+    @Autowired UserRepository userRepository;
+    @Autowired TaskRepository taskRepository;
+    @Autowired ArchivedTaskRepository archivedTaskRepository;
+    @Autowired TaskEventRepository taskEventRepository;
+    @Autowired AttendanceRepository attendanceRepository;
+    @Autowired TaskDailyRollupRepository taskRollupRepository;
+    @Autowired AttendanceDailyRollupRepository attendanceRollupRepository;
+    @Autowired RollupService rollupService;
+    @Autowired EntityManager entityManager;
+    @Autowired ApplicationEvents events;
+
+    @Test
+    void deletingAUserRemovesTheirTasksAndArchivedTasks() {
+        User manager = userRepository.save(user("manager", Role.MANAGER));
+        User alice = userRepository.save(user("alice", Role.EMPLOYEE));
+        User bob = userRepository.save(user("bob", Role.EMPLOYEE));
+        Task open = taskRepository.save(task(manager, alice));
+        archive(1_000_001L, manager, alice);
+        archive(1_000_002L, manager, bob);
+        Attendance present = attendanceRepository.save(Attendance.builder().user(alice).date(LocalDate.of(2030, 3, 4))
+                .status(AttendanceStatus.PRESENT).build());
+        entityManager.flush();
+        rollupService.taskChanged(null, TaskSnapshot.of(open));
+        rollupService.attendanceChanged(null, AttendanceSnapshot.of(present));
+        entityManager.clear();
+
+        userService.delete(alice.getId());
+        entityManager.flush();
+
+        assertThat(events.stream(UserDeletedEvent.class)).singleElement().satisfies(deleted -> {
+            assertThat(deleted.userId()).isEqualTo(alice.getId());
+            assertThat(deleted.taskIds()).containsExactly(open.getId());
+            assertThat(deleted.attendance()).extracting(AttendanceSnapshot::id).containsExactly(present.getId());
+        });
+        assertThat(userRepository.existsById(alice.getId())).isFalse();
+        assertThat(taskRepository.count()).isZero();
+        assertThat(archivedTaskRepository.findAll()).extracting("id").containsExactly(1_000_002L);
+        assertThat(taskEventRepository.findAll())
+                .extracting(TaskEvent::getTaskId, TaskEvent::getType, TaskEvent::getAssigneeId)
+                .containsExactly(tuple(open.getId(), TaskEventType.DELETED, alice.getId()));
+        assertThat(taskRollupRepository.findAll()).extracting(TaskDailyRollup::getTotal).containsOnly(0L);
+        assertThat(attendanceRollupRepository.findAll()).extracting(AttendanceDailyRollup::getTotal).containsOnly(0L);
+
+        userService.delete(manager.getId());
+        entityManager.flush();
+
+        assertThat(archivedTaskRepository.count()).isZero();
+        assertThat(userRepository.findAll()).extracting(User::getName).containsExactly("bob");
+    }
+
+    // ----------------------------------------------------------------
+    // HELPERS
+    // ----------------------------------------------------------------
+
+    private void archive(long id, User creator, User assignee) {
+        entityManager.createNativeQuery("INSERT INTO tasks_archive (id, title, status, assigned_to_id, "
+                        + "created_by_id, version, created_at, updated_at, archived_at) "
+                        + "VALUES (?, 'Archived', 'COMPLETED', ?, ?, 0, ?, ?, ?)")
+                .setParameter(1, id)
+                .setParameter(2, assignee.getId())
+                .setParameter(3, creator.getId())
+                .setParameter(4, LocalDateTime.now())
+                .setParameter(5, LocalDateTime.now())
+                .setParameter(6, LocalDateTime.now())
+                .executeUpdate();
+    }
+
+    private static User user(String name, Role role) {
+        return User.builder().name(name).email(name + "@swms.test").password("x").role(role).department("Sales").build();
+    }
+
+    private static Task task(User creator, User assignee) {
+        return Task.builder().title("Open").status(TaskStatus.TODO).createdBy(creator).assignedTo(assignee).build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.swms.backend.service;
+
+import com.swms.backend.dto.response.analytics.LabelValueDto;
+import com.swms.backend.dto.response.analytics.RiskDto;
+import com.swms.backend.service.AnalyticsSnapshot.TaskScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalyticsBuildersBenchmark — the DTO builders of AnalyticsService, fed
+ * with the aggregates the snapshot produces for the given row count.
+ *
+ * The builders are O(buckets), not O(rows): the row count only changes
+ * the magnitudes they format. Keep them here so a rewrite that moves work
+ * between aggregation and building shows up on both sides.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class AnalyticsBuildersBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Inputs {
+        LocalDate monthStart;
+        long[][] attendancePerMonth;
+        long[] createdPerWeek;
+        long[][] riskPerWeek;
+        Map<String, long[]> completionByDepartment;
+
+        @Setup(Level.Trial)
+        public void setUp(AnalyticsState state) {
+            AnalyticsSnapshot snapshot = state.fixture.snapshot;
+            LocalDate today = LocalDate.now();
+            LocalDate weekStart = today.minusWeeks(5);
+            monthStart = today.minusMonths(5).withDayOfMonth(1);
+            attendancePerMonth = snapshot.countAttendancePerMonth(AnalyticsSnapshot.NONE, monthStart, 6,
+                    today.plusDays(1), AnalyticsService.ATTENDED_STATUSES);
+            createdPerWeek = snapshot.countCreatedPerWeek(TaskScope.ALL, AnalyticsSnapshot.NONE, weekStart, 6, true);
+            riskPerWeek = snapshot.countRiskPerWeek(TaskScope.ALL, AnalyticsSnapshot.NONE, weekStart, 6);
+            completionByDepartment = snapshot.countCompletionByDepartment(TaskScope.ALL, AnalyticsSnapshot.NONE);
+        }
+    }
+
+    @Benchmark
+    public List<LabelValueDto> buildMonthlyRate(Inputs inputs) {
+        return AnalyticsService.buildMonthlyRate(inputs.monthStart, inputs.attendancePerMonth);
+    }
+
+    @Benchmark
+    public List<LabelValueDto> buildWeeklySeries(Inputs inputs) {
+        return AnalyticsService.buildWeeklySeries(inputs.createdPerWeek);
+    }
+
+    @Benchmark
+    public List<RiskDto> buildWeeklyRiskSeries(Inputs inputs) {
+        return AnalyticsService.buildWeeklyRiskSeries(inputs.riskPerWeek);
+    }
+
+    @Benchmark
+    public List<LabelValueDto> buildDepartmentCompletion(Inputs inputs) {
+        return AnalyticsService.buildDepartmentCompletion(inputs.completionByDepartment);
+    }
+}
@@ -0,0 +1,162 @@
+package com.swms.backend.service;
+
+import com.swms.backend.entity.EmployeeScorecard;
+import com.swms.backend.enums.AttendanceStatus;
+import com.swms.backend.enums.Role;
+import com.swms.backend.enums.TaskStatus;
+import com.swms.backend.event.AttendanceChangedEvent;
+import com.swms.backend.event.AttendanceSnapshot;
+import com.swms.backend.event.TaskChangedEvent;
+import com.swms.backend.event.TaskSnapshot;
+import com.swms.backend.repository.AnalyticsQueries;
+import com.swms.backend.repository.EmployeeScorecardWriter;
+import com.swms.backend.security.AuthenticatedUser;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * AnalyticsFixture — a fully wired AnalyticsService over synthetic data,
+ * without Spring or a database.
+ *
+ *   rows tasks       → random status, creator (manager), assignee (employee),
+ *                      created within the last 180 days
+ *   rows attendance  → random employee, status and day within 180 days
+ *
+ * The snapshot is filled through its write-path listeners, the same code
+ * that keeps it current in production. The cache TTL is 0 so every
+ * get*Analytics call recomputes; employee calls read the scorecards
+ * computed by ScorecardService.refresh() (not persisted here). With
+ * approximate set the sketches are built here, before measurement. The two
+ * admin user aggregates return fixed maps; they are SQL round trips in
+ * production and are measured with QueryTimingDto, not here.
+ */
+final class AnalyticsFixture {
+
+    static final String[] DEPARTMENTS = {
+            "Engineering", "Finance", "HR", "Marketing", "Operations", "Sales", "Support", "Unassigned"
+    };
+    static final int MANAGERS = 50;
+    static final int EMPLOYEES = 1_000;
+    static final int HISTORY_DAYS = 180;
+
+    static final long ADMIN_ID = 1L;
+    static final long FIRST_MANAGER_ID = 2L;
+    static final long FIRST_EMPLOYEE_ID = FIRST_MANAGER_ID + MANAGERS;
+
+    static final AuthenticatedUser ADMIN = caller(ADMIN_ID, Role.ADMIN);
+    static final AuthenticatedUser MANAGER = caller(FIRST_MANAGER_ID, Role.MANAGER);
+    static final AuthenticatedUser EMPLOYEE = caller(FIRST_EMPLOYEE_ID, Role.EMPLOYEE);
+
+    final AnalyticsSnapshot snapshot;
+    final AnalyticsQueryExecutor queryExecutor;
+    final ScorecardService scorecardService;
+    final AnalyticsService analyticsService;
+
+    AnalyticsFixture(int rows, boolean approximate, long seed) {
+        snapshot = new AnalyticsSnapshot(emptyDataSource(), 0);
+        snapshot.reload();
+        fill(snapshot, rows, new SplittableRandom(seed));
+
+        queryExecutor = new AnalyticsQueryExecutor(true, 4);
+        AnalyticsSketches sketches = new AnalyticsSketches(snapshot, approximate, 10, 2048, 4, 4096);
+        scorecardService = new ScorecardService(snapshot, new DiscardingScorecardWriter(), 500);
+        scorecardService.refresh();
+        if (approximate) {
+            sketches.teamSize(FIRST_MANAGER_ID);  // the first read builds the sketches
+        }
+        analyticsService = new AnalyticsService(snapshot, sketches, scorecardService, new FixedUserQueries(), queryExecutor,
+                new AnalyticsCache(16, 0), 1000);
+    }
+
+    void close() {
+        queryExecutor.shutdown();
+    }
+
+    private static void fill(AnalyticsSnapshot snapshot, int rows, SplittableRandom random) {
+        TaskStatus[] taskStatuses = TaskStatus.values();
+        AttendanceStatus[] attendanceStatuses = AttendanceStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        for (int i = 1; i <= rows; i++) {
+            int employee = random.nextInt(EMPLOYEES);
+            snapshot.onTaskChanged(new TaskChangedEvent(null, new TaskSnapshot(
+                    (long) i,
+                    taskStatuses[random.nextInt(taskStatuses.length)],
+                    FIRST_MANAGER_ID + random.nextInt(MANAGERS),
+                    FIRST_EMPLOYEE_ID + employee,
+                    DEPARTMENTS[employee % DEPARTMENTS.length],
+                    now.minusDays(random.nextInt(HISTORY_DAYS)),
+                    "Task " + i, null, null)));
+
+            employee = random.nextInt(EMPLOYEES);
+            snapshot.onAttendanceChanged(new AttendanceChangedEvent(null, new AttendanceSnapshot(
+                    (long) i,
+                    FIRST_EMPLOYEE_ID + employee,
+                    DEPARTMENTS[employee % DEPARTMENTS.length],
+                    today.minusDays(random.nextInt(HISTORY_DAYS)),
+                    attendanceStatuses[random.nextInt(attendanceStatuses.length)])));
+        }
+    }
+
+    /** A DataSource whose queries return no rows — enough for the initial reload(). */
+    private static DataSource emptyDataSource() {
+        try {
+            DataSource dataSource = Mockito.mock(DataSource.class);
+            Connection connection = Mockito.mock(Connection.class, Mockito.RETURNS_DEEP_STUBS);
+            Mockito.when(dataSource.getConnection()).thenReturn(connection);
+            return dataSource;
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static AuthenticatedUser caller(long id, Role role) {
+        return new AuthenticatedUser(id, role.name().toLowerCase() + "@swms.bench", role, DEPARTMENTS[0]);
+    }
+
+    private static final class DiscardingScorecardWriter extends EmployeeScorecardWriter {
+        DiscardingScorecardWriter() {
+            super(null);
+        }
+
+        @Override
+        public void upsertAll(List<EmployeeScorecard> scorecards, int batchSize) {
+        }
+    }
+
+    private static final class FixedUserQueries extends AnalyticsQueries {
+        private final Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        private final Map<String, Long> byDepartment = new LinkedHashMap<>();
+
+        FixedUserQueries() {
+            super(emptyDataSource());
+            byRole.put(Role.ADMIN, 1L);
+            byRole.put(Role.MANAGER, (long) MANAGERS);
+            byRole.put(Role.EMPLOYEE, (long) EMPLOYEES);
+            for (String department : DEPARTMENTS) {
+                byDepartment.put(department, (long) (MANAGERS + EMPLOYEES) / DEPARTMENTS.length);
+            }
+        }
+
+        @Override
+        public Map<Role, Long> countUsersByRole() {
+            return byRole;
+        }
+
+        @Override
+        public Map<String, Long> countUsersByDepartment() {
+            return byDepartment;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.swms.backend.service;
+
+import com.swms.backend.dto.response.analytics.AdminAnalyticsResponse;
+import com.swms.backend.dto.response.analytics.EmployeeAnalyticsResponse;
+import com.swms.backend.dto.response.analytics.ManagerAnalyticsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalyticsServiceBenchmark — the full get*Analytics paths, cache disabled.
+ *
+ * Throughput gives ops/ms; SampleTime gives the p50 / p90 / p99 / p99.9
+ * latency histogram. Run with "-prof gc" for the allocation rate
+ * (gc.alloc.rate.norm = bytes per call).
+ *
+ *   mvn -pl swms-benchmarks -am package -DskipTests
+ *   java -jar swms-benchmarks/target/benchmarks.jar -prof gc -rf json -rff baseline.json
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class AnalyticsServiceBenchmark {
+
+    @Benchmark
+    public AdminAnalyticsResponse adminAnalytics(AnalyticsState state) {
+        return state.fixture.analyticsService.getAdminAnalytics(AnalyticsFixture.ADMIN);
+    }
+
+    @Benchmark
+    public ManagerAnalyticsResponse managerAnalytics(AnalyticsState state) {
+        return state.fixture.analyticsService.getManagerAnalytics(AnalyticsFixture.MANAGER);
+    }
+
+    @Benchmark
+    public EmployeeAnalyticsResponse employeeAnalytics(AnalyticsState state) {
+        return state.fixture.analyticsService.getEmployeeAnalytics(AnalyticsFixture.EMPLOYEE);
+    }
+}
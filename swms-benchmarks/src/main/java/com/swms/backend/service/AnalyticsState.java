@@ -0,0 +1,38 @@
+package com.swms.backend.service;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * AnalyticsState — one AnalyticsFixture per trial, sized by rows.
+ *
+ * rows applies to both tables, so 10M means 10M tasks plus 10M attendance
+ * records held in the snapshot (budget ~6 GB of heap, see the @Fork args).
+ * approximate=true serves the admin / manager figures that have sketches
+ * from AnalyticsSketches (pass -p approximate=false,true to compare).
+ */
+@State(Scope.Benchmark)
+public class AnalyticsState {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"false"})
+    public boolean approximate;
+
+    AnalyticsFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new AnalyticsFixture(rows, approximate, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * analyticsStream.js — live dashboard updates over Server-Sent Events.
+ *
+ * WHY NOT EventSource:
+ *  • The backend authenticates every request with "Authorization: Bearer <token>",
+ *    and the browser EventSource API cannot send custom headers.
+ *  • So the stream is read with fetch() + a ReadableStream and parsed here.
+ *
+ * EVENTS (GET /api/analytics/stream):
+ *  • snapshot → the full analytics payload for the caller's role
+ *  • delta    → { changed: { series: [points] }, removed: { series: [labels] } }
+ *
+ * The connection is retried with a capped backoff until the returned
+ * unsubscribe function is called.
+ */
+import api from './axiosConfig';
+
+const MAX_RETRY_MS = 30000;
+
+export function subscribeAnalytics({ onSnapshot, onDelta }) {
+  const controller = new AbortController();
+  let retryMs = 1000;
+  let stopped = false;
+
+  const dispatch = (block) => {
+    let event = 'message';
+    const data = [];
+    block.split('\n').forEach((line) => {
+      if (line.startsWith('event:')) event = line.slice(6).trim();
+      else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''));
+    });
+    if (!data.length) return; // comment / heartbeat
+    const payload = JSON.parse(data.join('\n'));
+    if (event === 'snapshot') onSnapshot?.(payload);
+    else if (event === 'delta') onDelta?.(payload);
+  };
+
+  const connect = async () => {
+    try {
+      const token = localStorage.getItem('swms_token');
+      const response = await fetch(`${api.defaults.baseURL}/api/analytics/stream`, {
+        headers: { Accept: 'text/event-stream', ...(token ? { Authorization: `Bearer ${token}` } : {}) },
+        signal: controller.signal,
+      });
+      if (response.status === 401 || response.status === 403) return; // let the REST calls handle auth
+      if (!response.ok || !response.body) throw new Error(`Stream failed: ${response.status}`);
+
+      retryMs = 1000;
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+        let boundary = buffer.indexOf('\n\n');
+        while (boundary >= 0) {
+          dispatch(buffer.slice(0, boundary));
+          buffer = buffer.slice(boundary + 2);
+          boundary = buffer.indexOf('\n\n');
+        }
+      }
+    } catch (error) {
+      if (stopped) return;
+    }
+    if (!stopped) {
+      setTimeout(connect, retryMs);
+      retryMs = Math.min(retryMs * 2, MAX_RETRY_MS);
+    }
+  };
+
+  connect();
+  return () => {
+    stopped = true;
+    controller.abort();
+  };
+}
+
+/** Apply a label-keyed delta to the current analytics state. */
+export function applyAnalyticsDelta(current, delta) {
+  const next = { ...current };
+  Object.entries(delta?.changed || {}).forEach(([series, points]) => {
+    const merged = [...(next[series] || [])];
+    points.forEach((point) => {
+      const index = merged.findIndex((item) => item.label === point.label);
+      if (index >= 0) merged[index] = point;
+      else merged.push(point);
+    });
+    next[series] = merged;
+  });
+  Object.entries(delta?.removed || {}).forEach(([series, labels]) => {
+    next[series] = (next[series] || []).filter((item) => !labels.includes(item.label));
+  });
+  return next;
+}
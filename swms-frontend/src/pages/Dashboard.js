@@ -28,10 +28,15 @@ import Navbar from '../components/Navbar';
 import Sidebar from '../components/Sidebar';
 import { useAuth } from '../context/AuthContext';
 import api from '../api/axiosConfig';
+import { applyAnalyticsDelta, subscribeAnalytics } from '../api/analyticsStream';
 import './Dashboard.css';
 
 const ROLE_ENDPOINTS = { ADMIN: '/api/analytics/admin', MANAGER: '/api/analytics/manager', EMPLOYEE: '/api/analytics/employee' };
 const ROLE_PREFIX = { ADMIN: '/admin', MANAGER: '/manager', EMPLOYEE: '/employee' };
+// Task widgets read GET /api/tasks/board: exact totals per status plus the first cards of each column by
+// deadline. Only the admin's recent-activity list reads GET /api/tasks, newest updates first.
+const BOARD_CARDS = 5;
+const RECENT_TASKS = 5;
 const COLORS = ['#818cf8', '#ec4899', '#22d3ee', '#f59e0b', '#34d399', '#fb7185'];
 const TONES = { TODO: '#818cf8', IN_PROGRESS: '#22d3ee', COMPLETED: '#34d399', CANCELLED: '#fb7185', PRESENT: '#34d399', LATE: '#f59e0b', HALF_DAY: '#22d3ee', ABSENT: '#fb7185' };
 const tooltipStyle = { backgroundColor: 'rgba(15,23,42,0.96)', border: '1px solid rgba(148,163,184,0.18)', borderRadius: 12, color: '#e2e8f0' };
@@ -67,8 +72,9 @@ const sum = (items = []) => items.reduce((total, item) => total + Number(item.va
 const mergeData = (role, incoming) => ({ ...defaults[role], ...(incoming || {}), kpis: incoming?.kpis?.length ? incoming.kpis : defaults[role].kpis });
 const upcomingTasks = (tasks = [], limit = 4) => [...tasks].filter((task) => task.deadline && task.status !== 'COMPLETED' && task.status !== 'CANCELLED').sort((a, b) => new Date(a.deadline) - new Date(b.deadline)).slice(0, limit);
 const recentTasks = (tasks = [], limit = 5) => [...tasks].sort((a, b) => new Date(b.updatedAt || b.createdAt) - new Date(a.updatedAt || a.createdAt)).slice(0, limit);
-const managerTasks = (tasks = [], userId) => tasks.filter((task) => task.createdById === userId);
-const taskCounts = (tasks = []) => ['TODO', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'].map((status) => ({ label: titleize(status), value: tasks.filter((task) => task.status === status).length })).filter((item) => item.value > 0);
+const boardTasks = (board) => (board?.columns || []).flatMap((column) => column.tasks);
+const boardCounts = (board) => (board?.columns || []).map((column) => ({ label: titleize(column.status), value: column.total })).filter((item) => item.value > 0);
+const boardTotal = (board, status) => board?.columns?.find((column) => column.status === status)?.total || 0;
 const attendanceCounts = (records = []) => ['PRESENT', 'LATE', 'HALF_DAY', 'ABSENT'].map((status) => ({ label: titleize(status), value: records.filter((record) => record.status === status).length }));
 
 function weeklyAttendance(records = []) {
@@ -152,14 +158,14 @@ function SummaryRows({ items }) {
   );
 }
 
-function renderAdmin(user, prefix, analytics, tasks, attendance) {
+function renderAdmin(user, prefix, analytics, tasks, attendance, board) {
   const departmentRows = analytics.deptHeadcount.map((item) => ({
     label: item.label,
     value: `${item.value} members`,
     helper: `${analytics.deptCompletion.find((entry) => entry.label === item.label)?.value || 0}% completion`,
   }));
   const weekly = weeklyAttendance(attendance);
-  const statuses = analytics.taskStatus?.length ? analytics.taskStatus : taskCounts(tasks);
+  const statuses = analytics.taskStatus?.length ? analytics.taskStatus : boardCounts(board);
 
   return (
     <>
@@ -243,9 +249,9 @@ function renderAdmin(user, prefix, analytics, tasks, attendance) {
   );
 }
 
-function renderManager(user, prefix, analytics, tasks, attendance) {
-  const mine = managerTasks(tasks, user?.userId);
-  const statuses = taskCounts(mine);
+function renderManager(user, prefix, analytics, board, attendance) {
+  const mine = boardTasks(board);
+  const statuses = boardCounts(board);
   const attendanceMix = attendanceCounts(attendance);
   return (
     <>
@@ -329,7 +335,8 @@ function renderManager(user, prefix, analytics, tasks, attendance) {
   );
 }
 
-function renderEmployee(user, prefix, analytics, tasks) {
+function renderEmployee(user, prefix, analytics, board) {
+  const tasks = boardTasks(board);
   const focusAverage = Math.round(sum(analytics.skillFocus) / Math.max(1, analytics.skillFocus.length));
   return (
     <>
@@ -402,7 +409,7 @@ function renderEmployee(user, prefix, analytics, tasks) {
             )} />
           </Card>
           <Card eyebrow="Personal Snapshot" title="What stands out">
-            <SummaryRows items={[{ label: 'Tasks completed', value: tasks.filter((task) => task.status === 'COMPLETED').length, helper: 'Closed items in your queue' }, { label: 'Skill focus average', value: `${focusAverage}%`, helper: 'Across your growth areas' }, { label: 'Attendance momentum', value: analytics.kpis[1]?.value || '0%', helper: 'Steady presence over recent months' }]} />
+            <SummaryRows items={[{ label: 'Tasks completed', value: boardTotal(board, 'COMPLETED'), helper: 'Closed items in your queue' }, { label: 'Skill focus average', value: `${focusAverage}%`, helper: 'Across your growth areas' }, { label: 'Attendance momentum', value: analytics.kpis[1]?.value || '0%', helper: 'Steady presence over recent months' }]} />
           </Card>
         </div>
       </div>
@@ -416,6 +423,7 @@ export default function Dashboard() {
   const rolePrefix = ROLE_PREFIX[role];
   const [loading, setLoading] = useState(true);
   const [tasks, setTasks] = useState([]);
+  const [board, setBoard] = useState(null);
   const [attendance, setAttendance] = useState([]);
   const [analytics, setAnalytics] = useState(defaults[role]);
 
@@ -423,16 +431,24 @@ export default function Dashboard() {
     let mounted = true;
     const load = async () => {
       setLoading(true);
-      const [taskResult, attendanceResult, analyticsResult] = await Promise.allSettled([api.get('/api/tasks'), api.get('/api/attendance'), api.get(ROLE_ENDPOINTS[role])]);
+      // Managers see the tasks they delegated
+      const boardParams = role === 'MANAGER' ? { createdById: user?.userId, limit: BOARD_CARDS } : { limit: BOARD_CARDS };
+      const recent = role === 'ADMIN' ? api.get('/api/tasks', { params: { sort: 'UPDATED_AT', limit: RECENT_TASKS } }) : Promise.resolve({ data: { items: [] } });
+      const [boardResult, taskResult, attendanceResult, analyticsResult] = await Promise.allSettled([api.get('/api/tasks/board', { params: boardParams }), recent, api.get('/api/attendance'), api.get(ROLE_ENDPOINTS[role])]);
       if (!mounted) return;
-      setTasks(taskResult.status === 'fulfilled' ? taskResult.value.data : []);
+      setBoard(boardResult.status === 'fulfilled' ? boardResult.value.data : null);
+      setTasks(taskResult.status === 'fulfilled' ? taskResult.value.data.items : []);
       setAttendance(attendanceResult.status === 'fulfilled' ? attendanceResult.value.data : []);
       setAnalytics(analyticsResult.status === 'fulfilled' ? mergeData(role, analyticsResult.value.data) : defaults[role]);
       setLoading(false);
     };
     load();
-    return () => { mounted = false; };
-  }, [role]);
+    const unsubscribe = subscribeAnalytics({
+      onSnapshot: (payload) => mounted && setAnalytics(mergeData(role, payload)),
+      onDelta: (delta) => mounted && setAnalytics((current) => applyAnalyticsDelta(current, delta)),
+    });
+    return () => { mounted = false; unsubscribe(); };
+  }, [role, user?.userId]);
 
   return (
     <>
@@ -448,7 +464,7 @@ export default function Dashboard() {
                 <strong>Loading charts, attendance, and task data...</strong>
               </div>
             </div>
-          ) : role === 'ADMIN' ? renderAdmin(user, rolePrefix, analytics, tasks, attendance) : role === 'MANAGER' ? renderManager(user, rolePrefix, analytics, tasks, attendance) : renderEmployee(user, rolePrefix, analytics, tasks)}
+          ) : role === 'ADMIN' ? renderAdmin(user, rolePrefix, analytics, tasks, attendance, board) : role === 'MANAGER' ? renderManager(user, rolePrefix, analytics, board, attendance) : renderEmployee(user, rolePrefix, analytics, board)}
         </main>
       </div>
     </>
@@ -3,6 +3,15 @@
  *
  * ADMIN/MANAGER see all tasks + can create / delete.
  * EMPLOYEE sees only their assigned tasks + can update status.
+ * Status changes go through PATCH /api/tasks/{id}/status with the row's
+ * version; a 409 means someone else changed the task, so it is re-read.
+ * Tasks arrive one page at a time, filtered and sorted by the server;
+ * Previous / Next follow the cursors returned by GET /api/tasks.
+ * Lists leave out descriptions unless asked (description=true); this
+ * table shows them under each title.
+ * Typing in the search box (2+ characters) shows ranked matches from
+ * GET /api/tasks/search instead, as you type.
+ * Closed tasks archived by the server are listed only with "Include archived".
  */
 import React, { useEffect, useState } from 'react';
 import Navbar from '../components/Navbar';
@@ -23,7 +32,7 @@ const s = {
   table:   { width: '100%', borderCollapse: 'collapse', background: '#fff', borderRadius: 8, overflow: 'hidden', boxShadow: '0 2px 8px rgba(0,0,0,0.07)' },
   th:      { background: '#0f3460', color: '#fff', padding: '12px 16px', textAlign: 'left', fontSize: 13 },
   td:      { padding: '12px 16px', borderBottom: '1px solid #f0f0f0', fontSize: 14, color: '#333' },
-  badge:   (s) => ({ background: STATUS_COLOR[s] || '#ccc', color: '#fff', padding: '2px 10px', borderRadius: 4, fontSize: 12 }),
+  badge:   (s) => ({ background: STATUS_COLOR[s] || '#ccc', color: '#fff', padding: '2px 10px', borderRadius: 4, fontSize: 12, border: 'none', cursor: 'pointer' }),
   delBtn:  { background: '#e74c3c', color: '#fff', border: 'none', borderRadius: 4, padding: '5px 12px', cursor: 'pointer', fontSize: 13 },
   modal:   { position: 'fixed', inset: 0, background: 'rgba(0,0,0,0.5)', display: 'flex', alignItems: 'center', justifyContent: 'center', zIndex: 200 },
   mcard:   { background: '#fff', borderRadius: 12, padding: 32, width: 440 },
@@ -33,17 +42,29 @@ const s = {
   cancel:  { flex: 1, padding: 10, border: '1px solid #ddd', borderRadius: 6, cursor: 'pointer', background: '#fff' },
   save:    { flex: 1, padding: 10, background: '#0f3460', color: '#fff', border: 'none', borderRadius: 6, cursor: 'pointer', fontWeight: 600 },
   err:     { background: '#ffeaea', color: '#c0392b', padding: '10px', borderRadius: 6, marginBottom: 14 },
+  filters: { display: 'flex', flexWrap: 'wrap', gap: 10, alignItems: 'center', marginBottom: 16 },
+  fInput:  { padding: '7px 10px', border: '1px solid #ddd', borderRadius: 6, fontSize: 13, background: '#fff' },
+  check:   { display: 'flex', alignItems: 'center', gap: 6, fontSize: 13, color: '#333' },
+  pager:   { display: 'flex', justifyContent: 'flex-end', gap: 8, marginTop: 16 },
+  pageBtn: (enabled) => ({ padding: '7px 16px', border: '1px solid #ddd', borderRadius: 6, background: '#fff', cursor: enabled ? 'pointer' : 'default', opacity: enabled ? 1 : 0.4 }),
 };
 
+const SORTS = { CREATED_AT: 'Created', DEADLINE: 'Deadline', UPDATED_AT: 'Updated' };
+
+const NO_FILTERS = { status: '', department: '', overdue: false, includeArchived: false, sort: 'CREATED_AT', direction: 'DESC' };
+
 function CreateTaskModal({ onClose, onCreated }) {
-  const [form, setForm] = useState({ title: '', description: '', assignedToId: '', deadline: '', status: 'TODO' });
+  const [form, setForm] = useState({ title: '', description: '', assignedToId: '', autoAssign: false, department: '', deadline: '', status: 'TODO' });
   const [err, setErr]   = useState('');
 
   const handleSubmit = async (e) => {
     e.preventDefault();
     setErr('');
     try {
-      const payload = { ...form, assignedToId: Number(form.assignedToId) };
+      // Auto-assign lets the server pick the least-loaded employee of the department
+      const payload = form.autoAssign
+        ? { ...form, assignedToId: null, department: form.department || null }
+        : { ...form, assignedToId: Number(form.assignedToId), department: null };
       const { data } = await api.post('/api/tasks', payload);
       onCreated(data);
       onClose();
@@ -64,8 +85,21 @@ function CreateTaskModal({ onClose, onCreated }) {
           <label style={s.label}>Description</label>
           <input style={s.input} value={form.description} onChange={e => setForm({...form, description: e.target.value})} />
 
-          <label style={s.label}>Assigned To (User ID) *</label>
-          <input style={s.input} type="number" value={form.assignedToId} onChange={e => setForm({...form, assignedToId: e.target.value})} required />
+          <label style={{ ...s.check, marginBottom: 12 }}>
+            <input type="checkbox" checked={form.autoAssign} onChange={e => setForm({...form, autoAssign: e.target.checked})} />
+            Auto-assign to the least-loaded employee
+          </label>
+          {form.autoAssign ? (
+            <>
+              <label style={s.label}>Department</label>
+              <input style={s.input} placeholder="Your department" value={form.department} onChange={e => setForm({...form, department: e.target.value})} />
+            </>
+          ) : (
+            <>
+              <label style={s.label}>Assigned To (User ID) *</label>
+              <input style={s.input} type="number" value={form.assignedToId} onChange={e => setForm({...form, assignedToId: e.target.value})} required />
+            </>
+          )}
 
           <label style={s.label}>Deadline</label>
           <input style={s.input} type="date" value={form.deadline} onChange={e => setForm({...form, deadline: e.target.value})} />
@@ -89,17 +123,54 @@ export default function Tasks() {
   const { isAdmin, isManager } = useAuth();
   const canManage = isAdmin() || isManager();
   const [tasks,  setTasks]  = useState([]);
+  const [cursors, setCursors] = useState({ next: null, prev: null });
+  const [filters, setFilters] = useState(NO_FILTERS);
+  const [query, setQuery] = useState('');
   const [showModal, setShowModal] = useState(false);
   const [error, setError]   = useState('');
 
-  const load = async () => {
+  const load = async (cursor) => {
+    // Empty filters are left out; cursors are only valid with the same sort
+    const params = Object.fromEntries(Object.entries(filters).filter(([, v]) => v !== '' && v !== false));
+    if (cursor) params.cursor = cursor;
+    params.description = true;
+    try {
+      const { data } = await api.get('/api/tasks', { params });
+      setTasks(data.items);
+      setCursors({ next: data.nextCursor, prev: data.prevCursor });
+    } catch (e) { setError(e.response?.data?.error || 'Failed to load tasks.'); }
+  };
+
+  const search = async (q) => {
     try {
-      const { data } = await api.get('/api/tasks');
-      setTasks(data);
-    } catch (e) { setError('Failed to load tasks.'); }
+      const { data } = await api.get('/api/tasks/search', { params: { q, description: true } });
+      setTasks(data.items);
+      setCursors({ next: null, prev: null });
+    } catch (e) { setError(e.response?.data?.error || 'Search failed.'); }
   };
 
-  useEffect(() => { load(); }, []);
+  // Any filter change starts again from the first page; a search replaces the list
+  useEffect(() => {
+    if (query.trim().length < 2) { load(); return undefined; }
+    const timer = setTimeout(() => search(query), 250);
+    return () => clearTimeout(timer);
+  }, [filters, query]); // eslint-disable-line react-hooks/exhaustive-deps
+
+  const setFilter = (key, value) => setFilters({ ...filters, [key]: value });
+
+  const handleStatus = async (task, status) => {
+    setError('');
+    try {
+      const { data } = await api.patch(`/api/tasks/${task.id}/status`, { status, version: task.version });
+      setTasks(tasks.map(t => t.id === data.id ? data : t));
+    } catch (e) {
+      setError(e.response?.data?.error || 'Failed to update status.');
+      if (e.response?.status === 409) {
+        const { data } = await api.get(`/api/tasks/${task.id}`);
+        setTasks(tasks.map(t => t.id === data.id ? data : t));
+      }
+    }
+  };
 
   const handleDelete = async (id) => {
     if (!window.confirm('Delete this task?')) return;
@@ -128,6 +199,33 @@ export default function Tasks() {
             )}
           </div>
           {error && <div style={s.err}>{error}</div>}
+          <div style={s.filters}>
+            <input style={s.fInput} placeholder="Search tasks…" value={query}
+                   onChange={e => setQuery(e.target.value)} />
+            <select style={s.fInput} value={filters.status} onChange={e => setFilter('status', e.target.value)}>
+              <option value="">All statuses</option>
+              {Object.keys(STATUS_COLOR).map(st => <option key={st}>{st}</option>)}
+            </select>
+            {canManage && (
+              <input style={s.fInput} placeholder="Department" value={filters.department}
+                     onChange={e => setFilter('department', e.target.value)} />
+            )}
+            <label style={s.check}>
+              <input type="checkbox" checked={filters.overdue} onChange={e => setFilter('overdue', e.target.checked)} />
+              Overdue only
+            </label>
+            <label style={s.check}>
+              <input type="checkbox" checked={filters.includeArchived} onChange={e => setFilter('includeArchived', e.target.checked)} />
+              Include archived
+            </label>
+            <select style={s.fInput} value={filters.sort} onChange={e => setFilter('sort', e.target.value)}>
+              {Object.entries(SORTS).map(([key, label]) => <option key={key} value={key}>Sort: {label}</option>)}
+            </select>
+            <select style={s.fInput} value={filters.direction} onChange={e => setFilter('direction', e.target.value)}>
+              <option value="DESC">Descending</option>
+              <option value="ASC">Ascending</option>
+            </select>
+          </div>
           <table style={s.table}>
             <thead>
               <tr>
@@ -146,7 +244,11 @@ export default function Tasks() {
                     <td style={s.td}><strong>{t.title}</strong><br/><small style={{ color: '#999' }}>{t.description}</small></td>
                     <td style={s.td}>{t.assignedToName || t.assignedToId}</td>
                     <td style={s.td}>{t.createdByName  || t.createdById}</td>
-                    <td style={s.td}><span style={s.badge(t.status)}>{t.status}</span></td>
+                    <td style={s.td}>
+                      <select style={s.badge(t.status)} value={t.status} onChange={e => handleStatus(t, e.target.value)}>
+                        {Object.keys(STATUS_COLOR).map(st => <option key={st}>{st}</option>)}
+                      </select>
+                    </td>
                     <td style={s.td}>{t.deadline || '—'}</td>
                     {canManage && (
                       <td style={s.td}>
@@ -158,6 +260,10 @@ export default function Tasks() {
               )}
             </tbody>
           </table>
+          <div style={s.pager}>
+            <button style={s.pageBtn(!!cursors.prev)} disabled={!cursors.prev} onClick={() => load(cursors.prev)}>← Previous</button>
+            <button style={s.pageBtn(!!cursors.next)} disabled={!cursors.next} onClick={() => load(cursors.next)}>Next →</button>
+          </div>
         </main>
       </div>
     </>